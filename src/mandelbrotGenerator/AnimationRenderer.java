@@ -0,0 +1,568 @@
+/**
+* This is the renderer for zoom animations.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import javax.imageio.ImageIO;
+
+public class AnimationRenderer {
+	/**
+	 * Renders a zoom from a start view to a target view as a numbered
+	 * sequence of PNG files, without generating every frame. The zoom
+	 * goes at a steady speed, so a frame sits between two whole zoom
+	 * levels, and only the keyframes at the whole zoom levels are
+	 * rendered. A keyframe is centered on the target and has half the
+	 * pixel spacing of a frame at its zoom level, so every frame up to
+	 * the next zoom level lies inside it and is made by scaling down a
+	 * part of it, never by scaling it up.
+	 *
+	 * The keyframes are rendered from the deepest one out. Every keyframe
+	 * shows the plane of the next deeper one in its middle quarter, with
+	 * every other pixel landing exactly on a pixel of the deeper one, so
+	 * those iterations are copied over and only the ring around them is
+	 * rendered. That ring is the shallow part of the picture, which is
+	 * the cheap part, too.
+	 *
+	 * When the start view isn't centered on the target, the center moves
+	 * towards the target as fast as the view shrinks, and the keyframes
+	 * are made larger to keep the frames inside them.
+	 *
+	 * Adaptive iterations would pick a different limit for every part of
+	 * a keyframe, so every keyframe picks its limit from a preview, and
+	 * never more than the deeper keyframe it copies from.
+	 *
+	 * With distance estimation, the distances are copied along with the
+	 * iterations, halved for the larger pixels of the shallower keyframe.
+	 * Disk filling only leaves a lower bound of the distance, which would
+	 * be halved again at every keyframe, so the keyframes don't fill any.
+	 */
+	public static final int KEYFRAME_SCALE = 2;			// Keyframe pixels per frame pixel at the zoom level of the keyframe
+	public static final int FRAME_DIGITS = 5;				// Digits in the numbers of the frame files, at least
+	private final RenderEngine engine;
+	private final FractalKernel kernel;
+	private final int iterationLimit;
+	private final ColorGradient gradient;
+	private final int colorLoops;
+	private Precision precision = Precision.AUTOMATIC;
+	private RenderStrategy renderStrategy = RenderStrategy.BRUTE_FORCE;
+	private boolean distanceEstimation = false;
+	private long renderedPixels;
+	private long copiedPixels;
+
+	public AnimationRenderer( RenderEngine engine, FractalKernel kernel, int iterationLimit, ColorGradient gradient, int colorLoops ) {
+		/**
+		 * Constructor for the AnimationRenderer object.
+		 *
+		 * @param	engine			The engine the keyframes are rendered with
+		 * @param	kernel			The fractal to render
+		 * @param	iterationLimit	The maximum iterations, or RenderRequest.ADAPTIVE_ITERATIONS
+		 * @param	gradient		The gradient the frames are colored with
+		 * @param	colorLoops		The number of times the gradient loops itself
+		 */
+		this.engine = engine;
+		this.kernel = kernel;
+		this.iterationLimit = iterationLimit;
+		this.gradient = gradient;
+		this.colorLoops = colorLoops;
+	}
+
+	public Precision getPrecision() {
+		/**
+		 * Gets the precision the keyframes are calculated with.
+		 *
+		 * @return	The precision
+		 */
+		return precision;
+	}
+
+	public void setPrecision( Precision precision ) {
+		/**
+		 * Sets the precision the keyframes are calculated with, see
+		 * MandelbrotAlgorithm.setPrecision.
+		 *
+		 * @param	precision	The precision
+		 */
+		this.precision = precision;
+	}
+
+	public RenderStrategy getRenderStrategy() {
+		/**
+		 * Gets the way the keyframes are walked.
+		 *
+		 * @return	The render strategy
+		 */
+		return renderStrategy;
+	}
+
+	public void setRenderStrategy( RenderStrategy renderStrategy ) {
+		/**
+		 * Sets the way the keyframes are walked, see
+		 * MandelbrotAlgorithm.setRenderStrategy.
+		 *
+		 * @param	renderStrategy	The render strategy
+		 */
+		this.renderStrategy = renderStrategy;
+	}
+
+	public boolean isDistanceEstimation() {
+		/**
+		 * Checks if the frames are colored by the distances to the set.
+		 *
+		 * @return	True if the distances are estimated
+		 */
+		return distanceEstimation;
+	}
+
+	public void setDistanceEstimation( boolean distanceEstimation ) {
+		/**
+		 * Sets if the frames are colored by the distances to the set,
+		 * which draws its boundary as a line, see
+		 * MandelbrotAlgorithm.setDistanceEstimation.
+		 *
+		 * @param	distanceEstimation	True to estimate the distances
+		 */
+		this.distanceEstimation = distanceEstimation;
+	}
+
+	public static File getFrameFile( File output, int frame, int frameCount ) {
+		/**
+		 * Gets the file of a frame, which is the output file with the
+		 * number of the frame added to its name.
+		 *
+		 * @param	output		The PNG file the frames are named after
+		 * @param	frame		The number of the frame, from 0
+		 * @param	frameCount	The number of frames
+		 * @return				The PNG file of the frame
+		 */
+		String name = output.getName();
+		int digits = Math.max( String.valueOf( frameCount - 1 ).length(), FRAME_DIGITS );
+
+		if ( name.toLowerCase().endsWith( ".png" ) ) {
+			name = name.substring( 0, name.length() - 4 );
+		}
+		return new File( output.getAbsoluteFile().getParentFile(),
+				String.format( "%s_%0" + digits + "d.png", name, frame ) );
+	}
+
+	public void render( ViewPoint start, ViewPoint target, int frameCount, File output ) throws IOException {
+		/**
+		 * Renders the zoom from the start view to the target view, and
+		 * writes every frame to a numbered PNG file named after the output
+		 * file. The first frame is the start view and the last one the
+		 * target view.
+		 *
+		 * @param	start		The view the zoom starts at
+		 * @param	target		The view the zoom ends at, with the same size
+		 * @param	frameCount	The number of frames, at least 2
+		 * @param	output		The PNG file the frames are named after
+		 * @throws IOException	If a frame can't be written, or a keyframe fails
+		 */
+		int width = start.getWidth();
+		int height = start.getHeight();
+		int firstLevel = start.getZoomLevel();
+		int lastLevel = target.getZoomLevel();
+		double offsetReal = start.getCenterReal().subtract( target.getCenterReal() ).doubleValue();
+		double offsetImaginary = start.getCenterImaginary().subtract( target.getCenterImaginary() ).doubleValue();
+		double shiftX = Math.abs( offsetReal ) / ( width * start.getSpacing() );		// Offset to the target in start view widths
+		double shiftY = Math.abs( offsetImaginary ) / ( height * start.getSpacing() );
+		int keyWidth = getKeyframeSize( width, shiftX );
+		int keyHeight = getKeyframeSize( height, shiftY );
+		double[] zoomLevels = new double[ frameCount ];
+		ExecutorService frameThreads;
+		ArrayList<Future<File>> frames = new ArrayList<Future<File>>();
+		Keyframe deeper = null;
+		Keyframe keyframe;
+		int[] colors;
+		int deeperLimit = Integer.MAX_VALUE;
+		int limit;
+		int frame = frameCount - 1;
+		int keyframeFrames;
+		ViewPoint keyView;
+		long keyframeStart;
+		long begin = System.nanoTime();
+		long elapsed;
+
+		if ( frameCount < 2 ) {
+			throw new IllegalArgumentException( "an animation (" + frameCount + " frames) needs at least 2 frames" );
+		}
+		if ( target.getWidth() != width || target.getHeight() != height ) {
+			throw new IllegalArgumentException( "the start and target views must have the same size" );
+		}
+		if ( lastLevel <= firstLevel ) {
+			throw new IllegalArgumentException( "the target (zoom level " + lastLevel
+					+ ") must be deeper than the start (zoom level " + firstLevel + ")" );
+		}
+		if ( shiftX > 0.5d || shiftY > 0.5d ) {
+			throw new IllegalArgumentException( "the target must be inside the start view" );
+		}
+		if ( (long)keyWidth * keyHeight > Integer.MAX_VALUE ) {
+			throw new IllegalArgumentException( "keyframes of " + keyWidth + "x" + keyHeight + " are too large" );
+		}
+		for ( int i = 0; i < frameCount; i++ ) {
+			zoomLevels[i] = firstLevel + ( (double)( lastLevel - firstLevel ) * i / ( frameCount - 1 ) );
+		}
+		renderedPixels = 0;
+		copiedPixels = 0;
+		frameThreads = Executors.newFixedThreadPool( Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+			public Thread newThread( Runnable runnable ) {
+				Thread thread = new Thread( runnable, "Mandelbrot frame" );
+				thread.setDaemon( true );
+				return thread;
+			}
+		} );
+		try {
+			for ( int level = lastLevel; level >= firstLevel; level-- ) {
+				keyframeStart = System.nanoTime();
+				keyView = new ViewPoint( target.getCenterReal(), target.getCenterImaginary(), level + 1, width, height )
+						.extend( keyWidth, keyHeight );
+				limit = iterationLimit != RenderRequest.ADAPTIVE_ITERATIONS ? iterationLimit
+						: Math.min( engine.pickIterations( keyView, kernel ), deeperLimit );
+				// the frames of the deeper keyframe are written while this one is rendered
+				keyframe = renderKeyframe( keyView, limit, deeper );
+				waitForFrames( frames );
+				colors = colorKeyframe( keyframe, keyWidth, keyHeight, limit );
+				keyframeFrames = 0;
+				for ( ; frame >= 0 && ( level == firstLevel || zoomLevels[frame] >= level ); frame-- ) {
+					frames.add( frameThreads.submit( getFrameTask( colors, keyView, zoomLevels[frame], start,
+							getFrameFile( output, frame, frameCount ), offsetReal, offsetImaginary,
+							lastLevel - firstLevel ) ) );
+					keyframeFrames++;
+				}
+				System.out.println( String.format( "keyframe at zoom level %d: %dx%d, %d iterations, %d frames,"
+						+ " rendered in %d ms", level, keyWidth, keyHeight, limit, keyframeFrames,
+						( System.nanoTime() - keyframeStart ) / 1000000 ) );
+				deeper = keyframe;
+				deeperLimit = limit;
+			}
+			waitForFrames( frames );
+		} catch ( InterruptedException exc ) {
+			Thread.currentThread().interrupt();
+			throw new IOException( "interrupted", exc );
+		} finally {
+			for ( Future<File> waiting : frames ) {
+				waiting.cancel( false );
+			}
+			frameThreads.shutdown();
+		}
+		elapsed = System.nanoTime() - begin;
+		System.out.println( String.format( "%s: %d frames of %dx%d from %d keyframes in %d ms, %.1f Mpixels rendered"
+				+ " and %.1f Mpixels reused, the work of %.1f frames", getFrameFile( output, 0, frameCount ).getPath(),
+				frameCount, width, height, lastLevel - firstLevel + 1, elapsed / 1000000, renderedPixels / 1.0e6d,
+				copiedPixels / 1.0e6d, (double)renderedPixels / width / height ) );
+	}
+
+	private static int getKeyframeSize( int frameSize, double shift ) {
+		/**
+		 * Gets the size of the keyframes along one axis. A frame is up to
+		 * KEYFRAME_SCALE times smaller than the keyframe at its zoom level,
+		 * and its center is up to the shift of the start view away from
+		 * the target, which takes that much more room on both sides. The
+		 * size is a multiple of 4, so the middle quarter lines up with the
+		 * pixels of the deeper keyframe, with a pixel of room for the
+		 * interpolation.
+		 *
+		 * @param	frameSize	The size of the frames in pixels
+		 * @param	shift		The offset of the start view from the target, in start view sizes
+		 * @return				The size of the keyframes in pixels
+		 */
+		int size = (int)Math.ceil( KEYFRAME_SCALE * frameSize * ( 1 + ( 2 * shift ) ) ) + 2;
+
+		return ( ( size + 3 ) / 4 ) * 4;
+	}
+
+	private Keyframe renderKeyframe( ViewPoint keyView, int limit, Keyframe deeper )
+			throws IOException, InterruptedException {
+		/**
+		 * Renders the smooth iterations of a keyframe, and its distances
+		 * if they are estimated. With a deeper keyframe, its iterations
+		 * are copied into the middle quarter and the four sides of the
+		 * ring around it are rendered as requests of their own; without
+		 * one, the whole keyframe is rendered.
+		 *
+		 * @param	keyView		The view of the keyframe
+		 * @param	limit		The maximum iterations of the keyframe
+		 * @param	deeper		The next deeper keyframe, or null
+		 * @return				The keyframe
+		 * @throws IOException	If a part of the keyframe fails
+		 * @throws InterruptedException	If the thread is interrupted while waiting
+		 */
+		int keyWidth = keyView.getWidth();
+		int keyHeight = keyView.getHeight();
+		int quarterWidth = keyWidth / 4;
+		int quarterHeight = keyHeight / 4;
+		Keyframe keyframe = new Keyframe( keyWidth * keyHeight, distanceEstimation );
+		ArrayList<Future<RenderResult>> parts = new ArrayList<Future<RenderResult>>();
+		int[][] regions;
+		int index;
+		int deeperIndex;
+		RenderResult result;
+
+		if ( deeper == null ) {
+			regions = new int[][] { { 0, 0, keyWidth, keyHeight } };
+		} else {
+			regions = new int[][] { { 0, 0, keyWidth, quarterHeight },
+					{ 0, keyHeight - quarterHeight, keyWidth, quarterHeight },
+					{ 0, quarterHeight, quarterWidth, keyHeight - ( 2 * quarterHeight ) },
+					{ keyWidth - quarterWidth, quarterHeight, quarterWidth, keyHeight - ( 2 * quarterHeight ) } };
+			for ( int y = quarterHeight; y < keyHeight - quarterHeight; y++ ) {
+				for ( int x = quarterWidth; x < keyWidth - quarterWidth; x++ ) {
+					index = ( y * keyWidth ) + x;
+					deeperIndex = ( ( ( 2 * y ) - ( 2 * quarterHeight ) ) * keyWidth ) + ( 2 * x ) - ( 2 * quarterWidth );
+					keyframe.iterationsReal[index] = deeper.iterationsReal[deeperIndex];
+					if ( keyframe.distances != null ) {
+						// the pixels of the deeper keyframe are half as wide
+						keyframe.distances[index] = deeper.distances != null ? deeper.distances[deeperIndex] / 2
+								: Double.NaN;
+					}
+				}
+			}
+			copiedPixels += (long)( keyWidth - ( 2 * quarterWidth ) ) * ( keyHeight - ( 2 * quarterHeight ) );
+		}
+		try {
+			for ( int[] region : regions ) {
+				parts.add( engine.submit( new RenderRequest( keyView.getRegion( region[0], region[1], region[2],
+						region[3] ), kernel, limit, precision, renderStrategy, gradient, colorLoops,
+						distanceEstimation, false ) ) );
+			}
+			for ( int i = 0; i < regions.length; i++ ) {
+				result = parts.get( i ).get();
+				copyRegion( result.getIterationBuffer().getIterationsReal(), result.getIterationBuffer(),
+						keyframe.iterationsReal, keyWidth, regions[i] );
+				if ( keyframe.distances != null && result.hasDistances() ) {
+					copyRegion( result.getIterationBuffer().getDistances(), result.getIterationBuffer(),
+							keyframe.distances, keyWidth, regions[i] );
+				} else if ( keyframe.distances != null ) {
+					fillRegion( keyframe.distances, keyWidth, regions[i] );
+				}
+				renderedPixels += (long)regions[i][2] * regions[i][3];
+			}
+		} catch ( ExecutionException exc ) {
+			throw new IOException( "a keyframe failed", exc.getCause() );
+		} finally {
+			for ( Future<RenderResult> part : parts ) {
+				part.cancel( false );
+			}
+		}
+		return keyframe;
+	}
+
+	private static void copyRegion( double[] source, IterationBuffer iterationBuffer, double[] target, int keyWidth,
+			int[] region ) {
+		/**
+		 * Copies the smooth iterations or the distances of a rendered
+		 * part into those of the keyframe.
+		 *
+		 * @param	source			The iterations or distances of the part
+		 * @param	iterationBuffer	The buffer of the part, for its layout
+		 * @param	target			The iterations or distances of the keyframe, row after row
+		 * @param	keyWidth		The width of the keyframe
+		 * @param	region			The left edge, top edge, width and height of the part
+		 */
+		for ( int y = 0; y < region[3]; y++ ) {
+			System.arraycopy( source, iterationBuffer.getIndex( 0, y ), target,
+					( ( region[1] + y ) * keyWidth ) + region[0], region[2] );
+		}
+	}
+
+	private static void fillRegion( double[] distances, int keyWidth, int[] region ) {
+		/**
+		 * Marks the distances of a part that couldn't estimate them as
+		 * unknown, so it is colored by its iterations.
+		 *
+		 * @param	distances	The distances of the keyframe, row after row
+		 * @param	keyWidth	The width of the keyframe
+		 * @param	region		The left edge, top edge, width and height of the part
+		 */
+		for ( int y = 0; y < region[3]; y++ ) {
+			Arrays.fill( distances, ( ( region[1] + y ) * keyWidth ) + region[0],
+					( ( region[1] + y ) * keyWidth ) + region[0] + region[2], Double.NaN );
+		}
+	}
+
+	private int[] colorKeyframe( Keyframe keyframe, int keyWidth, int keyHeight, int limit ) {
+		/**
+		 * Colors a keyframe the same way the engine colors its pictures.
+		 * The copied iterations of the deeper keyframe may go past the
+		 * limit of this one, and are black like any other pixel inside.
+		 *
+		 * @param	keyframe		The iterations and distances of the keyframe
+		 * @param	keyWidth		The width of the keyframe
+		 * @param	keyHeight		The height of the keyframe
+		 * @param	limit			The maximum iterations of the keyframe
+		 * @return					The colors, as packed RGB
+		 */
+		PainterImage image = new PainterImage( keyWidth, keyHeight, colorLoops, gradient );
+
+		for ( int y = 0, index = 0; y < keyHeight; y++ ) {
+			for ( int x = 0; x < keyWidth; x++, index++ ) {
+				if ( keyframe.distances != null && !Double.isNaN( keyframe.distances[index] ) ) {
+					image.drawPixel( x, y, image.getDistanceColor( keyframe.distances[index] ) );
+				} else {
+					image.drawPixel( x, y, image.getIterationColor( keyframe.iterationsReal[index], limit ) );
+				}
+			}
+		}
+		return ( (DataBufferInt)image.getRaster().getDataBuffer() ).getData();
+	}
+
+	private static Callable<File> getFrameTask( final int[] colors, final ViewPoint keyView, final double zoomLevel,
+			final ViewPoint start, final File file, final double offsetReal,
+			final double offsetImaginary, final int levels ) {
+		/**
+		 * Makes the task that scales a frame down from its keyframe and
+		 * writes it.
+		 *
+		 * @param	colors			The colors of the keyframe, as packed RGB
+		 * @param	keyView			The view of the keyframe
+		 * @param	zoomLevel		The zoom level of the frame, between whole levels
+		 * @param	start			The view the zoom starts at
+		 * @param	file			The PNG file of the frame
+		 * @param	offsetReal		The real offset of the start center from the target
+		 * @param	offsetImaginary	The imaginary offset of the start center from the target
+		 * @param	levels			The zoom levels from the start to the target
+		 * @return					The task, which returns the file it wrote
+		 */
+		return new Callable<File>() {
+			public File call() throws IOException {
+				int width = start.getWidth();
+				int height = start.getHeight();
+				// the offset shrinks with the view, and reaches 0 exactly at the target
+				double fraction = ( Math.pow( 2, start.getZoomLevel() - zoomLevel ) - Math.pow( 2, -levels ) )
+						/ ( 1 - Math.pow( 2, -levels ) );
+				double ratio = ViewPoint.FULL_WIDTH / width / Math.pow( 2, zoomLevel - 1 ) / keyView.getSpacing();
+				double left = ( keyView.getWidth() / 2.0d ) + ( offsetReal * fraction / keyView.getSpacing() )
+						- ( ratio * width / 2.0d );
+				double top = ( keyView.getHeight() / 2.0d ) - ( offsetImaginary * fraction / keyView.getSpacing() )
+						- ( ratio * height / 2.0d );
+				BufferedImage image = new BufferedImage( width, height, BufferedImage.TYPE_INT_RGB );
+
+				resample( colors, keyView.getWidth(), keyView.getHeight(),
+						( (DataBufferInt)image.getRaster().getDataBuffer() ).getData(), width, height, left, top,
+						ratio );
+				if ( !ImageIO.write( image, "png", file ) ) {
+					throw new IOException( "no PNG writer" );
+				}
+				return file;
+			}
+		};
+	}
+
+	private static void resample( int[] source, int sourceWidth, int sourceHeight, int[] frame, int width, int height,
+			double left, double top, double ratio ) {
+		/**
+		 * Scales a part of a keyframe down into a frame. Every frame pixel
+		 * averages four bilinear samples spread over its footprint in the
+		 * keyframe, which is between one and KEYFRAME_SCALE pixels wide, so
+		 * the fine detail doesn't flicker from frame to frame. At a whole
+		 * zoom level the samples fall halfway between keyframe pixels and
+		 * weigh three of them 1:2:1 in each direction, so a frame is a bit
+		 * softer than a direct render of the same view.
+		 *
+		 * @param	source			The colors of the keyframe, as packed RGB
+		 * @param	sourceWidth		The width of the keyframe
+		 * @param	sourceHeight	The height of the keyframe
+		 * @param	frame			The colors of the frame, as packed RGB
+		 * @param	width			The width of the frame
+		 * @param	height			The height of the frame
+		 * @param	left			The keyframe X coordinate of the left edge of the frame
+		 * @param	top				The keyframe Y coordinate of the top edge of the frame
+		 * @param	ratio			The keyframe pixels per frame pixel
+		 */
+		double quarter = ratio / 4;
+		double sampleX;
+		double sampleY;
+		double fractionX;
+		double fractionY;
+		double weight;
+		double red;
+		double green;
+		double blue;
+		int x0;
+		int y0;
+		int pixel;
+		int index;
+
+		for ( int y = 0; y < height; y++ ) {
+			for ( int x = 0; x < width; x++ ) {
+				red = 0;
+				green = 0;
+				blue = 0;
+				for ( int sample = 0; sample < 4; sample++ ) {
+					sampleX = left + ( x * ratio ) + ( ( sample & 1 ) == 0 ? -quarter : quarter );
+					sampleY = top + ( y * ratio ) + ( ( sample & 2 ) == 0 ? -quarter : quarter );
+					x0 = Math.max( Math.min( (int)Math.floor( sampleX ), sourceWidth - 2 ), 0 );
+					y0 = Math.max( Math.min( (int)Math.floor( sampleY ), sourceHeight - 2 ), 0 );
+					fractionX = Math.max( Math.min( sampleX - x0, 1 ), 0 );
+					fractionY = Math.max( Math.min( sampleY - y0, 1 ), 0 );
+					for ( int corner = 0; corner < 4; corner++ ) {
+						weight = ( ( corner & 1 ) == 0 ? 1 - fractionX : fractionX )
+								* ( ( corner & 2 ) == 0 ? 1 - fractionY : fractionY );
+						pixel = source[ ( ( y0 + ( corner >> 1 ) ) * sourceWidth ) + x0 + ( corner & 1 ) ];
+						red += weight * ( ( pixel >> 16 ) & 0xFF );
+						green += weight * ( ( pixel >> 8 ) & 0xFF );
+						blue += weight * ( pixel & 0xFF );
+					}
+				}
+				index = ( y * width ) + x;
+				frame[index] = ( (int)( ( red / 4 ) + 0.5d ) << 16 ) | ( (int)( ( green / 4 ) + 0.5d ) << 8 )
+						| (int)( ( blue / 4 ) + 0.5d );
+			}
+		}
+	}
+
+	private static void waitForFrames( ArrayList<Future<File>> frames ) throws IOException, InterruptedException {
+		/**
+		 * Waits until the submitted frames are written.
+		 *
+		 * @param	frames	The frames being written, which are taken out of the list
+		 * @throws IOException	If a frame failed
+		 * @throws InterruptedException	If the thread is interrupted while waiting
+		 */
+		try {
+			while ( !frames.isEmpty() ) {
+				frames.get( 0 ).get();
+				frames.remove( 0 );
+			}
+		} catch ( ExecutionException exc ) {
+			throw new IOException( "a frame failed: " + exc.getCause().getMessage(), exc.getCause() );
+		}
+	}
+
+	private static class Keyframe {
+		/**
+		 * The smooth iterations of a keyframe, and its distances in
+		 * pixels of the keyframe when they are estimated.
+		 */
+		private final double[] iterationsReal;
+		private final double[] distances;
+
+		public Keyframe( int pixels, boolean distanceEstimation ) {
+			/**
+			 * Constructor for the Keyframe object.
+			 *
+			 * @param	pixels				The number of pixels of the keyframe
+			 * @param	distanceEstimation	True to keep the distances too
+			 */
+			iterationsReal = new double[ pixels ];
+			distances = distanceEstimation ? new double[ pixels ] : null;
+		}
+	}
+}
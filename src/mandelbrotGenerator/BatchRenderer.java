@@ -0,0 +1,435 @@
+/**
+* This is the command line renderer, which makes Mandelbrot pictures
+* without opening a window.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+public class BatchRenderer {
+	/**
+	 * Renders a list of views to PNG files. Every view becomes a
+	 * RenderRequest that goes through a RenderPipeline, which generates,
+	 * colors and writes the pictures in stages that overlap, with the
+	 * tiles on the shared threads of a RenderEngine. Nothing in here
+	 * touches Swing, so it runs on machines without a display. Every
+	 * picture is timed, and the times are printed as they are written,
+	 * together with how busy the stages are now and then.
+	 *
+	 * Run it with
+	 * java mandelbrotGenerator.MainProgram [options] [file.mbz ...]
+	 *
+	 * Without MBZ files, a single picture of the -center and -zoom options
+	 * is written to the -output file. With MBZ files, every one of them is
+	 * written to a PNG file of the same name, in the -directory if given.
+	 *
+	 * Pictures over STREAMING_PIXELS, or all of them with -stream, are
+	 * made one at a time by the StripRenderer, which never holds more
+	 * than a few strips of a picture in memory. They keep a journal of
+	 * the finished strips, so running the same command again after a
+	 * crash carries on where it stopped.
+	 *
+	 * With -animate, the single MBZ file is the target of a zoom that
+	 * starts at the -zoom level, centered on the target unless -center is
+	 * given, and the AnimationRenderer writes the frames as the -output
+	 * file with the frame number added. The options for pictures of MBZ
+	 * files and streamed pictures don't apply to it and are refused.
+	 */
+	public static final String USAGE = "Options:\n"
+			+ "  -fractal <name>              mandelbrot, julia <real> <imaginary>, burningship\n"
+			+ "                               or multibrot <power> (mandelbrot)\n"
+			+ "  -center <real> <imaginary>   center of the picture (-0.5 0)\n"
+			+ "  -zoom <level>                zoom level, 1 for the whole set (1)\n"
+			+ "  -size <width>x<height>       size of the picture in pixels (720x480)\n"
+			+ "  -iterations <count|Auto>     maximum iterations (Auto)\n"
+			+ "  -palette <name>              MilkyWay, Sunset, Radioactive or Rainbow (MilkyWay)\n"
+			+ "  -loops <count>               color loops of the palette (80)\n"
+			+ "  -precision <name>            automatic, float, double, double-double, perturbation\n"
+			+ "                               or fixed-point (automatic)\n"
+			+ "  -strategy <name>             brute-force, mariani-silver or solid-guessing (brute-force)\n"
+			+ "  -distance                    color by the distance to the set, which draws its boundary\n"
+			+ "  -nofill                      don't fill disks far from the set with -distance (animations never do)\n"
+			+ "  -threads <count>             render threads (one per processor)\n"
+			+ "  -pipeline <c>,<k>,<w>        pictures generated, colored and written at a time (4,1,1)\n"
+			+ "  -output <file.png>           picture of the -center and -zoom (mandelbrot.png)\n"
+			+ "  -directory <path>            where the pictures of MBZ files go (next to them)\n"
+			+ "  -stream                      render in strips, even if the picture would fit in memory\n"
+			+ "  -nojournal                   don't keep a journal to resume streamed pictures from\n"
+			+ "  -animate <frames>            zoom from -center and -zoom to the MBZ file in numbered frames\n";
+	public static final long STREAMING_PIXELS = 50000000L;	// Pictures larger than this are always rendered in strips
+	private final FractalKernel kernel;
+	private final int iterationLimit;
+	private final ColorGradient gradient;
+	private final int colorLoops;
+	private Precision precision = Precision.AUTOMATIC;
+	private RenderStrategy renderStrategy = RenderStrategy.BRUTE_FORCE;
+	private boolean distanceEstimation = false;
+	private boolean diskFilling = true;
+
+	public BatchRenderer( FractalKernel kernel, int iterationLimit, ColorGradient gradient, int colorLoops ) {
+		/**
+		 * Constructor for the BatchRenderer object.
+		 *
+		 * @param	kernel			The fractal to render
+		 * @param	iterationLimit	The maximum iterations, or RenderRequest.ADAPTIVE_ITERATIONS
+		 * @param	gradient		The gradient the pictures are colored with
+		 * @param	colorLoops		The number of times the gradient loops itself
+		 */
+		this.kernel = kernel;
+		this.iterationLimit = iterationLimit;
+		this.gradient = gradient;
+		this.colorLoops = colorLoops;
+	}
+
+	public Precision getPrecision() {
+		/**
+		 * Gets the precision the pictures are calculated with.
+		 *
+		 * @return	The precision
+		 */
+		return precision;
+	}
+
+	public void setPrecision( Precision precision ) {
+		/**
+		 * Sets the precision the pictures are calculated with, see
+		 * MandelbrotAlgorithm.setPrecision.
+		 *
+		 * @param	precision	The precision
+		 */
+		this.precision = precision;
+	}
+
+	public RenderStrategy getRenderStrategy() {
+		/**
+		 * Gets the way the pictures are walked.
+		 *
+		 * @return	The render strategy
+		 */
+		return renderStrategy;
+	}
+
+	public void setRenderStrategy( RenderStrategy renderStrategy ) {
+		/**
+		 * Sets the way the pictures are walked, see
+		 * MandelbrotAlgorithm.setRenderStrategy.
+		 *
+		 * @param	renderStrategy	The render strategy
+		 */
+		this.renderStrategy = renderStrategy;
+	}
+
+	public boolean isDistanceEstimation() {
+		/**
+		 * Checks if the pictures are colored by the distances to the set.
+		 *
+		 * @return	True if the distances are estimated
+		 */
+		return distanceEstimation;
+	}
+
+	public void setDistanceEstimation( boolean distanceEstimation ) {
+		/**
+		 * Sets if the pictures are colored by the distances to the set,
+		 * which draws its boundary as a line, see
+		 * MandelbrotAlgorithm.setDistanceEstimation.
+		 *
+		 * @param	distanceEstimation	True to estimate the distances
+		 */
+		this.distanceEstimation = distanceEstimation;
+	}
+
+	public boolean isDiskFilling() {
+		/**
+		 * Checks if the pixels far from the set fill the disks around
+		 * them when the distances are estimated.
+		 *
+		 * @return	True if disks are filled
+		 */
+		return diskFilling;
+	}
+
+	public void setDiskFilling( boolean diskFilling ) {
+		/**
+		 * Sets if the pixels far from the set fill the disks around them
+		 * when the distances are estimated, see
+		 * MandelbrotAlgorithm.setDiskFilling.
+		 *
+		 * @param	diskFilling		True to fill disks
+		 */
+		this.diskFilling = diskFilling;
+	}
+
+	public RenderRequest getRequest( ViewPoint view ) {
+		/**
+		 * Makes the request for a picture of a view.
+		 *
+		 * @param	view	The view to render, with the size of the picture
+		 * @return			The request
+		 */
+		return new RenderRequest( view, kernel, iterationLimit, precision, renderStrategy, gradient, colorLoops,
+				distanceEstimation, diskFilling );
+	}
+
+	public static void main( String[] args ) {
+		/**
+		 * Main function. Invalid options print the usage and exit with
+		 * status 2; pictures that fail print an error, the rest are still
+		 * made, and the exit status is 1.
+		 *
+		 * @param	args	The options and the MBZ files
+		 */
+		BigDecimal centerReal = new BigDecimal( "-0.5" );
+		BigDecimal centerImaginary = BigDecimal.ZERO;
+		int zoomLevel = 1;
+		FractalKernel kernel = new MandelbrotKernel();
+		int width = (int)MainWindow.DEFAULT_SIZE.getX();
+		int height = (int)MainWindow.DEFAULT_SIZE.getY();
+		int iterationLimit = RenderRequest.ADAPTIVE_ITERATIONS;
+		int colorLoops = MainWindow.COLOR_LOOPS;
+		int threads = Runtime.getRuntime().availableProcessors();
+		String gradientName = ColorGradient.DEFAULT_GRADIENT;
+		Precision precision = Precision.AUTOMATIC;
+		RenderStrategy renderStrategy = RenderStrategy.BRUTE_FORCE;
+		File output = new File( "mandelbrot.png" );
+		File directory = null;
+		boolean streaming = false;
+		boolean journaling = true;
+		boolean centerGiven = false;
+		boolean pipelineGiven = false;
+		boolean distanceEstimation = false;
+		boolean diskFilling = true;
+		int frameCount = 0;
+		ArrayList<File> zoomPoints = new ArrayList<File>();
+		ArrayList<ViewPoint> views = new ArrayList<ViewPoint>();
+		ArrayList<File> pictures = new ArrayList<File>();
+		int[] stageThreads = { RenderEngine.DEFAULT_REQUESTS, 1, 1 };
+		String[] stages;
+		ColorGradient gradient;
+		RenderEngine engine;
+		RenderPipeline pipeline;
+		String[] size;
+		long start = System.nanoTime();
+		int failures = 0;
+
+		System.setProperty( "java.awt.headless", "true" );
+		try {
+			for ( int i = 0; i < args.length; i++ ) {
+				if ( args[i].equals( "-fractal" ) ) {
+					i++;
+					if ( args[i].equalsIgnoreCase( "mandelbrot" ) ) {
+						kernel = new MandelbrotKernel();
+					} else if ( args[i].equalsIgnoreCase( "julia" ) ) {
+						kernel = new JuliaKernel( Double.parseDouble( args[i + 1] ), Double.parseDouble( args[i + 2] ) );
+						i += 2;
+					} else if ( args[i].equalsIgnoreCase( "burningship" ) ) {
+						kernel = new BurningShipKernel();
+					} else if ( args[i].equalsIgnoreCase( "multibrot" ) ) {
+						if ( Integer.parseInt( args[++i] ) < 2 ) {
+							throw new IllegalArgumentException( "the multibrot power must be at least 2" );
+						}
+						kernel = new MultibrotKernel( Integer.parseInt( args[i] ) );
+					} else {
+						throw new IllegalArgumentException( "unknown fractal " + args[i] );
+					}
+				} else if ( args[i].equals( "-center" ) ) {
+					centerReal = new BigDecimal( args[++i] );
+					centerImaginary = new BigDecimal( args[++i] );
+					centerGiven = true;
+				} else if ( args[i].equals( "-zoom" ) ) {
+					zoomLevel = Integer.parseInt( args[++i] );
+				} else if ( args[i].equals( "-size" ) ) {
+					size = args[++i].split( "x" );
+					width = Integer.parseInt( size[0] );
+					height = Integer.parseInt( size[1] );
+				} else if ( args[i].equals( "-iterations" ) ) {
+					i++;
+					iterationLimit = args[i].equalsIgnoreCase( SettingsDialog.ADAPTIVE_ITERATIONS )
+							? RenderRequest.ADAPTIVE_ITERATIONS : Integer.parseInt( args[i] );
+				} else if ( args[i].equals( "-palette" ) ) {
+					gradientName = args[++i];
+				} else if ( args[i].equals( "-loops" ) ) {
+					colorLoops = Integer.parseInt( args[++i] );
+				} else if ( args[i].equals( "-precision" ) ) {
+					precision = Precision.getNamedPrecision( args[++i] );
+					if ( precision == null ) {
+						throw new IllegalArgumentException( "unknown precision " + args[i] );
+					}
+				} else if ( args[i].equals( "-strategy" ) ) {
+					renderStrategy = RenderStrategy.getNamedStrategy( args[++i] );
+					if ( renderStrategy == null ) {
+						throw new IllegalArgumentException( "unknown strategy " + args[i] );
+					}
+				} else if ( args[i].equals( "-distance" ) ) {
+					distanceEstimation = true;
+				} else if ( args[i].equals( "-nofill" ) ) {
+					diskFilling = false;
+				} else if ( args[i].equals( "-threads" ) ) {
+					threads = Integer.parseInt( args[++i] );
+				} else if ( args[i].equals( "-pipeline" ) ) {
+					stages = args[++i].split( "," );
+					if ( stages.length != stageThreads.length ) {
+						throw new IllegalArgumentException( "-pipeline needs the compute, color and write threads, such as 4,1,1" );
+					}
+					for ( int stage = 0; stage < stageThreads.length; stage++ ) {
+						stageThreads[stage] = Integer.parseInt( stages[stage] );
+						if ( stageThreads[stage] < 1 ) {
+							throw new IllegalArgumentException( "-pipeline threads must be at least 1 in every stage" );
+						}
+					}
+					pipelineGiven = true;
+				} else if ( args[i].equals( "-output" ) ) {
+					output = new File( args[++i] );
+				} else if ( args[i].equals( "-directory" ) ) {
+					directory = new File( args[++i] );
+				} else if ( args[i].equals( "-stream" ) ) {
+					streaming = true;
+				} else if ( args[i].equals( "-nojournal" ) ) {
+					journaling = false;
+				} else if ( args[i].equals( "-animate" ) ) {
+					frameCount = Integer.parseInt( args[++i] );
+					if ( frameCount < 2 ) {
+						throw new IllegalArgumentException( "an animation needs at least 2 frames" );
+					}
+				} else if ( args[i].endsWith( MbzFileManager.FILE_EXTENSION ) ) {
+					zoomPoints.add( new File( args[i] ) );
+				} else {
+					throw new IllegalArgumentException( "unknown option " + args[i] );
+				}
+			}
+			if ( width < 1 || height < 1 || zoomLevel < 1 || iterationLimit < 0 || colorLoops < 1 ) {
+				throw new IllegalArgumentException( "sizes, zoom levels, iterations and loops must be at least 1" );
+			}
+			if ( frameCount > 0 && zoomPoints.size() != 1 ) {
+				throw new IllegalArgumentException( "an animation needs one MBZ file to zoom to" );
+			}
+			if ( frameCount > 0 && ( directory != null || streaming || pipelineGiven || !journaling ) ) {
+				throw new IllegalArgumentException( "-directory, -stream, -pipeline and -nojournal don't go with -animate" );
+			}
+		} catch ( RuntimeException exc ) {
+			// covers a missing value, a bad number and an unknown option alike
+			ErrorHandler.printErrorMessage( "invalid arguments: " + exc.getMessage() );
+			System.err.print( USAGE );
+			System.exit( 2 );
+			return;
+		}
+		gradient = ColorGradient.getNamedGradient( gradientName );
+		if ( gradient == null ) {
+			ErrorHandler.printErrorMessage( "unknown palette " + gradientName );
+			System.err.print( USAGE );
+			System.exit( 2 );
+			return;
+		}
+
+		if ( frameCount > 0 ) {
+			AnimationRenderer animationRenderer = new AnimationRenderer(
+					new RenderEngine( threads, RenderEngine.DEFAULT_REQUESTS ), kernel, iterationLimit, gradient, colorLoops );
+			animationRenderer.setPrecision( precision );
+			animationRenderer.setRenderStrategy( renderStrategy );
+			animationRenderer.setDistanceEstimation( distanceEstimation );
+			animate( zoomPoints.get( 0 ), centerGiven ? centerReal : null, centerImaginary, zoomLevel, width, height,
+					frameCount, output, animationRenderer );
+			return;
+		}
+		if ( zoomPoints.isEmpty() ) {
+			views.add( new ViewPoint( centerReal, centerImaginary, zoomLevel, width, height ) );
+			pictures.add( output );
+		}
+		for ( File zoomPoint : zoomPoints ) {
+			String name = zoomPoint.getName();
+			File picture = new File( directory != null ? directory : zoomPoint.getAbsoluteFile().getParentFile(),
+					name.substring( 0, name.length() - MbzFileManager.FILE_EXTENSION.length() ) + ".png" );
+			try {
+				views.add( MbzFileManager.readViewPoint( zoomPoint, width, height ) );
+				pictures.add( picture );
+			} catch ( IOException exc ) {
+				ErrorHandler.printErrorMessage( zoomPoint.getPath() + ": " + exc.getMessage() );
+				failures++;
+			}
+		}
+
+		engine = new RenderEngine( threads, RenderEngine.DEFAULT_REQUESTS );
+		if ( streaming || (long)width * height > STREAMING_PIXELS ) {
+			StripRenderer stripRenderer = new StripRenderer( engine, kernel, iterationLimit, gradient, colorLoops );
+			stripRenderer.setJournaling( journaling );
+			stripRenderer.setPrecision( precision );
+			stripRenderer.setRenderStrategy( renderStrategy );
+			stripRenderer.setDistanceEstimation( distanceEstimation );
+			stripRenderer.setDiskFilling( diskFilling );
+			for ( int i = 0; i < views.size(); i++ ) {
+				try {
+					stripRenderer.render( views.get( i ), pictures.get( i ) );
+				} catch ( IOException exc ) {
+					ErrorHandler.printErrorMessage( pictures.get( i ).getPath() + ": " + exc.getMessage() );
+					failures++;
+				}
+			}
+		} else {
+			BatchRenderer renderer = new BatchRenderer( kernel, iterationLimit, gradient, colorLoops );
+			renderer.setPrecision( precision );
+			renderer.setRenderStrategy( renderStrategy );
+			renderer.setDistanceEstimation( distanceEstimation );
+			renderer.setDiskFilling( diskFilling );
+			pipeline = new RenderPipeline( engine, stageThreads[0], stageThreads[1], stageThreads[2] );
+			try {
+				for ( int i = 0; i < views.size(); i++ ) {
+					pipeline.submit( renderer.getRequest( views.get( i ) ), pictures.get( i ) );
+				}
+				failures += pipeline.finish();
+			} catch ( InterruptedException exc ) {
+				ErrorHandler.printErrorMessage( "interrupted" );
+				failures += views.size() - pipeline.getWrittenCount();
+			}
+			System.out.println( pipeline.getStatistics() );
+		}
+		engine.shutdown();
+		System.out.println( String.format( "%d pictures in %d ms, %d failed", Math.max( zoomPoints.size(), 1 ),
+				( System.nanoTime() - start ) / 1000000, failures ) );
+		System.exit( failures > 0 ? 1 : 0 );
+	}
+
+	private static void animate( File zoomPoint, BigDecimal centerReal, BigDecimal centerImaginary, int zoomLevel,
+			int width, int height, int frameCount, File output, AnimationRenderer animationRenderer ) {
+		/**
+		 * Renders the zoom to a zoom point and exits, with status 1 if it
+		 * fails and 2 if the start doesn't fit the zoom point.
+		 *
+		 * @param	zoomPoint			The MBZ file the zoom goes to
+		 * @param	centerReal			The real part of the start center, or null for the zoom point's
+		 * @param	centerImaginary		The imaginary part of the start center
+		 * @param	zoomLevel			The zoom level the zoom starts at
+		 * @param	width				The width of the frames in pixels
+		 * @param	height				The height of the frames in pixels
+		 * @param	frameCount			The number of frames
+		 * @param	output				The PNG file the frames are named after
+		 * @param	animationRenderer	The renderer of the zoom
+		 */
+		ViewPoint target;
+
+		try {
+			target = MbzFileManager.readViewPoint( zoomPoint, width, height );
+			if ( centerReal == null ) {
+				centerReal = target.getCenterReal();
+				centerImaginary = target.getCenterImaginary();
+			}
+			animationRenderer.render( new ViewPoint( centerReal, centerImaginary, zoomLevel, width, height ), target,
+					frameCount, output );
+		} catch ( IllegalArgumentException exc ) {
+			ErrorHandler.printErrorMessage( "invalid arguments: " + exc.getMessage() );
+			System.err.print( USAGE );
+			System.exit( 2 );
+		} catch ( IOException exc ) {
+			ErrorHandler.printErrorMessage( zoomPoint.getPath() + ": " + exc.getMessage() );
+			System.exit( 1 );
+		}
+		System.exit( 0 );
+	}
+}
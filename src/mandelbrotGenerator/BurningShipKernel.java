@@ -0,0 +1,120 @@
+/**
+* This is the kernel for the Burning Ship fractal.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public final class BurningShipKernel implements FractalKernel {
+	/**
+	 * Iterates z = ( |Re z| + i|Im z| )^2 + c from z = 0. Taking the
+	 * absolute values only changes the sign of the cross term, so the
+	 * loop costs the same as the Mandelbrot one. The ship is upside down
+	 * with the usual orientation of the imaginary axis, and sits around
+	 * -1.75 - 0.03i.
+	 */
+
+	public boolean isInterior( double cx, double cy ) {
+		/**
+		 * The Burning Ship has no shape that is known to be inside, so
+		 * every point gets iterated.
+		 *
+		 * @param	cx	The real part of the point
+		 * @param	cy	The imaginary part of the point
+		 * @return		Always false
+		 */
+		return false;
+	}
+
+	public double getBailout( boolean smooth ) {
+		/**
+		 * Gets the sum of squares at which an orbit counts as escaped.
+		 *
+		 * @param	smooth	True for smooth iterations, which need a larger bailout
+		 * @return		The bailout
+		 */
+		return smooth ? 256 : 4;
+	}
+
+	public double smooth( int iteration, double sumOfSquares ) {
+		/**
+		 * Turns the iterations of an escaped orbit into smooth iterations.
+		 *
+		 * @param	iteration		The number of iterations
+		 * @param	sumOfSquares	The sum of squares of the last position
+		 * @return		The smooth iterations
+		 */
+		double logzn = Math.log( sumOfSquares );
+		double nu = Math.log( logzn / MandelbrotAlgorithm.LOG_OF_TWO ) / MandelbrotAlgorithm.LOG_OF_TWO;
+		return iteration + 1.0d - nu;
+	}
+
+	public double iterate( double cx, double cy, int limit, boolean smooth, double tolerance ) {
+		/**
+		 * Iterates a point.
+		 *
+		 * @param	cx			The real part of the point
+		 * @param	cy			The imaginary part of the point
+		 * @param	limit		The maximum amount of iterations
+		 * @param	smooth		True for smooth iterations
+		 * @param	tolerance	Orbit closeness for periodicity, or 0 for no checking
+		 * @return		The number of iterations until the orbit escaped or
+		 * 				reached the limit, or -1 if the orbit is periodic
+		 */
+		double bailout = getBailout( smooth );
+		double x = 0;
+		double y = 0;
+		double xSquared = 0;
+		double ySquared = 0;
+		double savedX = 0;
+		double savedY = 0;
+		int steps = 0;
+		int stepLimit = 1;
+		int iteration = 0;
+
+		if ( tolerance > 0 ) {
+			while ( xSquared + ySquared < bailout && iteration < limit ) {
+				y = ( 2.0d * Math.abs( x * y ) ) + cy;
+				x = xSquared - ySquared + cx;
+				xSquared = x * x;
+				ySquared = y * y;
+				iteration++;
+				if ( Math.abs( x - savedX ) < tolerance && Math.abs( y - savedY ) < tolerance ) {
+					return -1;
+				}
+				steps++;
+				if ( steps == stepLimit ) {
+					steps = 0;
+					stepLimit <<= 1;
+					savedX = x;
+					savedY = y;
+				}
+			}
+		} else {
+			while ( xSquared + ySquared < bailout && iteration < limit ) {
+				y = ( 2.0d * Math.abs( x * y ) ) + cy;
+				x = xSquared - ySquared + cx;
+				xSquared = x * x;
+				ySquared = y * y;
+				iteration++;
+			}
+		}
+		if ( smooth && iteration < limit ) {
+			return smooth( iteration, xSquared + ySquared );
+		}
+		return iteration;
+	}
+
+	@Override
+	public String toString() {
+		/**
+		 * Names the fractal, for the output and the journals.
+		 *
+		 * @return	The name
+		 */
+		return "burningship";
+	}
+}
@@ -18,6 +18,39 @@ public class ColorGradient {
 	 * color palette
 	 */
 	// variables
+	public static final String DEFAULT_GRADIENT = "MilkyWay";
+	public static final String[] GRADIENT_NAMES = { "MilkyWay", "Sunset", "Radioactive", "Rainbow" };
+	private static final Color[] MILKY_WAY = {	new Color( 0, 43, 52 ),
+			new Color( 0, 51, 103 ),
+			new Color( 0, 26, 153 ),
+			new Color( 35, 0, 204 ),
+			new Color( 128, 0, 255 ),
+			new Color( 234, 127, 255 ),
+			new Color( 255, 191, 245 ),
+			new Color( 234, 127, 255 ),
+			new Color( 128, 0, 255 ),
+			new Color( 35, 0, 204 ),
+			new Color( 0, 26, 153 ),
+			new Color( 0, 51, 103 ) };
+	private static final Color[] SUNSET = {	new Color( 0, 6, 92 ),
+			new Color( 8, 41, 156 ),
+			new Color( 243, 255, 247 ),
+			new Color( 255, 174, 4 ),
+			new Color( 82, 31, 48 ) };
+	private static final Color[] RADIOACTIVE = {	new Color( 0, 18, 26 ),
+			new Color( 0, 52, 52 ),
+			new Color( 0, 77, 52 ),
+			new Color( 0, 153, 0 ),
+			new Color( 68, 204, 0 ),
+			new Color( 157, 235, 0 ),
+			new Color( 255, 255, 0 ),
+			new Color( 255, 255, 205 ),
+			new Color( 255, 255, 0 ),
+			new Color( 157, 235, 0 ),
+			new Color( 68, 204, 0 ),
+			new Color( 0, 153, 0 ),
+			new Color( 0, 77, 52 ),
+			new Color( 0, 52, 52 ) };
 	private int numColors;
 	private ArrayList<Color> colors;
 	private boolean isRainbow;
@@ -58,6 +91,25 @@ public class ColorGradient {
 		}
 	}
 
+	public static ColorGradient getNamedGradient( String name ) {
+		/**
+		 * Gets one of the built in gradients by its name, ignoring case.
+		 *
+		 * @param	name	One of the GRADIENT_NAMES
+		 * @return			A new gradient, or null if there is none by that name
+		 */
+		if ( name.equalsIgnoreCase( "MilkyWay" ) ) {
+			return new ColorGradient( MILKY_WAY );
+		} else if ( name.equalsIgnoreCase( "Sunset" ) ) {
+			return new ColorGradient( SUNSET );
+		} else if ( name.equalsIgnoreCase( "Radioactive" ) ) {
+			return new ColorGradient( RADIOACTIVE );
+		} else if ( name.equalsIgnoreCase( "Rainbow" ) ) {
+			return new ColorGradient( true );
+		}
+		return null;
+	}
+
 	public int getNumColors() {
 		/**
 		 * Returns the number of colors in the gradient
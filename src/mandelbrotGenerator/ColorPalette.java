@@ -14,24 +14,30 @@ import java.awt.Color;
 
 public class ColorPalette {
 	/**
-	 * Class that holds the colors for painting the Mandelbrot set
+	 * Class that holds the colors for painting the Mandelbrot set. The
+	 * palette holds one loop through the gradient, so its size has
+	 * nothing to do with the maximum iterations. The color loops are
+	 * spread over LOOP_ITERATIONS iterations and then repeat.
 	 */
 	// variables
-	private MainWindow owner;
+	public static final int PALETTE_SIZE = 1024;		// Colors in one loop through the gradient
+	public static final int LOOP_ITERATIONS = 5000;		// Iterations the color loops are spread over
+	private int colorLoops;
 	private int numColors;
 	private ArrayList<Color> colorLookUpTable;
 	private ColorGradient gradient;
-	private final int ERROR_COEFFICIENT = 50;
 
 	// methods
 
-	public ColorPalette( MainWindow owner, int numColors, ColorGradient gradient ) {
+	public ColorPalette( int colorLoops, int numColors, ColorGradient gradient ) {
 		/**
 		 * Constructor for the ColorPalette object.
 		 *
-		 * @param  numcolors	number of colors to initialize.
+		 * @param  colorLoops	number of times the gradient loops in LOOP_ITERATIONS.
+		 * @param  numcolors	number of colors in one loop through the gradient.
+		 * @param  gradient		the gradient the palette is made from.
 		 */
-		this.owner = owner;
+		this.colorLoops = colorLoops;
 		this.numColors = numColors;
 		this.gradient = gradient;
 		colorLookUpTable = new ArrayList<Color>();
@@ -53,7 +59,7 @@ public class ColorPalette {
 		 *
 		 * @return	the color at the index, or black if out of bounds
 		 */
-		if ( index >= 0 && index < numColors + ERROR_COEFFICIENT ) {
+		if ( index >= 0 && index < numColors ) {
 			return colorLookUpTable.get( index );
 		}
 		else {
@@ -62,15 +68,32 @@ public class ColorPalette {
 		}
 	}
 
+	public Color getIterationColor( double iteration ) {
+		/**
+		 * Gets the color for a number of iterations, blended between the
+		 * two palette colors it falls between.
+		 *
+		 * @param	iteration	The iterations, smooth or not
+		 * @return	the color for the iterations
+		 */
+		double position = iteration * colorLoops * numColors / LOOP_ITERATIONS;
+		double first = Math.floor( position );
+		int index = (int)( first % numColors );
+
+		return Painter.interpolateColor( colorLookUpTable.get( index ),
+				colorLookUpTable.get( ( index + 1 ) % numColors ), position - first );
+	}
+
 	public void GeneratePalette() {
 		/**
-		 * Creates a palette from the number of colors.
+		 * Creates a palette from the number of colors, going through the
+		 * gradient once.
 		 */
 		// Make a rainbow if the gradient is one
 		Color lastColor = Color.black;
 		if ( gradient.checkIfRainbow() )
 		{
-			final float hueIncrement = (float)owner.getColorLoops()/(float)numColors;
+			final float hueIncrement = 1.0f/(float)numColors;
 			float hue = 0.0f;
 			for ( int i = 0; i < numColors; i++ ) {
 				hue = hueIncrement*(float)i;
@@ -80,7 +103,7 @@ public class ColorPalette {
 			}
 		} else {
 		// Else, generate the palette from the colors
-			float stepSize = (float)( gradient.getNumColors() * owner.getColorLoops() )  / (float)numColors;
+			float stepSize = (float)gradient.getNumColors() / (float)numColors;
 			float gradientIndexReal = 0.0f;
 			int firstColorIndex = 0;
 			int secondColorIndex = 0;
@@ -100,12 +123,6 @@ public class ColorPalette {
 		for( int j = colorLookUpTable.size(); j < numColors; j++ ) {
 			colorLookUpTable.add( lastColor );
 		}
-		// Make sure that there aren't any leftover colors to cause any problems
-		for( int k = 0; k < ERROR_COEFFICIENT; k++ ) {
-			colorLookUpTable.add( Color.BLACK );
-		}
-		// First color is black
-		colorLookUpTable.set( 0, Color.BLACK );
 	}
 
 }
@@ -18,8 +18,9 @@ import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.Dialog;
 import java.awt.LayoutManager;
-import java.text.NumberFormat;
-import java.text.ParseException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
 
 public class CoordinateInputDialog extends Dialog implements WindowListener {
 
@@ -53,7 +54,6 @@ public class CoordinateInputDialog extends Dialog implements WindowListener {
 	private SpringLayout realLayout;
 	private JButton confirmButton;
 	private JButton cancelButton;
-	private NumberFormat coordinateFormat;
 	private boolean isZoomInverted;
 
 	public CoordinateInputDialog( final MainWindow owner ) {
@@ -73,8 +73,6 @@ public class CoordinateInputDialog extends Dialog implements WindowListener {
 			 }
 		  });
 
-		coordinateFormat = NumberFormat.getNumberInstance();
-
 		// Add the panel
 		generalPanel = new JPanel();
 		generalPanel.setBorder( new EmptyBorder( LAYOUT_PADDING, LAYOUT_PADDING, LAYOUT_PADDING, LAYOUT_PADDING ) );
@@ -93,7 +91,7 @@ public class CoordinateInputDialog extends Dialog implements WindowListener {
 
 		// Initialize the text fields
 		xCoordinateBox = new JTextField(  );
-		xCoordinateBox.setText( "" + owner.getCenter().getX() );
+		xCoordinateBox.setText( owner.getCenterReal().toPlainString() );
 
 		// Initialize the Panels and add the components
 		realPanel = new JPanel();
@@ -120,8 +118,7 @@ public class CoordinateInputDialog extends Dialog implements WindowListener {
 		yCoordinateLabel.setAlignmentY( 1.0f );
 		yCoordinatePanel.add( yCoordinateLabel );
 		imaginaryLabel = new JLabel( "Im: " );
-		yCoordinateBox = new JTextField( "" + owner.getCenter().getY() );
-		yCoordinateBox.setText( "" + owner.getCenter().getY() );
+		yCoordinateBox = new JTextField( owner.getCenterImaginary().toPlainString() );
 		imaginaryPanel = new JPanel();
 		yCoordinatePanel.add( imaginaryPanel );
 		imaginaryPanel.setLayout( new BoxLayout(imaginaryPanel, BoxLayout.X_AXIS ) );
@@ -130,7 +127,7 @@ public class CoordinateInputDialog extends Dialog implements WindowListener {
 		generalPanel.add( yCoordinatePanel );
 		zoomLevelLabel = new JLabel( "Zoom Level" );
 		zoomLevelLabel.setAlignmentX( Component.RIGHT_ALIGNMENT );
-		zoomLevelBox = new JFormattedTextField( "" + Math.pow(2, owner.getZoomLevel() ) );
+		zoomLevelBox = new JFormattedTextField( BigInteger.ONE.shiftLeft( owner.getZoomLevel() ).toString() );
 		zoomPanel = new JPanel();
 		zoomLevelLayout = new BoxLayout( zoomPanel, BoxLayout.Y_AXIS );
 		zoomPanel.setBorder( new EmptyBorder( LAYOUT_PADDING, LAYOUT_PADDING, LAYOUT_PADDING, LAYOUT_PADDING ) );
@@ -189,43 +186,48 @@ public class CoordinateInputDialog extends Dialog implements WindowListener {
 		 * Updates the coordinates for the parent program.
 		 *
 		 */
-		xCoordinateBox.setText( "" + owner.getCenter().getX() );
-		yCoordinateBox.setText( "" + owner.getCenter().getY() );
-		zoomLevelBox.setText( "" + Math.pow(2, owner.getZoomLevel() ) );
+		xCoordinateBox.setText( owner.getCenterReal().toPlainString() );
+		yCoordinateBox.setText( owner.getCenterImaginary().toPlainString() );
+		zoomLevelBox.setText( BigInteger.ONE.shiftLeft( owner.getZoomLevel() ).toString() );
 	}
 
 	public int parseCoordinates() {
 		/**
 		 * Parses the coordinates in the boxes. If the coordinates
 		 * are invalid, then it prints out an error dialog and doesn't
-		 * automatically zoom in on the target.
+		 * automatically zoom in on the target. The coordinates are
+		 * kept to every digit that was typed in, since deep zooms
+		 * need far more of them than a double holds.
 		 *
 		 * @return	the status of the function. 0 if OK, -1 if there is an error
 		 */
-		double xCoordinate;
-		double yCoordinate;
-		double zoomLevel;
+		BigDecimal xCoordinate;
+		BigDecimal yCoordinate;
+		BigDecimal zoomLevel;
 
 		//Parse the values.
 		try {
-			xCoordinate = coordinateFormat.parse( xCoordinateBox.getText() ).doubleValue();
-		} catch (ParseException pe) {
+			xCoordinate = new BigDecimal( xCoordinateBox.getText().trim() );
+		} catch (NumberFormatException nfe) {
 			return -1;
 			}
 		try {
-			yCoordinate = coordinateFormat.parse( yCoordinateBox.getText() ).doubleValue();
-		} catch (ParseException pe) {
+			yCoordinate = new BigDecimal( yCoordinateBox.getText().trim() );
+		} catch (NumberFormatException nfe) {
 			return -1;
 			}
 		try {
-			zoomLevel = coordinateFormat.parse(zoomLevelBox.getText() ).doubleValue();
-		} catch (ParseException pe) {
+			zoomLevel = new BigDecimal( zoomLevelBox.getText().trim() );
+		} catch (NumberFormatException nfe) {
 			return -1;
 			}
+		if ( zoomLevel.signum() <= 0 ) {
+			return -1;
+		}
 		if ( isZoomInverted ) {
-			zoomLevel = Math.pow( zoomLevel, -1 );
+			zoomLevel = BigDecimal.ONE.divide( zoomLevel, MathContext.DECIMAL64 );
 		}
-		owner.absoluteZoom( xCoordinate, yCoordinate, (long)zoomLevel );
+		owner.absoluteZoom( xCoordinate, yCoordinate, zoomLevel.toBigInteger() );
 		return 0;
 	}
 
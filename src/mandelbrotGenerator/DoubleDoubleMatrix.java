@@ -0,0 +1,74 @@
+/**
+* This file determines the double-double transformation matrix, the
+* counterpart of the MathMatrix for views that need more digits than a
+* double holds.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.math.BigDecimal;
+
+public class DoubleDoubleMatrix {
+	/**
+	 * This is a class that represents the 2D pixel to Mandelbrot
+	 * transformation with double-double precision. Every entry is kept
+	 * as the unevaluated sum of a high and a low double, which gives
+	 * about 106 bits. The scale of a view always fits in a double, so
+	 * the low parts of the linear entries are simply zero; it is the
+	 * translation that needs the extra digits.
+	 */
+	private final double[][] high = new double[2][3];
+	private final double[][] low = new double[2][3];
+
+	public DoubleDoubleMatrix( MathMatrix transformation, BigDecimal centerReal, BigDecimal centerImaginary,
+			double centerX, double centerY ) {
+		/**
+		 * Constructor for the DoubleDoubleMatrix object. The linear part is
+		 * taken from the transformation matrix, and the translation is
+		 * worked out exactly so that the given pixel ends up on the center.
+		 *
+		 * @param	transformation		The pixel to Mandelbrot transformation matrix
+		 * @param	centerReal			The real part of the center
+		 * @param	centerImaginary		The imaginary part of the center
+		 * @param	centerX				The image X coordinate of the center
+		 * @param	centerY				The image Y coordinate of the center
+		 */
+		BigDecimal translation;
+		BigDecimal[] center = { centerReal, centerImaginary };
+
+		for ( int row = 0; row < 2; row++ ) {
+			high[row][0] = transformation.get( 0, row );
+			high[row][1] = transformation.get( 1, row );
+			translation = center[row].subtract( new BigDecimal( high[row][0] ).multiply( new BigDecimal( centerX ) ) )
+					.subtract( new BigDecimal( high[row][1] ).multiply( new BigDecimal( centerY ) ) );
+			high[row][2] = translation.doubleValue();
+			low[row][2] = translation.subtract( new BigDecimal( high[row][2] ) ).doubleValue();
+		}
+	}
+
+	public double getHigh( int x, int y ) {
+		/**
+		 * Gets the high part of an entry. Column 2 is the translation.
+		 *
+		 * @param	x	The column of the entry
+		 * @param	y	The row of the entry
+		 * @return		The high part of the entry
+		 */
+		return high[y][x];
+	}
+
+	public double getLow( int x, int y ) {
+		/**
+		 * Gets the low part of an entry. Column 2 is the translation.
+		 *
+		 * @param	x	The column of the entry
+		 * @param	y	The row of the entry
+		 * @return		The low part of the entry
+		 */
+		return low[y][x];
+	}
+}
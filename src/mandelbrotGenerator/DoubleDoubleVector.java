@@ -0,0 +1,179 @@
+/**
+* This file determines the double-double vector, the counterpart of the
+* MathVector for views that need more digits than a double holds.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public class DoubleDoubleVector {
+	/**
+	 * This is a class that represents a point in 2D space with
+	 * double-double precision. Each coordinate is kept as the unevaluated
+	 * sum of a high and a low double.
+	 *
+	 * The error-free products are done with Dekker's splitting rather than
+	 * with a fused multiply-add, which Java 7 does not have.
+	 */
+	public static final double SPLITTER = 134217729.0d;		// 2^27 + 1, splits a double into two halves
+	private double xHigh;
+	private double xLow;
+	private double yHigh;
+	private double yLow;
+	private final double[] sum = new double[2];				// High and low part of a sum being worked out
+
+	public DoubleDoubleVector( double x, double y ) {
+		/**
+		 * Constructor for the DoubleDoubleVector object.
+		 *
+		 * @param	x	The horizontal (x) value
+		 * @param	y	The vertical (y) value
+		 */
+		set( x, y );
+	}
+
+	public DoubleDoubleVector set( double x, double y ) {
+		/**
+		 * Sets the vector to plain double values, so that one vector can
+		 * be used for many points.
+		 *
+		 * @param	x	The horizontal (x) value
+		 * @param	y	The vertical (y) value
+		 * @return		This vector
+		 */
+		xHigh = x;
+		xLow = 0;
+		yHigh = y;
+		yLow = 0;
+		return this;
+	}
+
+	public double getXHigh() {
+		/**
+		 * Gets the high part of the x value.
+		 *
+		 * @return	The high part of x
+		 */
+		return xHigh;
+	}
+
+	public double getXLow() {
+		/**
+		 * Gets the low part of the x value.
+		 *
+		 * @return	The low part of x
+		 */
+		return xLow;
+	}
+
+	public double getYHigh() {
+		/**
+		 * Gets the high part of the y value.
+		 *
+		 * @return	The high part of y
+		 */
+		return yHigh;
+	}
+
+	public double getYLow() {
+		/**
+		 * Gets the low part of the y value.
+		 *
+		 * @return	The low part of y
+		 */
+		return yLow;
+	}
+
+	public double getX() {
+		/**
+		 * Gets the x value rounded to a double.
+		 *
+		 * @return	The x value
+		 */
+		return xHigh + xLow;
+	}
+
+	public double getY() {
+		/**
+		 * Gets the y value rounded to a double.
+		 *
+		 * @return	The y value
+		 */
+		return yHigh + yLow;
+	}
+
+	public DoubleDoubleVector multiply( DoubleDoubleMatrix a ) {
+		/**
+		 * Performs a multiplication of this vector using a transformation
+		 * matrix. The original values are overwritten. Only the high parts
+		 * of the linear entries are used, the scale of a view has no low part.
+		 *
+		 * @param	a	The input transformation matrix.
+		 * @return		The resulting vector.
+		 */
+		double x = xHigh;
+		double y = yHigh;
+
+		for ( int row = 0; row < 2; row++ ) {
+			sumOfProducts( a.getHigh( 0, row ), x, a.getHigh( 1, row ), y, a.getHigh( 2, row ), a.getLow( 2, row ), sum );
+			if ( row == 0 ) {
+				xHigh = sum[0];
+				xLow = sum[1];
+			} else {
+				yHigh = sum[0];
+				yLow = sum[1];
+			}
+		}
+		return this;
+	}
+
+	private static void sumOfProducts( double a, double b, double c, double d, double high, double low, double[] result ) {
+		/**
+		 * Works out a * b + c * d + ( high + low ) in double-double.
+		 *
+		 * @param	a		The first factor of the first product
+		 * @param	b		The second factor of the first product
+		 * @param	c		The first factor of the second product
+		 * @param	d		The second factor of the second product
+		 * @param	high	The high part of the value to add
+		 * @param	low		The low part of the value to add
+		 * @param	result	Receives the high and the low part of the sum
+		 */
+		double first = a * b;
+		double firstError = productError( a, b, first );
+		double second = c * d;
+		double secondError = productError( c, d, second );
+		double sum = first + second;
+		double virtual = sum - first;
+		double error = ( first - ( sum - virtual ) ) + ( second - virtual ) + firstError + secondError;
+		double total = sum + high;
+
+		virtual = total - sum;
+		error += ( sum - ( total - virtual ) ) + ( high - virtual ) + low;
+		result[0] = total + error;
+		result[1] = error - ( result[0] - total );
+	}
+
+	public static double productError( double a, double b, double product ) {
+		/**
+		 * Gets the rounding error of a product, so that a * b is exactly
+		 * product + error (Dekker's two-product).
+		 *
+		 * @param	a			The first factor
+		 * @param	b			The second factor
+		 * @param	product		The product a * b rounded to a double
+		 * @return		The rounding error of the product
+		 */
+		double split = SPLITTER * a;
+		double aHigh = split - ( split - a );
+		double aLow = a - aHigh;
+
+		split = SPLITTER * b;
+		double bHigh = split - ( split - b );
+		double bLow = b - bHigh;
+		return ( ( ( aHigh * bHigh - product ) + aHigh * bLow ) + aLow * bHigh ) + aLow * bLow;
+	}
+}
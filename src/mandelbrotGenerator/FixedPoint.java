@@ -0,0 +1,323 @@
+/**
+* This is the fixed point number used for calculating with more digits
+* than a double holds.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+public class FixedPoint {
+	/**
+	 * A signed fixed point number made of limbs of 32 bits each, kept in
+	 * the low half of a long so that the product of two limbs always
+	 * fits. Limb 0 holds the integer part and the rest hold the fraction,
+	 * most significant first, as one two's complement number. The limbs
+	 * and all the scratch space are allocated once, so none of the
+	 * arithmetic allocates anything.
+	 *
+	 * The integer part only goes from -2^31 to 2^31, which is plenty for
+	 * an orbit that is stopped before it gets that far out.
+	 */
+	public static final int LIMB_BITS = 32;
+	public static final long LIMB_MASK = 0xFFFFFFFFL;
+	public static final int GUARD_BITS = 64;			// Extra bits for the orbit to lose along the way
+	private static final double LIMB_SCALE = 1.0d / 4294967296.0d;
+	private final long[] limbs;
+	private final long[] scratchA;						// Magnitude of the left operand
+	private final long[] scratchB;						// Magnitude of the right operand
+	private final long[] product;						// Double length product
+
+	public FixedPoint( int numLimbs ) {
+		/**
+		 * Constructor for the FixedPoint object. The number starts at zero.
+		 *
+		 * @param	numLimbs	The number of limbs, the integer part included
+		 */
+		limbs = new long[ numLimbs ];
+		scratchA = new long[ numLimbs ];
+		scratchB = new long[ numLimbs ];
+		product = new long[ numLimbs * 2 ];
+	}
+
+	public FixedPoint( int numLimbs, BigDecimal value ) {
+		/**
+		 * Constructor for the FixedPoint object.
+		 *
+		 * @param	numLimbs	The number of limbs, the integer part included
+		 * @param	value		The value of the number
+		 */
+		this( numLimbs );
+		set( value );
+	}
+
+	public static int getLimbs( double pixelSpacing ) {
+		/**
+		 * Gets the number of limbs needed to tell two neighboring pixels
+		 * apart, with GUARD_BITS to spare.
+		 *
+		 * @param	pixelSpacing	The distance between two pixels
+		 * @return		The number of limbs, the integer part included
+		 */
+		double bits = -Math.log( Math.abs( pixelSpacing ) ) / MandelbrotAlgorithm.LOG_OF_TWO;
+		return 1 + (int)Math.ceil( ( Math.max( bits, 0 ) + GUARD_BITS ) / LIMB_BITS );
+	}
+
+	public static int getDigits( int numLimbs ) {
+		/**
+		 * Gets the number of decimal digits a number with the given
+		 * number of limbs holds.
+		 *
+		 * @param	numLimbs	The number of limbs, the integer part included
+		 * @return		The number of significant decimal digits
+		 */
+		return (int)Math.ceil( numLimbs * LIMB_BITS * Math.log10( 2 ) );
+	}
+
+	public int getNumLimbs() {
+		/**
+		 * Gets the number of limbs of the number.
+		 *
+		 * @return	The number of limbs, the integer part included
+		 */
+		return limbs.length;
+	}
+
+	public FixedPoint set( FixedPoint a ) {
+		/**
+		 * Copies another number with the same number of limbs.
+		 *
+		 * @param	a	The number to copy
+		 * @return		This number
+		 */
+		System.arraycopy( a.limbs, 0, limbs, 0, limbs.length );
+		return this;
+	}
+
+	public FixedPoint set( BigDecimal value ) {
+		/**
+		 * Sets the number to the nearest value it can hold.
+		 *
+		 * @param	value	The new value
+		 * @return		This number
+		 */
+		BigInteger scaled = value.multiply( new BigDecimal( BigInteger.ONE.shiftLeft( LIMB_BITS * ( limbs.length - 1 ) ) ) )
+				.setScale( 0, RoundingMode.HALF_EVEN ).toBigInteger();
+		for ( int i = limbs.length - 1; i >= 0; i-- ) {
+			limbs[i] = scaled.longValue() & LIMB_MASK;
+			scaled = scaled.shiftRight( LIMB_BITS );
+		}
+		return this;
+	}
+
+	public FixedPoint set( double value ) {
+		/**
+		 * Sets the number to a double. The double is placed into the limbs
+		 * bit by bit, so apart from the bits below the last limb nothing
+		 * gets rounded.
+		 *
+		 * @param	value	The new value
+		 * @return		This number
+		 */
+		long bits = Double.doubleToRawLongBits( value );
+		int exponent = (int)( ( bits >>> 52 ) & 0x7FF );
+		long mantissa = bits & 0xFFFFFFFFFFFFFL;
+		int shift;
+		int limb;
+		int offset;
+
+		for ( int i = 0; i < limbs.length; i++ ) {
+			limbs[i] = 0;
+		}
+		if ( exponent == 0x7FF || ( exponent == 0 && mantissa == 0 ) ) {
+			return this;
+		}
+		if ( exponent == 0 ) {
+			exponent = 1;
+		} else {
+			mantissa |= 0x10000000000000L;
+		}
+		// the value is mantissa * 2^(exponent - 1075), shift it to the position of the last limb
+		shift = exponent - 1075 + LIMB_BITS * ( limbs.length - 1 );
+		if ( shift < 0 ) {
+			if ( shift <= -64 ) {
+				return this;
+			}
+			mantissa >>>= -shift;
+			shift = 0;
+		}
+		limb = limbs.length - 1 - ( shift / LIMB_BITS );
+		offset = shift % LIMB_BITS;
+		if ( limb >= 0 ) {
+			limbs[limb] = ( mantissa << offset ) & LIMB_MASK;
+		}
+		if ( limb >= 1 ) {
+			limbs[limb - 1] = ( mantissa >>> ( LIMB_BITS - offset ) ) & LIMB_MASK;
+		}
+		if ( limb >= 2 && offset > 0 ) {
+			limbs[limb - 2] = ( mantissa >>> ( 2 * LIMB_BITS - offset ) ) & LIMB_MASK;
+		}
+		if ( value < 0 ) {
+			negate();
+		}
+		return this;
+	}
+
+	public boolean isNegative() {
+		/**
+		 * Checks if the number is below zero.
+		 *
+		 * @return	True if the number is negative
+		 */
+		return ( limbs[0] & 0x80000000L ) != 0;
+	}
+
+	public double doubleValue() {
+		/**
+		 * Gets the nearest double to the number. Only the first three
+		 * limbs that aren't zero are needed for that.
+		 *
+		 * @return	The value as a double
+		 */
+		long[] magnitude = limbs;
+		double value = 0;
+		int first = 0;
+		int last;
+
+		if ( isNegative() ) {
+			negate( limbs, scratchA );
+			magnitude = scratchA;
+		}
+		while ( first < magnitude.length - 1 && magnitude[first] == 0 ) {
+			first++;
+		}
+		last = Math.min( first + 2, magnitude.length - 1 );
+		for ( int i = last; i >= 0; i-- ) {
+			value = ( value * LIMB_SCALE ) + magnitude[i];
+		}
+		return magnitude == limbs ? value : -value;
+	}
+
+	public FixedPoint add( FixedPoint a ) {
+		/**
+		 * Adds another number with the same number of limbs to this one.
+		 *
+		 * @param	a	The number to add
+		 * @return		This number
+		 */
+		long carry = 0;
+		long sum;
+		for ( int i = limbs.length - 1; i >= 0; i-- ) {
+			sum = limbs[i] + a.limbs[i] + carry;
+			limbs[i] = sum & LIMB_MASK;
+			carry = sum >>> LIMB_BITS;
+		}
+		return this;
+	}
+
+	public FixedPoint subtract( FixedPoint a ) {
+		/**
+		 * Subtracts another number with the same number of limbs from this one.
+		 *
+		 * @param	a	The number to subtract
+		 * @return		This number
+		 */
+		long borrow = 0;
+		long difference;
+		for ( int i = limbs.length - 1; i >= 0; i-- ) {
+			difference = limbs[i] - a.limbs[i] - borrow;
+			limbs[i] = difference & LIMB_MASK;
+			borrow = difference >>> 63;
+		}
+		return this;
+	}
+
+	public FixedPoint negate() {
+		/**
+		 * Flips the sign of the number.
+		 *
+		 * @return	This number
+		 */
+		negate( limbs, limbs );
+		return this;
+	}
+
+	public FixedPoint multiply( FixedPoint a, FixedPoint b ) {
+		/**
+		 * Sets this number to the product of two numbers with the same
+		 * number of limbs. Either of them may be this number itself.
+		 * The magnitudes are multiplied limb by limb, leaving out the
+		 * part of the product that falls more than a limb below the
+		 * last one, and the sign is put back afterwards.
+		 *
+		 * @param	a	The left operand
+		 * @param	b	The right operand
+		 * @return		This number
+		 */
+		int n = limbs.length;
+		boolean negative = a.isNegative() != b.isNegative();
+		long[] left = a.limbs;
+		long[] right = b.limbs;
+		long carry;
+		long term;
+		long limb;
+
+		if ( a.isNegative() ) {
+			negate( a.limbs, scratchA );
+			left = scratchA;
+		}
+		if ( b.isNegative() ) {
+			negate( b.limbs, scratchB );
+			right = scratchB;
+		}
+		for ( int i = 0; i < product.length; i++ ) {
+			product[i] = 0;
+		}
+		// limb i times limb j ends up at index i + j + 1 of the product, and
+		// only indices up to n are kept, plus one more for the carries
+		for ( int i = n - 1; i >= 0; i-- ) {
+			limb = left[i];
+			if ( limb == 0 ) {
+				continue;
+			}
+			carry = 0;
+			for ( int j = Math.min( n - 1, n - i ); j >= 0; j-- ) {
+				term = ( limb * right[j] ) + product[ i + j + 1 ] + carry;
+				product[ i + j + 1 ] = term & LIMB_MASK;
+				carry = term >>> LIMB_BITS;
+			}
+			for ( int k = i; k >= 0 && carry != 0; k-- ) {
+				term = product[k] + carry;
+				product[k] = term & LIMB_MASK;
+				carry = term >>> LIMB_BITS;
+			}
+		}
+		System.arraycopy( product, 1, limbs, 0, n );
+		if ( negative ) {
+			negate( limbs, limbs );
+		}
+		return this;
+	}
+
+	private static void negate( long[] source, long[] destination ) {
+		/**
+		 * Writes the two's complement of a number to another array.
+		 *
+		 * @param	source		The limbs to negate
+		 * @param	destination	Receives the negated limbs, may be the source
+		 */
+		long carry = 1;
+		long sum;
+		for ( int i = source.length - 1; i >= 0; i-- ) {
+			sum = ( source[i] ^ LIMB_MASK ) + carry;
+			destination[i] = sum & LIMB_MASK;
+			carry = sum >>> LIMB_BITS;
+		}
+	}
+}
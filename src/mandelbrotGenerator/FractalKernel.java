@@ -0,0 +1,60 @@
+/**
+* This is the interface for the escape-time formulas the MandelbrotAlgorithm
+* can render.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public interface FractalKernel {
+	/**
+	 * An escape-time fractal in plain doubles. Every implementation keeps
+	 * its whole orbit loop inside iterate, so the renderer only makes one
+	 * call per pixel and the loop itself is compiled for that one formula.
+	 * The renderer takes the kernel once per frame, so every call of a
+	 * frame goes to the same class.
+	 */
+
+	/**
+	 * Checks if a point is known to never escape without iterating it.
+	 *
+	 * @param	cx	The real part of the point
+	 * @param	cy	The imaginary part of the point
+	 * @return		True if the point is known to be inside the set
+	 */
+	public boolean isInterior( double cx, double cy );
+
+	/**
+	 * Gets the sum of squares at which an orbit counts as escaped.
+	 *
+	 * @param	smooth	True for smooth iterations, which need a larger bailout
+	 * @return		The bailout
+	 */
+	public double getBailout( boolean smooth );
+
+	/**
+	 * Turns the iterations of an escaped orbit into smooth iterations.
+	 *
+	 * @param	iteration		The number of iterations
+	 * @param	sumOfSquares	The sum of squares of the last position
+	 * @return		The smooth iterations
+	 */
+	public double smooth( int iteration, double sumOfSquares );
+
+	/**
+	 * Iterates a point. When a tolerance is given, the orbit is checked
+	 * for cycles using Brent's method.
+	 *
+	 * @param	cx			The real part of the point
+	 * @param	cy			The imaginary part of the point
+	 * @param	limit		The maximum amount of iterations
+	 * @param	smooth		True for smooth iterations
+	 * @param	tolerance	Orbit closeness for periodicity, or 0 for no checking
+	 * @return		The number of iterations until the orbit escaped or
+	 * 				reached the limit, or -1 if the orbit is periodic
+	 */
+	public double iterate( double cx, double cy, int limit, boolean smooth, double tolerance );
+}
@@ -0,0 +1,239 @@
+/**
+* This is the flat, primitive buffer that holds the iteration counts for
+* every pixel of a Mandelbrot picture.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public class IterationBuffer {
+	/**
+	 * Stores the iterations of each pixel in flat primitive arrays so
+	 * that no boxing takes place while generating or painting. The
+	 * buffer is meant to be allocated once per resolution and reused
+	 * for every zoom.
+	 *
+	 * Pixel (x, y) is located at index ( y * stride ) + x.
+	 */
+	private final int width;
+	private final int height;
+	private final int stride;
+	private final int[] iterations;				// Number of iterations for each pixel
+	private final double[] iterationsReal;		// Number of iterations for each pixel, double
+	private final double[] distances;			// Distance estimate for each pixel, in pixels
+	private final int[] sampleOffsets;			// Start of the subsamples of each pixel, -1 for none
+	private double[] samples = new double[0];			// Iterations of the subsamples
+	private double[] sampleDistances = new double[0];	// Distance estimates of the subsamples, in pixels
+	private final double[] passSamples;			// Iterations of the last sample pass, one per pixel
+	private final double[] passSampleDistances;	// Distance estimates of the last sample pass, in pixels
+
+	public IterationBuffer( int width, int height ) {
+		/**
+		 * Constructor for the IterationBuffer object. The arrays are
+		 * allocated here and never again.
+		 *
+		 * @param	width		The width of the picture in pixels
+		 * @param	height		The height of the picture in pixels
+		 */
+		this.width = width;
+		this.height = height;
+		this.stride = width;
+		iterations = new int[ stride * height ];
+		iterationsReal = new double[ stride * height ];
+		distances = new double[ stride * height ];
+		sampleOffsets = new int[ stride * height ];
+		passSamples = new double[ stride * height ];
+		passSampleDistances = new double[ stride * height ];
+	}
+
+	public boolean hasSize( int width, int height ) {
+		/**
+		 * Checks if the buffer can hold a picture of the given size
+		 * without being reallocated.
+		 *
+		 * @param	width		The width of the picture in pixels
+		 * @param	height		The height of the picture in pixels
+		 * @return			True if the buffer matches the size
+		 */
+		return this.width == width && this.height == height;
+	}
+
+	public int getWidth() {
+		/**
+		 * Gets the width of the buffer.
+		 *
+		 * @return	The width in pixels
+		 */
+		return width;
+	}
+
+	public int getHeight() {
+		/**
+		 * Gets the height of the buffer.
+		 *
+		 * @return	The height in pixels
+		 */
+		return height;
+	}
+
+	public int getStride() {
+		/**
+		 * Gets the distance between the start of two rows in the arrays.
+		 *
+		 * @return	The row stride
+		 */
+		return stride;
+	}
+
+	public int getIndex( int x, int y ) {
+		/**
+		 * Gets the array index of a pixel.
+		 *
+		 * @param	x	The image X coordinate
+		 * @param	y	The image Y coordinate
+		 * @return		The index of the pixel in the arrays
+		 */
+		return ( y * stride ) + x;
+	}
+
+	public int[] getIterations() {
+		/**
+		 * Gets the raw integer iteration array. Meant for the
+		 * painter and the algorithm, which walk it directly.
+		 *
+		 * @return	The integer iterations of every pixel
+		 */
+		return iterations;
+	}
+
+	public double[] getIterationsReal() {
+		/**
+		 * Gets the raw smooth iteration array. Meant for the
+		 * painter and the algorithm, which walk it directly.
+		 *
+		 * @return	The smooth iterations of every pixel
+		 */
+		return iterationsReal;
+	}
+
+	public double[] getDistances() {
+		/**
+		 * Gets the raw distance estimate array. It is only filled in when
+		 * the MandelbrotAlgorithm estimates distances; a pixel holds 0 if it
+		 * is inside the set and NaN if its distance is not known.
+		 *
+		 * @return	The distance from every pixel to the set, in pixels
+		 */
+		return distances;
+	}
+
+	public int[] getSampleOffsets() {
+		/**
+		 * Gets the raw subsample offset array. Pixels that were
+		 * supersampled hold the index of their first subsample in the
+		 * sample arrays, the others hold -1.
+		 *
+		 * @return	The offset of the subsamples of every pixel
+		 */
+		return sampleOffsets;
+	}
+
+	public double[] getSamples() {
+		/**
+		 * Gets the raw subsample iteration array, smooth or not.
+		 *
+		 * @return	The iterations of every subsample
+		 */
+		return samples;
+	}
+
+	public double[] getSampleDistances() {
+		/**
+		 * Gets the raw subsample distance array, filled in the same way as
+		 * the distances of the pixels.
+		 *
+		 * @return	The distance from every subsample to the set, in pixels
+		 */
+		return sampleDistances;
+	}
+
+	public double[] getPassSamples() {
+		/**
+		 * Gets the raw array of the last sample pass, which holds one
+		 * jittered sample of every pixel, smooth or not.
+		 *
+		 * @return	The iterations of the sample of every pixel
+		 */
+		return passSamples;
+	}
+
+	public double[] getPassSampleDistances() {
+		/**
+		 * Gets the raw distance array of the last sample pass.
+		 *
+		 * @return	The distance from the sample of every pixel to the set, in pixels
+		 */
+		return passSampleDistances;
+	}
+
+	public void reserveSamples( int count ) {
+		/**
+		 * Makes sure the sample arrays hold at least the given number of
+		 * subsamples. They are only reallocated when they grow, as the
+		 * number of supersampled pixels changes with every picture.
+		 *
+		 * @param	count	The number of subsamples
+		 */
+		if ( samples.length < count ) {
+			samples = new double[ count ];
+			sampleDistances = new double[ count ];
+		}
+	}
+
+	public int getIteration( int x, int y ) {
+		/**
+		 * Gets the integer iteration count of a pixel.
+		 *
+		 * @param	x	The image X coordinate
+		 * @param	y	The image Y coordinate
+		 * @return		The number of iterations at that pixel
+		 */
+		return iterations[ ( y * stride ) + x ];
+	}
+
+	public double getIterationReal( int x, int y ) {
+		/**
+		 * Gets the smooth iteration count of a pixel.
+		 *
+		 * @param	x	The image X coordinate
+		 * @param	y	The image Y coordinate
+		 * @return		The number of iterations at that pixel
+		 */
+		return iterationsReal[ ( y * stride ) + x ];
+	}
+
+	public void setIteration( int x, int y, int iteration ) {
+		/**
+		 * Sets the integer iteration count of a pixel.
+		 *
+		 * @param	x			The image X coordinate
+		 * @param	y			The image Y coordinate
+		 * @param	iteration	The number of iterations at that pixel
+		 */
+		iterations[ ( y * stride ) + x ] = iteration;
+	}
+
+	public void setIterationReal( int x, int y, double iteration ) {
+		/**
+		 * Sets the smooth iteration count of a pixel.
+		 *
+		 * @param	x			The image X coordinate
+		 * @param	y			The image Y coordinate
+		 * @param	iteration	The number of iterations at that pixel
+		 */
+		iterationsReal[ ( y * stride ) + x ] = iteration;
+	}
+}
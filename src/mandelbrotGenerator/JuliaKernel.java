@@ -0,0 +1,154 @@
+/**
+* This is the kernel for the Julia sets.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public final class JuliaKernel implements FractalKernel {
+	/**
+	 * Iterates z = z^2 + c from z = the point of the pixel, with c fixed
+	 * for the whole picture. Every point of the Mandelbrot Set gives a
+	 * connected Julia set; points outside of it give dust.
+	 */
+	private final double parameterReal;
+	private final double parameterImaginary;
+
+	public JuliaKernel( double parameterReal, double parameterImaginary ) {
+		/**
+		 * Constructor for the JuliaKernel object.
+		 *
+		 * @param	parameterReal		The real part of c
+		 * @param	parameterImaginary	The imaginary part of c
+		 */
+		this.parameterReal = parameterReal;
+		this.parameterImaginary = parameterImaginary;
+	}
+
+	public double getParameterReal() {
+		/**
+		 * Gets the real part of c.
+		 *
+		 * @return	The real part of c
+		 */
+		return parameterReal;
+	}
+
+	public double getParameterImaginary() {
+		/**
+		 * Gets the imaginary part of c.
+		 *
+		 * @return	The imaginary part of c
+		 */
+		return parameterImaginary;
+	}
+
+	public boolean isInterior( double cx, double cy ) {
+		/**
+		 * Julia sets have no shape that is known to be inside, so every
+		 * point gets iterated.
+		 *
+		 * @param	cx	The real part of the point
+		 * @param	cy	The imaginary part of the point
+		 * @return		Always false
+		 */
+		return false;
+	}
+
+	public double getBailout( boolean smooth ) {
+		/**
+		 * Gets the sum of squares at which an orbit counts as escaped.
+		 * It needs to be at least 4 and at least |c| + 2 squared, which
+		 * only matters for a c far outside the Mandelbrot Set.
+		 *
+		 * @param	smooth	True for smooth iterations, which need a larger bailout
+		 * @return		The bailout
+		 */
+		double radius = Math.sqrt( ( parameterReal * parameterReal ) + ( parameterImaginary * parameterImaginary ) ) + 2.0d;
+		return Math.max( smooth ? 256 : 4, radius * radius );
+	}
+
+	public double smooth( int iteration, double sumOfSquares ) {
+		/**
+		 * Turns the iterations of an escaped orbit into smooth iterations.
+		 *
+		 * @param	iteration		The number of iterations
+		 * @param	sumOfSquares	The sum of squares of the last position
+		 * @return		The smooth iterations
+		 */
+		double logzn = Math.log( sumOfSquares );
+		double nu = Math.log( logzn / MandelbrotAlgorithm.LOG_OF_TWO ) / MandelbrotAlgorithm.LOG_OF_TWO;
+		return iteration + 1.0d - nu;
+	}
+
+	public double iterate( double cx, double cy, int limit, boolean smooth, double tolerance ) {
+		/**
+		 * Iterates a point, with the pixel as the start of the orbit.
+		 *
+		 * @param	cx			The real part of the point
+		 * @param	cy			The imaginary part of the point
+		 * @param	limit		The maximum amount of iterations
+		 * @param	smooth		True for smooth iterations
+		 * @param	tolerance	Orbit closeness for periodicity, or 0 for no checking
+		 * @return		The number of iterations until the orbit escaped or
+		 * 				reached the limit, or -1 if the orbit is periodic
+		 */
+		double bailout = getBailout( smooth );
+		double parameterX = parameterReal;
+		double parameterY = parameterImaginary;
+		double x = cx;
+		double y = cy;
+		double xSquared = x * x;
+		double ySquared = y * y;
+		double savedX = x;
+		double savedY = y;
+		int steps = 0;
+		int stepLimit = 1;
+		int iteration = 0;
+
+		if ( tolerance > 0 ) {
+			while ( xSquared + ySquared < bailout && iteration < limit ) {
+				y = ( 2.0d * x * y ) + parameterY;
+				x = xSquared - ySquared + parameterX;
+				xSquared = x * x;
+				ySquared = y * y;
+				iteration++;
+				if ( Math.abs( x - savedX ) < tolerance && Math.abs( y - savedY ) < tolerance ) {
+					return -1;
+				}
+				steps++;
+				if ( steps == stepLimit ) {
+					steps = 0;
+					stepLimit <<= 1;
+					savedX = x;
+					savedY = y;
+				}
+			}
+		} else {
+			while ( xSquared + ySquared < bailout && iteration < limit ) {
+				y = ( 2.0d * x * y ) + parameterY;
+				x = xSquared - ySquared + parameterX;
+				xSquared = x * x;
+				ySquared = y * y;
+				iteration++;
+			}
+		}
+		if ( smooth && iteration < limit ) {
+			return smooth( iteration, xSquared + ySquared );
+		}
+		return iteration;
+	}
+
+	@Override
+	public String toString() {
+		/**
+		 * Names the fractal, for the output and the journals.
+		 *
+		 * @return	The name and c
+		 */
+		return "julia " + parameterReal + " " + parameterImaginary;
+	}
+}
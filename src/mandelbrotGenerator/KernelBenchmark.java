@@ -0,0 +1,225 @@
+/**
+* This is a small benchmark that compares the plain double kernel of the
+* MandelbrotAlgorithm against the loop it replaced.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public class KernelBenchmark {
+	/**
+	 * Benchmark class. Both kernels iterate every pixel of a picture of
+	 * the default size, without the tiles and threads around them, so
+	 * only the cost of the kernels themselves is measured. Each one is
+	 * warmed up first to give the JIT compiler time to settle, and then
+	 * timed over a number of rounds, the way JMH does it.
+	 *
+	 * Run it with
+	 * java mandelbrotGenerator.KernelBenchmark [real imaginary zoomLevel]
+	 */
+	public static final int WARMUP_ROUNDS = 5;
+	public static final int MEASURED_ROUNDS = 10;
+	private final int width = (int)MainWindow.DEFAULT_SIZE.getX();
+	private final int height = (int)MainWindow.DEFAULT_SIZE.getY();
+	private final int maxIterations = MainWindow.ITERATIONS;
+	private final MathMatrix transformation;
+	private final MandelbrotKernel kernel = new MandelbrotKernel();
+	private final double tolerance;
+
+	public KernelBenchmark( double centerReal, double centerImaginary, int zoomLevel ) {
+		/**
+		 * Constructor for the KernelBenchmark object.
+		 *
+		 * @param	centerReal		The real part of the center of the picture
+		 * @param	centerImaginary	The imaginary part of the center of the picture
+		 * @param	zoomLevel		The zoom level, as in the MainWindow
+		 */
+		double scale = 3.0d / width / Math.pow( 2, zoomLevel - 1 );
+		double[][] matrix =	{{scale, 0, 0, centerReal - ( scale * width / 2.0d )},
+							{0, scale, 0, centerImaginary - ( scale * height / 2.0d )},
+							{0, 0, 1, 0},
+							{0, 0, 0, 1}};
+		transformation = new MathMatrix( matrix );
+		tolerance = scale * MandelbrotAlgorithm.PERIODICITY_TOLERANCE;
+	}
+
+	public static void main( String[] args ) {
+		/**
+		 * Main function.
+		 *
+		 * @param	args	The center and the zoom level, or none for the whole set
+		 */
+		KernelBenchmark benchmark;
+
+		if ( args.length == 3 ) {
+			benchmark = new KernelBenchmark( Double.parseDouble( args[0] ), Double.parseDouble( args[1] ),
+					Integer.parseInt( args[2] ) );
+		} else {
+			benchmark = new KernelBenchmark( -0.5d, 0, 1 );
+		}
+		System.out.println( "Benchmark          Rounds     Score     Error  Units" );
+		benchmark.run( "vectorLoop", false );
+		benchmark.run( "affineKernel", true );
+	}
+
+	private void run( String name, boolean affine ) {
+		/**
+		 * Warms up and times one of the kernels, and prints the mean time
+		 * per picture with its 99.9% confidence interval.
+		 *
+		 * @param	name	The name to print
+		 * @param	affine	True for the current kernel, false for the old loop
+		 */
+		double[] times = new double[ MEASURED_ROUNDS ];
+		double checksum = 0;
+		double mean = 0;
+		double variance = 0;
+		long start;
+
+		for ( int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++ ) {
+			start = System.nanoTime();
+			checksum += affine ? affineKernel() : vectorLoop();
+			if ( round >= WARMUP_ROUNDS ) {
+				times[ round - WARMUP_ROUNDS ] = ( System.nanoTime() - start ) / 1.0e6d;
+			}
+		}
+		for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+			mean += times[i] / MEASURED_ROUNDS;
+		}
+		for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+			variance += ( times[i] - mean ) * ( times[i] - mean ) / ( MEASURED_ROUNDS - 1 );
+		}
+		// 4.78 is Student's t for 99.9% and 9 degrees of freedom, as JMH reports it
+		System.out.println( String.format( "%-18s %6d %9.3f %9.3f  ms/op   (checksum %.6e)", name, MEASURED_ROUNDS,
+				mean, 4.78d * Math.sqrt( variance / MEASURED_ROUNDS ), checksum ) );
+	}
+
+	private double affineKernel() {
+		/**
+		 * Iterates the picture the way the MandelbrotAlgorithm does now: the
+		 * affine step is taken from the transformation once, each row is
+		 * walked by adding it, and the orbit lives in local variables.
+		 *
+		 * @return	The sum of the smooth iterations, so none of the work is left out
+		 */
+		double stepReal = transformation.get( 0, 0 );
+		double stepImaginary = transformation.get( 0, 1 );
+		double sum = 0;
+		double pointReal;
+		double pointImaginary;
+		double iteration;
+
+		for ( int py = 0; py < height; py++ ) {
+			pointReal = ( py * transformation.get( 1, 0 ) ) + transformation.get( 3, 0 );
+			pointImaginary = ( py * transformation.get( 1, 1 ) ) + transformation.get( 3, 1 );
+			for ( int px = 0; px < width; px++ ) {
+				if ( MandelbrotAlgorithm.isInMainCardioidOrBulb( pointReal, pointImaginary ) ) {
+					iteration = maxIterations;
+				} else {
+					iteration = kernel.iterate( pointReal, pointImaginary, maxIterations, true, tolerance );
+					if ( iteration < 0 ) {
+						iteration = maxIterations;
+					}
+				}
+				sum += iteration;
+				pointReal += stepReal;
+				pointImaginary += stepImaginary;
+			}
+		}
+		return sum;
+	}
+
+	private double vectorLoop() {
+		/**
+		 * Iterates the picture the way the MandelbrotAlgorithm used to: every
+		 * pixel goes through a full matrix multiply, and the orbit is read
+		 * and written through a MathVector.
+		 *
+		 * @return	The sum of the smooth iterations, so none of the work is left out
+		 */
+		MathVector cartesian = new MathVector( 0, 0, 0 );
+		MathVector position = new MathVector( 0, 0, 0 );
+		double sum = 0;
+		double iterationReal;
+		double xtemp;
+
+		for ( int py = 0; py < height; py++ ) {
+			for ( int px = 0; px < width; px++ ) {
+				cartesian.setX( px );
+				cartesian.setY( py );
+				cartesian.multiply( transformation );
+				if ( MandelbrotAlgorithm.isInMainCardioidOrBulb( cartesian.getX(), cartesian.getY() ) ) {
+					sum += maxIterations;
+					continue;
+				}
+				position.clear();
+				iterationReal = iteratePeriodic( cartesian, position, 256, maxIterations );
+				if ( iterationReal < 0 ) {
+					iterationReal = maxIterations;
+				}
+				while ( position.getSumOfSquares() < 256 && iterationReal < maxIterations ) {
+					xtemp = position.getX()*position.getX() - position.getY()*position.getY() + cartesian.getX();
+					position.setY((2.0d * position.getX() * position.getY()) + cartesian.getY());
+					position.setX(xtemp);
+					iterationReal += 1.0d;
+				}
+				if ( iterationReal < maxIterations ) {
+					iterationReal = iterationReal + 1.0d
+							- Math.log( Math.log( position.getSumOfSquares() ) / MandelbrotAlgorithm.LOG_OF_TWO )
+							/ MandelbrotAlgorithm.LOG_OF_TWO;
+				}
+				sum += iterationReal;
+			}
+		}
+		return sum;
+	}
+
+	private int iteratePeriodic( MathVector point, MathVector position, double bailout, int limit ) {
+		/**
+		 * The periodicity check of the old loop, which starts from the
+		 * vectors and writes the last position back to one of them.
+		 *
+		 * @param	point		The point to iterate
+		 * @param	position	Receives the last position of the orbit
+		 * @param	bailout		The sum of squares at which the orbit escapes
+		 * @param	limit		The maximum amount of iterations
+		 * @return		The number of iterations until the orbit escaped or
+		 * 				reached the limit, or -1 if the orbit is periodic
+		 */
+		double cx = point.getX();
+		double cy = point.getY();
+		double x = position.getX();
+		double y = position.getY();
+		double xSquared = x * x;
+		double ySquared = y * y;
+		double savedX = x;
+		double savedY = y;
+		int steps = 0;
+		int stepLimit = 1;
+		int iteration = 0;
+
+		while ( xSquared + ySquared < bailout && iteration < limit ) {
+			y = ( 2.0d * x * y ) + cy;
+			x = xSquared - ySquared + cx;
+			xSquared = x * x;
+			ySquared = y * y;
+			iteration++;
+			if ( Math.abs( x - savedX ) < tolerance && Math.abs( y - savedY ) < tolerance ) {
+				return -1;
+			}
+			steps++;
+			if ( steps == stepLimit ) {
+				steps = 0;
+				stepLimit <<= 1;
+				savedX = x;
+				savedY = y;
+			}
+		}
+		position.setX( x );
+		position.setY( y );
+		return iteration;
+	}
+}
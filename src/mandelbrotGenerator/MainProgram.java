@@ -18,9 +18,12 @@ public class MainProgram {
 		/**
 		 * Main function.
 		 *
-		 * @param  args			Program arguments, although there are none.
+		 * @param  args			Options for the BatchRenderer, or none for the window.
 		 */
-		// TODO Auto-generated method stub
+		if ( args.length > 0 ) {
+			BatchRenderer.main( args );
+			return;
+		}
 		MainWindow mainWindow = new MainWindow();
 		mainWindow.printAuthorMessage();
 	}
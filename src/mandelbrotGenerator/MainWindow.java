@@ -16,6 +16,9 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
 import java.awt.image.BufferedImage;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
 
 import javax.swing.BoxLayout;
 import javax.swing.JFrame;
@@ -26,7 +29,7 @@ import javax.swing.border.BevelBorder;
 
 
 public class MainWindow extends JFrame
-	implements MouseMotionListener, MouseWheelListener {
+	implements MouseMotionListener, MouseWheelListener, RenderView {
 	/**
 	 * The main window that contains the functions for producing the
 	 * Mandelbrot set and creating the pictures.
@@ -34,8 +37,9 @@ public class MainWindow extends JFrame
 	private static final long serialVersionUID = 1L;
 	// Constants
 	public static final String WINDOW_TITLE = "Mandelbrot Set Explorer";
-	public static final int STATUS_BAR_HEIGHT = 64;
+	public static final int STATUS_BAR_HEIGHT = 80;
 	public static final int ITERATIONS = 5000;
+	public static final int COLOR_LOOPS = 80;
 	public static final MathVector DEFAULT_SIZE = new MathVector( 720, 480, 0 );
 	public static final MathVector DEFAULT_ORIGIN = new MathVector( DEFAULT_SIZE );
 	public static MathVector VIEW_SIZE;
@@ -44,20 +48,25 @@ public class MainWindow extends JFrame
 	private MathMatrix viewMatrix;		// World to camera coordinates
 	private MathMatrix modelMatrix;		// World to Mandelbrot coordinates
 	private MathMatrix reverseModelMatrix;	// Mandelbrot to world coordinates
-	private MathMatrix combinedMatrix;
+	private volatile MathMatrix combinedMatrix;	// Read by the render thread, only replaced once complete
 	private int zoomLevel = 1;
 	private MathVector center = new MathVector( 0, 0, 0 );
+	private volatile BigDecimal centerReal;		// Exact center, the doubles above run out of digits when zoomed in deep
+	private volatile BigDecimal centerImaginary;
 	private MathVector mouseLocation = new MathVector( 0, 0, 0 );
 	private MathVector cartesian = new MathVector( 0, 0, 0 );
+	private final RenderEngine renderEngine = new RenderEngine();	// Shared with anything else rendering in this program
 	private Painter painter;
 	private JPanel statusBar;
 	private JLabel statusMessageX;
 	private JLabel statusMessageY;
 	private JLabel statusMessageZoom;
 	private JLabel statusMessageIterations;
+	private JLabel statusMessageRender;
 	private ProgramMenu programMenu;
 	private CoordinateInputDialog inputDialog;
-	private int colorLoops = 80;
+	private SettingsDialog settingsDialog;
+	private int colorLoops = COLOR_LOOPS;
 	//private DecimalFormat coordinateFormatter;
 
 	// Methods
@@ -93,6 +102,8 @@ public class MainWindow extends JFrame
 		center = new MathVector( DEFAULT_SIZE );
 		center.divide( 2d );
 		center.multiply( combinedMatrix );
+		centerReal = new BigDecimal( center.getX() );
+		centerImaginary = new BigDecimal( center.getY() );
 
 		// create the main window and make sure it closes as it should
 		setLayout( new BorderLayout() );
@@ -118,20 +129,25 @@ public class MainWindow extends JFrame
 		statusMessageY = new JLabel( "by Jehrick Robertson" );
 		statusMessageZoom = new JLabel( "June 8, 2017" );
 		statusMessageIterations = new JLabel( "" );
+		statusMessageRender = new JLabel( "" );
 		statusMessageX.setHorizontalAlignment( SwingConstants.LEFT );
 		statusMessageY.setHorizontalAlignment( SwingConstants.LEFT );
 		statusMessageZoom.setHorizontalAlignment( SwingConstants.LEFT );
 		statusMessageIterations.setHorizontalAlignment( SwingConstants.LEFT );
+		statusMessageRender.setHorizontalAlignment( SwingConstants.LEFT );
 		statusBar.add( statusMessageX, BorderLayout.SOUTH);
 		statusBar.add( statusMessageY, BorderLayout.SOUTH);
 		statusBar.add( statusMessageZoom, BorderLayout.SOUTH);
 		statusBar.add( statusMessageIterations, BorderLayout.SOUTH);
+		statusBar.add( statusMessageRender, BorderLayout.SOUTH);
 		add( statusBar, BorderLayout.SOUTH );
 		inputDialog = new CoordinateInputDialog( this );
+		settingsDialog = new SettingsDialog( this );
 
 		//show the window
 		setVisible( true );
 		setSize( (int)DEFAULT_SIZE.getX(), (int)DEFAULT_SIZE.getY() + STATUS_BAR_HEIGHT + STATUS_BAR_HEIGHT );
+		requestRender();
 	}
 
 	private void updateStatusBar() {
@@ -142,12 +158,30 @@ public class MainWindow extends JFrame
         statusMessageY.setText( "Y coordinate:\t " + cartesian.getY() );
         if (zoomLevel == 1) {
             statusMessageZoom.setText( "Full size" );
+        } else if (zoomLevel > 63) {
+            statusMessageZoom.setText( "Zoomed in by 2^" + (zoomLevel - 1) );
         } else {
             statusMessageZoom.setText( "Zoomed in by " + (long)Math.pow( 2, zoomLevel - 1) );
         }
         statusMessageIterations.setText( "Iterations for current location:\t " + painter.getIterations( mouseX, mouseY ) );
 	}
 
+	public void updateRenderStatus() {
+		/**
+		 * Updates the status bar with the statistics of the last render.
+		 * Meant to be called on the Event Dispatch Thread once a render is done.
+		 */
+		MandelbrotAlgorithm mandelbrotSet = painter.getMandelbrotSet();
+		statusMessageRender.setText( "Maximum iterations:\t " + mandelbrotSet.getMaxIterations()
+				+ "\t Pixels inside the cardioid or bulb:\t " + mandelbrotSet.getInteriorPixelCount()
+				+ "\t Periodic pixels:\t " + mandelbrotSet.getPeriodicPixelCount()
+				+ "\t Filled or guessed pixels:\t " + mandelbrotSet.getFilledPixelCount()
+				+ ( mandelbrotSet.hasSamples() ? "\t Supersampled pixels:\t " + mandelbrotSet.getSupersampledPixelCount() : "" )
+				+ ( mandelbrotSet.getReferenceCount() > 0 ? "\t Reference orbits:\t " + mandelbrotSet.getReferenceCount()
+						+ "\t Glitched pixels:\t " + mandelbrotSet.getGlitchedPixelCount() : "" ) );
+		updateStatusBar();
+	}
+
 	public void printAuthorMessage() {
 		System.out.println( "********************************************************************************" );
 		System.out.println( "*                                                                              *" );
@@ -172,9 +206,9 @@ public class MainWindow extends JFrame
 			mouseY = py;
 			mouseLocation.setX( mouseX );
 			mouseLocation.setY( mouseY );
-			cartesian.setX(px);
-			cartesian.setY(py);
-			cartesian.multiply( combinedMatrix );
+			// measured from the exact center, which keeps its digits when zoomed in deep
+			cartesian.setX( centerReal.doubleValue() + ( combinedMatrix.get( 0, 0 ) * ( px - DEFAULT_SIZE.getX() / 2d ) ) );
+			cartesian.setY( centerImaginary.doubleValue() + ( combinedMatrix.get( 1, 1 ) * ( py - DEFAULT_SIZE.getY() / 2d ) ) );
 
 			// Format the numbers so that the locations aren't
 			updateStatusBar();
@@ -191,6 +225,26 @@ public class MainWindow extends JFrame
 		return center;
 	}
 
+	public BigDecimal getCenterReal() {
+		/**
+		 * Returns the real part of the center coordinate of the screen,
+		 * with as many digits as the zoom level needs.
+		 *
+		 * @return	The exact real part of the center
+		 */
+		return centerReal;
+	}
+
+	public BigDecimal getCenterImaginary() {
+		/**
+		 * Returns the imaginary part of the center coordinate of the
+		 * screen, with as many digits as the zoom level needs.
+		 *
+		 * @return	The exact imaginary part of the center
+		 */
+		return centerImaginary;
+	}
+
 	public int getZoomLevel() {
 		/**
 		 * Returns the zoom level
@@ -220,13 +274,36 @@ public class MainWindow extends JFrame
 		 * @param	py		Vertical location of the zoom point
 		 * @param	zoomAmount	The absolute zoom level
 		 */
-		MathVector zoomPoint = new MathVector( (double)px, (double)py, 0 );
+		absoluteZoom( new BigDecimal( px ), new BigDecimal( py ), BigInteger.valueOf( zoomAmount ) );
+	}
+
+	public void absoluteZoom( BigDecimal px, BigDecimal py, BigInteger zoomAmount ) {
+		/**
+		 * Calculates the zooming coordinates given the absolute zoom
+		 * level, with the zoom point kept to every digit it was given.
+		 *
+		 * @param	px		Horizontal location of the zoom point
+		 * @param	py		Vertical location of the zoom point
+		 * @param	zoomAmount	The absolute zoom level
+		 */
+		//set the zoom factor, rounded down to a power of two
+		zoomLevel = Math.max( zoomAmount.bitLength() - 1, 0 );
+		centerReal = px;
+		centerImaginary = py;
+		updateViewMatrix();
+		updateStatusBar();
+		requestRender();
+	}
+
+	private void updateViewMatrix() {
+		/**
+		 * Configures the view matrix so that the exact center ends up in
+		 * the middle of the screen at the current zoom level.
+		 */
+		MathVector zoomPoint = new MathVector( centerReal.doubleValue(), centerImaginary.doubleValue(), 0 );
 		zoomPoint.multiply( reverseModelMatrix );
 		MathVector zoomDimensions = new MathVector( 0, 0, 0 );
 
-		//set the zoom factor
-		zoomLevel = (int)Math.floor( Math.log( zoomAmount ) / Math.log( 2 ) );
-
 		//calculate the zoom point coordinates
 		zoomDimensions.setX( DEFAULT_SIZE.getX() / (2d * Math.pow( 2, zoomLevel - 1 ) ) );
 		zoomDimensions.setY( DEFAULT_SIZE.getY() / (2d * Math.pow( 2, zoomLevel - 1 ) ) );
@@ -236,14 +313,21 @@ public class MainWindow extends JFrame
 		viewMatrix.set( 1, 1, 1.0d/Math.pow( 2, zoomLevel - 1)  );
 		viewMatrix.set( 3, 0, zoomPoint.getX() - zoomDimensions.getX() );
 		viewMatrix.set( 3, 1, zoomPoint.getY() - zoomDimensions.getY() );
-		combinedMatrix = new MathMatrix( modelMatrix );
-		combinedMatrix.multiply( viewMatrix );
-		center = new MathVector( DEFAULT_SIZE );
-		center.divide( 2d );
-		center.multiply( combinedMatrix );
-		updateStatusBar();
+		MathMatrix newCombinedMatrix = new MathMatrix( modelMatrix );
+		newCombinedMatrix.multiply( viewMatrix );
+		combinedMatrix = newCombinedMatrix;
+		center = new MathVector( centerReal.doubleValue(), centerImaginary.doubleValue(), 0 );
+	}
+
+	private void requestRender() {
+		/**
+		 * Asks for the Mandelbrot image of the current view to be generated.
+		 * Whatever is still being generated for an older view is cancelled,
+		 * and requests that come in before the render gets to run, such as
+		 * a quick turn of the mouse wheel, are collapsed into a single one.
+		 * The image is generated in the background and shows up tile by tile.
+		 */
 		painter.generateMandelbrotImage();
-		painter.repaint();
 	}
 
 	private void calculateZoom( int px, int py, boolean direction ) {
@@ -256,9 +340,14 @@ public class MainWindow extends JFrame
 		 * @param	direction	Direction of the zoom
 		 */
 		if( px < (int)DEFAULT_SIZE.getX() && py < (int)DEFAULT_SIZE.getY() ) {
-			MathVector zoomPoint = new MathVector( (double)px, (double)py, 0 );
-			zoomPoint.multiply( viewMatrix );
-			MathVector zoomDimensions = new MathVector( 0, 0, 0 );
+			// move the exact center to the zoom point, the offset is worked out without rounding
+			BigDecimal offsetX = new BigDecimal( px - DEFAULT_SIZE.getX() / 2d );
+			BigDecimal offsetY = new BigDecimal( py - DEFAULT_SIZE.getY() / 2d );
+			MathContext context;
+			BigDecimal newCenterReal = centerReal.add( offsetX.multiply( new BigDecimal( combinedMatrix.get( 0, 0 ) ) ) )
+					.add( offsetY.multiply( new BigDecimal( combinedMatrix.get( 1, 0 ) ) ) );
+			BigDecimal newCenterImaginary = centerImaginary.add( offsetX.multiply( new BigDecimal( combinedMatrix.get( 0, 1 ) ) ) )
+					.add( offsetY.multiply( new BigDecimal( combinedMatrix.get( 1, 1 ) ) ) );
 			//increase the zoom factor
 			if ( direction == true ) {
 				zoomLevel++;
@@ -266,23 +355,14 @@ public class MainWindow extends JFrame
 				if (zoomLevel != 1)
 				zoomLevel--;
 			}
-			//calculate the zoom point coordinates
-			zoomDimensions.setX( DEFAULT_SIZE.getX() / (2d * Math.pow( 2, zoomLevel - 1) ) );
-			zoomDimensions.setY( DEFAULT_SIZE.getY() / (2d * Math.pow( 2, zoomLevel - 1) ) );
-			//configure the view matrix
-			viewMatrix.set( 0, 0, 1.0d/Math.pow( 2, zoomLevel - 1) );
-			viewMatrix.set( 1, 1, 1.0d/Math.pow( 2, zoomLevel - 1)  );
-			viewMatrix.set( 3, 0, zoomPoint.getX() - zoomDimensions.getX() );
-			viewMatrix.set( 3, 1, zoomPoint.getY() - zoomDimensions.getY() );
-			combinedMatrix = new MathMatrix( modelMatrix );
-			combinedMatrix.multiply( viewMatrix );
-			center = new MathVector( DEFAULT_SIZE );
-			center.divide( 2d );
-			center.multiply( combinedMatrix );
+			// keep enough digits for the new zoom level, and not all the ones that piled up
+			context = new MathContext( FixedPoint.getDigits(
+					FixedPoint.getLimbs( modelMatrix.get( 0, 0 ) / Math.pow( 2, zoomLevel - 1 ) ) ) );
+			centerReal = newCenterReal.round( context );
+			centerImaginary = newCenterImaginary.round( context );
+			updateViewMatrix();
 			updateStatusBar();
-			painter.generateMandelbrotImage();
-			painter.repaint();
-			//repaint
+			requestRender();
 		}
 	}
 
@@ -295,6 +375,15 @@ public class MainWindow extends JFrame
 		return colorLoops;
 	}
 
+	public RenderEngine getRenderEngine() {
+		/**
+		 * Gets the engine the pictures are rendered with.
+		 *
+		 * @return	The render engine
+		 */
+		return renderEngine;
+	}
+
 	public void showCoordinateInputDialog() {
 		/**
 		 * Shows the dialog for entering Mandelbrot coordinates.
@@ -303,6 +392,102 @@ public class MainWindow extends JFrame
     	inputDialog.setVisible( true );
 	}
 
+	public void showSettingsDialog() {
+		/**
+		 * Shows the dialog for the program settings.
+		 */
+		settingsDialog.updateSettings();
+		settingsDialog.setVisible( true );
+	}
+
+	public MandelbrotAlgorithm getMandelbrotSet() {
+		/**
+		 * Gets the algorithm that generates the Mandelbrot iterations.
+		 *
+		 * @return	the Mandelbrot algorithm
+		 */
+		return painter.getMandelbrotSet();
+	}
+
+	public void setIterations( boolean adaptive, int iterationLimit ) {
+		/**
+		 * Sets how many iterations the pixels get, and renders the picture
+		 * again with them.
+		 *
+		 * @param	adaptive		True to pick the iterations for every picture
+		 * @param	iterationLimit	The iterations of every picture, if they aren't adaptive
+		 */
+		MandelbrotAlgorithm mandelbrotSet = painter.getMandelbrotSet();
+		mandelbrotSet.setAdaptiveIterations( adaptive );
+		if ( !adaptive ) {
+			mandelbrotSet.setIterationLimit( iterationLimit );
+		}
+		requestRender();
+	}
+
+	public void setAntialiasing( boolean antialiasing ) {
+		/**
+		 * Turns the antialiasing on or off, and renders the picture again
+		 * if it changed. The edges are supersampled right away, and every
+		 * pixel keeps getting samples added while the view stays put.
+		 *
+		 * @param	antialiasing	True to antialias the picture
+		 */
+		MandelbrotAlgorithm mandelbrotSet = painter.getMandelbrotSet();
+		painter.setIdleSampling( antialiasing );
+		if ( mandelbrotSet.isAntialiasing() != antialiasing ) {
+			mandelbrotSet.setAntialiasing( antialiasing );
+			requestRender();
+		}
+	}
+
+	public void setPrecision( Precision precision ) {
+		/**
+		 * Sets the precision the pixels are calculated with, and renders
+		 * the picture again if it changed.
+		 *
+		 * @param	precision	The precision, see MandelbrotAlgorithm.setPrecision
+		 */
+		MandelbrotAlgorithm mandelbrotSet = painter.getMandelbrotSet();
+		if ( mandelbrotSet.getPrecision() != precision ) {
+			mandelbrotSet.setPrecision( precision );
+			requestRender();
+		}
+	}
+
+	public void setRenderStrategy( RenderStrategy renderStrategy ) {
+		/**
+		 * Sets the way the picture is walked, and renders the picture
+		 * again if it changed.
+		 *
+		 * @param	renderStrategy	The render strategy, see MandelbrotAlgorithm.setRenderStrategy
+		 */
+		MandelbrotAlgorithm mandelbrotSet = painter.getMandelbrotSet();
+		if ( mandelbrotSet.getRenderStrategy() != renderStrategy ) {
+			mandelbrotSet.setRenderStrategy( renderStrategy );
+			requestRender();
+		}
+	}
+
+	public void setDistanceEstimation( boolean distanceEstimation, boolean diskFilling ) {
+		/**
+		 * Turns the distance estimation and the disk filling on or off,
+		 * and renders the picture again if they changed. With distance
+		 * estimation, the picture shows the boundary of the set as a
+		 * line instead of the colors of the iterations.
+		 *
+		 * @param	distanceEstimation	True to color the picture by the distances to the set
+		 * @param	diskFilling			True to fill disks around the pixels far from the set
+		 */
+		MandelbrotAlgorithm mandelbrotSet = painter.getMandelbrotSet();
+		if ( mandelbrotSet.isDistanceEstimation() != distanceEstimation
+				|| mandelbrotSet.isDiskFilling() != diskFilling ) {
+			mandelbrotSet.setDistanceEstimation( distanceEstimation );
+			mandelbrotSet.setDiskFilling( diskFilling );
+			requestRender();
+		}
+	}
+
 	public void hideCoordinateInputDialog() {
 		/**
 		 * Hides the dialog for entering Mandelbrot coordinates.
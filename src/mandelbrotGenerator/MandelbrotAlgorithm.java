@@ -8,7 +8,10 @@
 
 package mandelbrotGenerator;
 
-import java.util.ArrayList;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class MandelbrotAlgorithm {
 	/**
@@ -16,26 +19,145 @@ public class MandelbrotAlgorithm {
 	 */
 
 	public static final double LOG_OF_TWO = 0.6931471805599453;
-	private MainWindow owner;
-	private MathVector cartesian = new MathVector( 0, 0, 0 );	// Mandelbrot coordinate vector
-	private MathVector position;								// Current position for mandelbrot calculation
-	private int iteration;										// Mandelbrot iteration counter
-	private double iterationReal;								// Mandelbrot iteration counter, double
+	public static final double PERIODICITY_TOLERANCE = 0.001d;	// Orbit closeness for periodicity, in pixels
+	public static final int GUESSING_STEP = 8;					// Pixel spacing of the first solid guessing pass
+	public static final double FLOAT_SPACING = 1.0e-4d;		// Pixel spacing below which floats run out of digits
+	public static final double DOUBLE_SPACING = 1.0e-12d;		// Pixel spacing below which doubles run out of digits
+	public static final double GLITCH_TOLERANCE = 1.0e-6d;		// Squared orbit to reference ratio that marks a glitch
+	public static final int MAX_REFERENCES = 32;				// Reference orbits per picture, the main one included
+	public static final int MIN_ITERATIONS = 256;				// Fewest iterations an adaptive frame gets
+	public static final int MAX_ADAPTIVE_ITERATIONS = 200000;	// Most iterations an adaptive frame gets
+	public static final int ITERATIONS_PER_ZOOM_LEVEL = 50;		// Adaptive iterations added for every halving of the pixel spacing
+	public static final int ITERATION_SAMPLES = 32;				// Pixels sampled across and down for the adaptive iterations
+	public static final int ITERATION_HEADROOM = 2;				// Adaptive iterations over the slowest escape that was sampled
+	public static final double DISTANCE_BAILOUT = 1.0e10d;		// Sum of squares an escaped orbit is carried on to for its distance
+	public static final int DISTANCE_STEPS = 32;				// Most iterations an escaped orbit is carried on for its distance
+	public static final double FILL_DISTANCE = 2.0d;			// Distance to the set, in pixels, that filled pixels are kept from
+	public static final int SUPERSAMPLING_GRID = 4;				// Subsamples across and down a supersampled pixel
+	public static final int SUPERSAMPLES = SUPERSAMPLING_GRID * SUPERSAMPLING_GRID;
+	public static final double EDGE_ITERATIONS = 4.0d;			// Iterations between neighbours that make an edge, a 16th of a default color loop
+	public static final double EDGE_DISTANCE = 1.0d;			// Distance to the set, in pixels, that makes an edge to supersample
+	private static final int[] NEIGHBOUR_X = { -1, 1, 0, 0 };	// Offsets of the four neighbours of a pixel
+	private static final int[] NEIGHBOUR_Y = { 0, 0, -1, 1 };
+	private RenderView view;									// Part of the plane to generate
+	private int iterationLimit = MainWindow.ITERATIONS;			// Iterations of every frame when they aren't adaptive
+	private boolean adaptiveIterations = true;
 	private int maxIterations = MainWindow.ITERATIONS;			// Maximum amount of iterations allowed
 	private double maxIterationsReal = (double)MainWindow.ITERATIONS;			// Maximum amount of iterations allowed, double
-	private ArrayList<Integer> iterationList;					// Number of iterations for each pixel
-	private ArrayList<Double> iterationListReal;				// Number of iterations for each pixel
+	private MathMatrix transformation;							// Pixel to Mandelbrot coordinates for the current frame
+	private double originReal;									// Mandelbrot coordinates of pixel (0, 0)
+	private double originImaginary;
+	private double stepRealX;									// Change in the Mandelbrot coordinates from one pixel to the right
+	private double stepImaginaryX;
+	private double stepRealY;									// Change in the Mandelbrot coordinates from one pixel down
+	private double stepImaginaryY;
+	private BigDecimal centerReal;								// Exact center of the current frame, real part
+	private BigDecimal centerImaginary;							// Exact center of the current frame, imaginary part
+	private double centerRealValue;								// Center of the current frame in doubles, real part
+	private double centerImaginaryValue;						// Center of the current frame in doubles, imaginary part
+	private TileRenderer tileRenderer;
+	private final AtomicLong interiorPixels = new AtomicLong();	// Pixels skipped by the cardioid and bulb check
+	private final AtomicLong periodicPixels = new AtomicLong();	// Pixels found to be periodic
+	private final AtomicLong filledPixels = new AtomicLong();	// Pixels filled in without iterating them
+	private final AtomicLong glitchedPixels = new AtomicLong();	// Pixels that needed another reference orbit
+	private final AtomicLong supersampledPixels = new AtomicLong();	// Edge pixels that got subsamples
+	private RenderStrategy renderStrategy = RenderStrategy.BRUTE_FORCE;
+	private boolean periodicityChecking = true;
+	private double periodicityTolerance;						// Orbit closeness for periodicity, in Mandelbrot units
+	private double pixelSpacing;								// Distance between two pixels of the current frame
+	private boolean distanceEstimation = false;
+	private boolean diskFilling = true;
+	private boolean distanceFrame;								// True if the current frame estimates distances
+	private boolean antialiasing = false;
+	private boolean supersampling;								// True while only the subsamples are generated
+	private boolean sampleFrame;								// True if the current frame has subsamples
+	private int samplingPass;									// Sample pass being generated, 0 for none
+	private long frameEpoch;									// Epoch of the current frame
+	private Precision precision = Precision.AUTOMATIC;
+	private FractalKernel kernel = new MandelbrotKernel();
+	private FractalKernel frameKernel = kernel;					// Kernel picked for the current frame
+	private Precision framePrecision = Precision.DOUBLE;		// Precision picked for the current frame
+	private DoubleDoubleMatrix preciseTransformation;			// Pixel to Mandelbrot coordinates in double-double
+	private int numLimbs;										// Fixed point limbs the current frame needs
+	private FixedPoint fixedCenterReal;							// Center of the current frame in fixed point
+	private FixedPoint fixedCenterImaginary;
+	private ReferenceOrbit referenceOrbit;						// Orbit the pixels are currently iterated against
+	private int referenceCount;									// Reference orbits used by the current frame
+	private boolean correctingGlitches;							// True while only glitched pixels are generated
+	private boolean glitchDetection;							// False for the last pass, which takes what it gets
+	private IterationBuffer iterationBuffer;					// Number of iterations for each pixel
 	private int height;
 	private int width;
 	private boolean smooth = true;
 
-	public MandelbrotAlgorithm( MainWindow owner ) {
-		this.owner = owner;
-		iterationList = new ArrayList<Integer>();
-		iterationListReal = new ArrayList<Double>();
-		position = new MathVector( 0, 0, 0 );
-		width = (int)MainWindow.DEFAULT_SIZE.getX();
-		height = (int)MainWindow.DEFAULT_SIZE.getY();
+	public MandelbrotAlgorithm( RenderView view ) {
+		/**
+		 * Constructor for the MandelbrotAlgorithm object. It has its own
+		 * render threads, and generates pictures of the default size.
+		 *
+		 * @param	view	The part of the plane to generate, such as the MainWindow
+		 */
+		this( view, (int)MainWindow.DEFAULT_SIZE.getX(), (int)MainWindow.DEFAULT_SIZE.getY(), null );
+	}
+
+	public MandelbrotAlgorithm( RenderView view, int width, int height, ForkJoinPool pool ) {
+		/**
+		 * Constructor for the MandelbrotAlgorithm object. Everything a
+		 * picture needs is kept in here, so any number of these can
+		 * generate pictures at the same time, from different threads.
+		 *
+		 * @param	view	The part of the plane to generate
+		 * @param	width	The width of the picture in pixels
+		 * @param	height	The height of the picture in pixels
+		 * @param	pool	The pool shared with other algorithms, or null for its own threads
+		 */
+		this.view = view;
+		tileRenderer = pool != null ? new TileRenderer( pool ) : new TileRenderer();
+		setSize( width, height );
+	}
+
+	public void setSize( int width, int height ) {
+		/**
+		 * Sets the size of the picture. The iteration buffer is only
+		 * reallocated when the resolution actually changes.
+		 *
+		 * @param	width		The width of the picture in pixels
+		 * @param	height		The height of the picture in pixels
+		 */
+		this.width = width;
+		this.height = height;
+		if ( iterationBuffer == null || !iterationBuffer.hasSize( width, height ) ) {
+			iterationBuffer = new IterationBuffer( width, height );
+		}
+	}
+
+	public RenderView getView() {
+		/**
+		 * Gets the part of the plane that is generated
+		 *
+		 * @return	The view
+		 */
+		return view;
+	}
+
+	public void setView( RenderView view ) {
+		/**
+		 * Sets the part of the plane that is generated. It is read at the
+		 * start of every picture.
+		 *
+		 * @param	view	The view
+		 */
+		this.view = view;
+	}
+
+	public IterationBuffer getIterationBuffer() {
+		/**
+		 * Gets the buffer holding the iterations of every pixel. It is
+		 * handed to the Painter directly so it can be read without boxing.
+		 *
+		 * @return	The iteration buffer
+		 */
+		return iterationBuffer;
 	}
 
 	public boolean isSmooth() {
@@ -56,63 +178,1943 @@ public class MandelbrotAlgorithm {
 		this.smooth = smooth;
 	}
 
-	public void generateIterations() {
+	public boolean isPeriodicityChecking() {
 		/**
-		 * Creates the iterations for the Mandelbrot Set.
+		 * Gets the periodicity checking property
+		 *
+		 * @return	The periodicity checking property
 		 */
-		double xtemp;
+		return periodicityChecking;
+	}
 
-		if ( smooth ) {
-			iterationReal = 0;
-			double logzn;
-			double nu;
-
-			// Clear the list of iterations
-			iterationListReal.clear();
-			for( int py = 0; py < height; py++ ) {
-				for( int px = 0; px < width; px++ ) {
-					cartesian.setX(px);
-					cartesian.setY(py);
-					cartesian.multiply( owner.getTransformationMatrix() );
-					position.clear();
-					while ( position.getSumOfSquares() < 256 && iterationReal < maxIterationsReal ) {
-						xtemp = position.getX()*position.getX() - position.getY()*position.getY() + cartesian.getX();
-						position.setY((2.0d * position.getX() * position.getY()) + cartesian.getY());
-						position.setX(xtemp);
-						iterationReal += 1.0d;
-					}
-					// this is to prevent floating point errors
-					if (iterationReal < maxIterationsReal ) {
-						logzn = Math.log( position.getSumOfSquares() );
-						nu = Math.log( logzn / LOG_OF_TWO ) / LOG_OF_TWO;
-						iterationReal = iterationReal + 1.0d - nu;
-					}
-					iterationListReal.add( iterationReal );
-					iterationReal = 0;
-				}
-			}
-		} else {
-			iteration = 0;
-
-			// Clear the list of iterations
-			iterationList.clear();
-			for( int py = 0; py < height; py++ ) {
-				for( int px = 0; px < width; px++ ) {
-					cartesian.setX(px);
-					cartesian.setY(py);
-					cartesian.multiply( owner.getTransformationMatrix() );
-					position.clear();
-					while ( position.getSumOfSquares() < 4 && iteration < maxIterations ) {
-						xtemp = position.getX()*position.getX() - position.getY()*position.getY() + cartesian.getX();
-						position.setY((2.0d * position.getX() * position.getY()) + cartesian.getY());
-						position.setX(xtemp);
-						iteration++;
+	public void setPeriodicityChecking( boolean periodicityChecking ) {
+		/**
+		 * Sets the periodicity checking property. When it is on, the
+		 * orbit of every point is checked for cycles, and points that
+		 * fall into one are marked as being inside the set right away
+		 * instead of running up to the maximum iterations.
+		 *
+		 * @param	periodicityChecking		The periodicity checking property
+		 */
+		this.periodicityChecking = periodicityChecking;
+	}
+
+	public RenderStrategy getRenderStrategy() {
+		/**
+		 * Gets the strategy used for walking the picture
+		 *
+		 * @return	The render strategy
+		 */
+		return renderStrategy;
+	}
+
+	public void setRenderStrategy( RenderStrategy renderStrategy ) {
+		/**
+		 * Sets the strategy used for walking the picture
+		 *
+		 * @param	renderStrategy	The render strategy
+		 */
+		this.renderStrategy = renderStrategy;
+	}
+
+	public boolean isAdaptiveIterations() {
+		/**
+		 * Gets the adaptive iterations property
+		 *
+		 * @return	The adaptive iterations property
+		 */
+		return adaptiveIterations;
+	}
+
+	public void setAdaptiveIterations( boolean adaptiveIterations ) {
+		/**
+		 * Sets the adaptive iterations property. When it is on, every
+		 * frame picks its own maximum iterations from the zoom level and
+		 * from a sparse sample of the picture, see pickIterations. When it
+		 * is off, every frame gets the iteration limit.
+		 *
+		 * @param	adaptiveIterations	The adaptive iterations property
+		 */
+		this.adaptiveIterations = adaptiveIterations;
+	}
+
+	public boolean isDistanceEstimation() {
+		/**
+		 * Gets the distance estimation property
+		 *
+		 * @return	The distance estimation property
+		 */
+		return distanceEstimation;
+	}
+
+	public void setDistanceEstimation( boolean distanceEstimation ) {
+		/**
+		 * Sets the distance estimation property. When it is on, the
+		 * derivative of the orbit is iterated along with it, and every
+		 * pixel that escapes gets an estimate of its distance to the set
+		 * in the distances of the iteration buffer. Only the Mandelbrot
+		 * Set in plain doubles or with perturbation has it; floats are
+		 * promoted to doubles, and the other precisions and kernels leave
+		 * the distances unknown. The frame is always walked brute force,
+		 * as disk filling takes the place of the guessing strategies.
+		 *
+		 * @param	distanceEstimation	The distance estimation property
+		 */
+		this.distanceEstimation = distanceEstimation;
+	}
+
+	public boolean isDiskFilling() {
+		/**
+		 * Gets the disk filling property
+		 *
+		 * @return	The disk filling property
+		 */
+		return diskFilling;
+	}
+
+	public void setDiskFilling( boolean diskFilling ) {
+		/**
+		 * Sets the disk filling property. When it is on and distances are
+		 * estimated, every pixel that escapes far enough from the set
+		 * fills the pixels of its tile around it without iterating them,
+		 * see fillDisk.
+		 *
+		 * @param	diskFilling		The disk filling property
+		 */
+		this.diskFilling = diskFilling;
+	}
+
+	public boolean isAntialiasing() {
+		/**
+		 * Gets the antialiasing property
+		 *
+		 * @return	The antialiasing property
+		 */
+		return antialiasing;
+	}
+
+	public void setAntialiasing( boolean antialiasing ) {
+		/**
+		 * Sets the antialiasing property. When it is on, the pixels on
+		 * the edges of a finished picture get SUPERSAMPLES jittered
+		 * subsamples each, which the Painter averages. Only pictures in
+		 * plain doubles or floats are antialiased.
+		 *
+		 * @param	antialiasing	The antialiasing property
+		 */
+		this.antialiasing = antialiasing;
+	}
+
+	public boolean hasSamples() {
+		/**
+		 * Checks if the last picture has subsamples for its edge pixels.
+		 *
+		 * @return	True if the sample offsets of the iteration buffer belong to the last picture
+		 */
+		return sampleFrame;
+	}
+
+	public boolean hasDistances() {
+		/**
+		 * Checks if the last picture estimated the distances of its pixels.
+		 *
+		 * @return	True if the distances of the iteration buffer belong to the last picture
+		 */
+		return distanceFrame;
+	}
+
+	public int getIterationLimit() {
+		/**
+		 * Gets the iterations of every frame when they aren't adaptive
+		 *
+		 * @return	The iteration limit
+		 */
+		return iterationLimit;
+	}
+
+	public void setIterationLimit( int iterationLimit ) {
+		/**
+		 * Sets the iterations of every frame when they aren't adaptive
+		 *
+		 * @param	iterationLimit	The iteration limit, at least 1
+		 */
+		if ( iterationLimit < 1 ) {
+			ErrorHandler.printErrorMessage( "iteration limit (" + iterationLimit + ") must be at least 1" );
+			iterationLimit = 1;
+		}
+		this.iterationLimit = iterationLimit;
+	}
+
+	public int getMaxIterations() {
+		/**
+		 * Gets the maximum iterations of the current frame. Pixels with
+		 * this many iterations are taken to be inside the set.
+		 *
+		 * @return	The maximum iterations
+		 */
+		return maxIterations;
+	}
+
+	public Precision getPrecision() {
+		/**
+		 * Gets the precision the pixels are calculated with
+		 *
+		 * @return	The precision
+		 */
+		return precision;
+	}
+
+	public void setPrecision( Precision precision ) {
+		/**
+		 * Sets the precision the pixels are calculated with. AUTOMATIC
+		 * uses plain doubles down to a pixel spacing of DOUBLE_SPACING and
+		 * perturbation beyond that, as perturbation iterates in doubles
+		 * and so beats double-double even with a few dozen references.
+		 * Double-double is there for when the references are not wanted;
+		 * it never glitches, at about three times the cost of doubles.
+		 * FLOAT uses floats down to a pixel spacing of FLOAT_SPACING, and
+		 * whatever AUTOMATIC would pick beyond that.
+		 * Any other precision is used for every zoom, even where it has
+		 * run out of digits and only produces blocks.
+		 *
+		 * @param	precision	The precision
+		 */
+		this.precision = precision;
+	}
+
+	public FractalKernel getKernel() {
+		/**
+		 * Gets the fractal the pixels are iterated with
+		 *
+		 * @return	The fractal kernel
+		 */
+		return kernel;
+	}
+
+	public void setKernel( FractalKernel kernel ) {
+		/**
+		 * Sets the fractal the pixels are iterated with. The deep zoom
+		 * precisions only know the Mandelbrot Set, so any other kernel is
+		 * always iterated in plain doubles.
+		 *
+		 * @param	kernel	The fractal kernel
+		 */
+		this.kernel = kernel;
+	}
+
+	public Precision getFramePrecision() {
+		/**
+		 * Gets the precision that was used for the last picture. It is
+		 * never AUTOMATIC.
+		 *
+		 * @return	The precision of the last picture
+		 */
+		return framePrecision;
+	}
+
+	public int getParallelism() {
+		/**
+		 * Gets the number of threads used for generating the iterations.
+		 *
+		 * @return	The number of render threads
+		 */
+		return tileRenderer.getParallelism();
+	}
+
+	public void setParallelism( int parallelism ) {
+		/**
+		 * Sets the number of threads used for generating the iterations.
+		 *
+		 * @param	parallelism		The number of render threads
+		 */
+		tileRenderer.setParallelism( parallelism );
+	}
+
+	public boolean generateIterations() {
+		/**
+		 * Creates the iterations for the Mandelbrot Set. The picture
+		 * is split into tiles that are generated in parallel. Starting
+		 * a new picture cancels the one that is still being generated.
+		 *
+		 * @return	True if the picture was completed, false if it was cancelled
+		 */
+		return generateIterations( null );
+	}
+
+	public boolean generateIterations( RenderListener listener ) {
+		/**
+		 * Creates the iterations for the Mandelbrot Set, and hands every
+		 * tile to the listener as soon as it is done.
+		 *
+		 * @param	listener	The listener that receives the tiles, or null
+		 * @return	True if the picture was completed, false if it was cancelled
+		 */
+		long renderEpoch = tileRenderer.beginEpoch();
+		RenderStrategy strategy = renderStrategy;
+		boolean completed;
+
+		frameEpoch = renderEpoch;
+
+		transformation = view.getTransformationMatrix();
+		originReal = transformation.get( 3, 0 );
+		originImaginary = transformation.get( 3, 1 );
+		stepRealX = transformation.get( 0, 0 );
+		stepImaginaryX = transformation.get( 0, 1 );
+		stepRealY = transformation.get( 1, 0 );
+		stepImaginaryY = transformation.get( 1, 1 );
+		centerReal = view.getCenterReal();
+		centerImaginary = view.getCenterImaginary();
+		centerRealValue = centerReal.doubleValue();
+		centerImaginaryValue = centerImaginary.doubleValue();
+		pixelSpacing = Math.abs( transformation.get( 0, 0 ) );
+		periodicityTolerance = pixelSpacing * PERIODICITY_TOLERANCE;
+		interiorPixels.set( 0 );
+		periodicPixels.set( 0 );
+		filledPixels.set( 0 );
+		glitchedPixels.set( 0 );
+		supersampledPixels.set( 0 );
+		sampleFrame = false;
+		framePrecision = precision;
+		if ( precision == Precision.FLOAT && pixelSpacing < FLOAT_SPACING ) {
+			// promote to doubles and beyond as the zoom deepens
+			framePrecision = Precision.AUTOMATIC;
+		}
+		if ( framePrecision == Precision.AUTOMATIC ) {
+			if ( pixelSpacing >= DOUBLE_SPACING ) {
+				framePrecision = Precision.DOUBLE;
+			} else {
+				framePrecision = Precision.PERTURBATION;
+			}
+		}
+		frameKernel = kernel;
+		if ( !( frameKernel instanceof MandelbrotKernel ) ) {
+			framePrecision = Precision.DOUBLE;
+		}
+		if ( distanceEstimation && framePrecision == Precision.FLOAT ) {
+			framePrecision = Precision.DOUBLE;
+		}
+		distanceFrame = distanceEstimation && frameKernel instanceof MandelbrotKernel
+				&& ( framePrecision == Precision.DOUBLE || framePrecision == Precision.PERTURBATION );
+		numLimbs = FixedPoint.getLimbs( pixelSpacing );
+		referenceCount = 0;
+		if ( framePrecision == Precision.DOUBLE_DOUBLE ) {
+			preciseTransformation = new DoubleDoubleMatrix( transformation, centerReal, centerImaginary,
+					width / 2.0d, height / 2.0d );
+		}
+		if ( framePrecision == Precision.FIXED_POINT ) {
+			fixedCenterReal = new FixedPoint( numLimbs, centerReal );
+			fixedCenterImaginary = new FixedPoint( numLimbs, centerImaginary );
+		}
+		glitchDetection = true;
+		if ( adaptiveIterations ) {
+			// this also leaves a long enough reference orbit behind
+			maxIterations = pickIterations( pixelSpacing );
+		} else {
+			maxIterations = iterationLimit;
+			if ( framePrecision == Precision.PERTURBATION ) {
+				referenceOrbit = new ReferenceOrbit( centerReal, centerImaginary, width / 2.0d, height / 2.0d,
+						maxIterations, numLimbs );
+			}
+		}
+		maxIterationsReal = maxIterations;
+		if ( framePrecision == Precision.PERTURBATION ) {
+			referenceCount = 1;
+		}
+		if ( distanceFrame ) {
+			// unknown distances tell the disk filling which pixels are still to do
+			Arrays.fill( iterationBuffer.getDistances(), Double.NaN );
+			strategy = RenderStrategy.BRUTE_FORCE;
+		}
+		completed = tileRenderer.render( this, width, height, renderEpoch, strategy, listener );
+		if ( completed && framePrecision == Precision.PERTURBATION ) {
+			completed = correctGlitches( renderEpoch, listener );
+		}
+		if ( completed && antialiasing
+				&& ( framePrecision == Precision.DOUBLE || framePrecision == Precision.FLOAT ) ) {
+			completed = supersampleEdges( renderEpoch, listener );
+		}
+		if ( listener != null ) {
+			listener.renderFinished( completed );
+		}
+		return completed;
+	}
+
+	private int pickIterations( double pixelSpacing ) {
+		/**
+		 * Picks the maximum iterations for a frame. Every halving of the
+		 * pixel spacing adds ITERATIONS_PER_ZOOM_LEVEL to MIN_ITERATIONS,
+		 * which is what the boundary roughly needs as the zoom deepens.
+		 * On top of that, a grid of ITERATION_SAMPLES by ITERATION_SAMPLES
+		 * pixels is iterated, and the frame gets ITERATION_HEADROOM times
+		 * the slowest escape among them, as the pixels in between can
+		 * escape later than the sampled ones. If the slowest escape is
+		 * close to the limit the samples were iterated with, there is
+		 * more detail further out, so the limit is doubled and the
+		 * samples are iterated again.
+		 *
+		 * The samples are iterated straight into the iteration buffer,
+		 * which the render overwrites anyway.
+		 *
+		 * @param	pixelSpacing	The distance between two pixels
+		 * @return		The maximum iterations
+		 */
+		double zoomLevels = Math.max( -Math.log( pixelSpacing ) / LOG_OF_TWO, 0 );
+		int zoomIterations = (int)Math.min( MIN_ITERATIONS + ( ITERATIONS_PER_ZOOM_LEVEL * zoomLevels ),
+				MAX_ADAPTIVE_ITERATIONS );
+		int limit = zoomIterations;
+		int slowest;
+
+		while ( true ) {
+			maxIterations = limit;
+			maxIterationsReal = limit;
+			if ( framePrecision == Precision.PERTURBATION ) {
+				referenceOrbit = new ReferenceOrbit( centerReal, centerImaginary, width / 2.0d, height / 2.0d,
+						limit, numLimbs );
+			}
+			slowest = sampleSlowestEscape();
+			if ( (long)slowest * ITERATION_HEADROOM <= limit || limit >= MAX_ADAPTIVE_ITERATIONS ) {
+				break;
+			}
+			limit = (int)Math.min( Math.max( (long)limit * 2, (long)slowest * ITERATION_HEADROOM ), MAX_ADAPTIVE_ITERATIONS );
+		}
+		return (int)Math.min( limit, Math.max( zoomIterations, (long)slowest * ITERATION_HEADROOM ) );
+	}
+
+	private int sampleSlowestEscape() {
+		/**
+		 * Iterates a sparse grid of pixels with the current maximum
+		 * iterations, and finds the slowest of them that escaped. Pixels
+		 * that didn't escape or that glitched are left out.
+		 *
+		 * @return	The iterations of the slowest escape, or 0 if none escaped
+		 */
+		long[] counts = new long[2];
+		PixelScratch scratch = new PixelScratch();
+		int slowest = 0;
+		int index;
+		int px;
+		int py;
+		double value;
+
+		for ( int sampleY = 0; sampleY < ITERATION_SAMPLES; sampleY++ ) {
+			py = ( ( 2 * sampleY + 1 ) * height ) / ( 2 * ITERATION_SAMPLES );
+			for ( int sampleX = 0; sampleX < ITERATION_SAMPLES; sampleX++ ) {
+				px = ( ( 2 * sampleX + 1 ) * width ) / ( 2 * ITERATION_SAMPLES );
+				index = iterationBuffer.getIndex( px, py );
+				generatePixel( px, py, index, counts, scratch );
+				if ( smooth ) {
+					value = iterationBuffer.getIterationsReal()[index];
+				} else {
+					value = iterationBuffer.getIterations()[index];
+				}
+				if ( value >= 0 && value < maxIterations ) {
+					slowest = Math.max( slowest, (int)Math.ceil( value ) );
+				}
+			}
+		}
+		return slowest;
+	}
+
+	private boolean correctGlitches( long renderEpoch, RenderListener listener ) {
+		/**
+		 * Generates the glitched pixels of a deep zoom again, each time
+		 * against a new reference orbit. Pixels that glitched at the same
+		 * iteration usually form a blob around a deeper part of the set,
+		 * so the new reference is put in the middle of the largest such
+		 * group. The reference pixel itself can never glitch, so every
+		 * pass makes progress. Once MAX_REFERENCES orbits have been used,
+		 * the pixels that are left are generated one last time without
+		 * the glitch check, so the picture is always complete.
+		 *
+		 * @param	renderEpoch	The epoch this render belongs to
+		 * @param	listener	The listener that receives the tiles, or null
+		 * @return	True if the picture was completed, false if it was cancelled
+		 */
+		int[] histogram = new int[ maxIterations + 1 ];
+		int glitches = countGlitchedPixels( histogram );
+		int largest;
+		int index;
+		double offsetX;
+		double offsetY;
+
+		glitchedPixels.set( glitches );
+		correctingGlitches = true;
+		while ( glitches > 0 && tileRenderer.isCurrent( renderEpoch ) ) {
+			if ( referenceCount < MAX_REFERENCES ) {
+				largest = 0;
+				for ( int iteration = 1; iteration < histogram.length; iteration++ ) {
+					if ( histogram[iteration] > histogram[largest] ) {
+						largest = iteration;
 					}
-					iterationList.add( iteration );
-					iteration = 0;
+				}
+				index = findGlitchedPixel( largest, histogram[largest] / 2 );
+				offsetX = ( index % iterationBuffer.getStride() ) - ( width / 2.0d );
+				offsetY = ( index / iterationBuffer.getStride() ) - ( height / 2.0d );
+				referenceOrbit = new ReferenceOrbit(
+						centerReal.add( new BigDecimal( offsetX ).multiply( new BigDecimal( transformation.get( 0, 0 ) ) ) )
+								.add( new BigDecimal( offsetY ).multiply( new BigDecimal( transformation.get( 1, 0 ) ) ) ),
+						centerImaginary.add( new BigDecimal( offsetX ).multiply( new BigDecimal( transformation.get( 0, 1 ) ) ) )
+								.add( new BigDecimal( offsetY ).multiply( new BigDecimal( transformation.get( 1, 1 ) ) ) ),
+						index % iterationBuffer.getStride(), index / iterationBuffer.getStride(),
+						maxIterations, numLimbs );
+				referenceCount++;
+			} else {
+				glitchDetection = false;
+			}
+			tileRenderer.render( this, width, height, renderEpoch, RenderStrategy.BRUTE_FORCE, listener );
+			glitches = countGlitchedPixels( histogram );
+		}
+		correctingGlitches = false;
+		return tileRenderer.isCurrent( renderEpoch );
+	}
+
+	private boolean supersampleEdges( long renderEpoch, RenderListener listener ) {
+		/**
+		 * Antialiases a finished picture. Uniform supersampling would cost
+		 * SUPERSAMPLES times as much as the picture itself, while only the
+		 * pixels on an edge actually look any different for it. So the
+		 * edges are found first, see isEdge, and only those pixels get
+		 * their subsamples, tile by tile in parallel. Every finished tile
+		 * goes to the listener again, so the Painter can average them.
+		 *
+		 * @param	renderEpoch	The epoch this render belongs to
+		 * @param	listener	The listener that receives the tiles, or null
+		 * @return	True if the picture was completed, false if it was cancelled
+		 */
+		int[] sampleOffsets = iterationBuffer.getSampleOffsets();
+		int edges = 0;
+		int index;
+
+		for( int py = 0; py < height; py++ ) {
+			index = iterationBuffer.getIndex( 0, py );
+			for( int px = 0; px < width; px++, index++ ) {
+				sampleOffsets[index] = isEdge( px, py, index ) ? SUPERSAMPLES * edges++ : -1;
+			}
+		}
+		supersampledPixels.set( edges );
+		iterationBuffer.reserveSamples( SUPERSAMPLES * edges );
+		sampleFrame = true;
+		supersampling = true;
+		tileRenderer.render( this, width, height, renderEpoch, RenderStrategy.BRUTE_FORCE, listener );
+		supersampling = false;
+		return tileRenderer.isCurrent( renderEpoch );
+	}
+
+	public boolean generateSamplePass( int pass, RenderListener listener ) {
+		/**
+		 * Generates one more sample of every pixel of the finished picture,
+		 * at a jittered position inside the pixel, into the pass samples of
+		 * the iteration buffer. It is meant for when the picture stays put,
+		 * so that the Painter can keep adding samples to what it shows. A
+		 * new picture or a cancel stops the pass at the next tile, and every
+		 * later pass of the old picture returns right away. Like the edge
+		 * supersampling, it only works for pictures in doubles or floats.
+		 *
+		 * @param	pass		The number of the pass, from 1 up, which picks the jitter
+		 * @param	listener	The listener that receives the tiles, or null
+		 * @return	True if the pass was completed, false if it was cancelled or can't be done
+		 */
+		if ( pass < 1 || !( framePrecision == Precision.DOUBLE || framePrecision == Precision.FLOAT )
+				|| !tileRenderer.isCurrent( frameEpoch ) ) {
+			return false;
+		}
+		samplingPass = pass;
+		tileRenderer.render( this, width, height, frameEpoch, RenderStrategy.BRUTE_FORCE, listener );
+		samplingPass = 0;
+		return tileRenderer.isCurrent( frameEpoch );
+	}
+
+	private boolean isEdge( int px, int py, int index ) {
+		/**
+		 * Checks if a pixel lies on an edge of the picture and needs to be
+		 * supersampled. That is the case when it is inside the set and a
+		 * neighbour is not, or the other way around, and when the colors
+		 * of the neighbours change quickly around it: by more than
+		 * EDGE_ITERATIONS, or, if the picture has distances, by being
+		 * within EDGE_DISTANCE of the set.
+		 *
+		 * @param	px		The image X coordinate
+		 * @param	py		The image Y coordinate
+		 * @param	index	The index of the pixel in the iteration buffer
+		 * @return		True if the pixel should be supersampled
+		 */
+		double iteration = getIterationValue( index );
+		boolean inside = iteration >= maxIterations;
+		double other;
+		int x;
+		int y;
+
+		if ( distanceFrame && !inside && iterationBuffer.getDistances()[index] < EDGE_DISTANCE ) {
+			return true;
+		}
+		for ( int neighbour = 0; neighbour < NEIGHBOUR_X.length; neighbour++ ) {
+			x = px + NEIGHBOUR_X[neighbour];
+			y = py + NEIGHBOUR_Y[neighbour];
+			if ( x < 0 || x >= width || y < 0 || y >= height ) {
+				continue;
+			}
+			other = getIterationValue( iterationBuffer.getIndex( x, y ) );
+			if ( ( other >= maxIterations ) != inside ) {
+				return true;
+			}
+			if ( !distanceFrame && !inside && Math.abs( other - iteration ) > EDGE_ITERATIONS ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private double getIterationValue( int index ) {
+		/**
+		 * Gets the iterations of a pixel, smooth or not.
+		 *
+		 * @param	index	The index of the pixel in the iteration buffer
+		 * @return		The iterations of the pixel
+		 */
+		if ( smooth ) {
+			return iterationBuffer.getIterationsReal()[index];
+		} else {
+			return iterationBuffer.getIterations()[index];
+		}
+	}
+
+	private int getGlitchIteration( int index ) {
+		/**
+		 * Gets the iteration at which a pixel glitched. Glitched pixels
+		 * hold minus one minus that iteration, so they can never be
+		 * mistaken for a real iteration count, and pixels that get guessed
+		 * or filled from them are marked as glitched as well.
+		 *
+		 * @param	index	The index of the pixel in the iteration buffer
+		 * @return		The glitch iteration, or -1 if the pixel is fine
+		 */
+		if ( smooth ) {
+			return -1 - (int)iterationBuffer.getIterationsReal()[index];
+		} else {
+			return -1 - iterationBuffer.getIterations()[index];
+		}
+	}
+
+	private boolean isGlitched( int index ) {
+		/**
+		 * Checks if a pixel was marked as glitched.
+		 *
+		 * @param	index	The index of the pixel in the iteration buffer
+		 * @return		True if the pixel has to be generated again
+		 */
+		return getGlitchIteration( index ) >= 0;
+	}
+
+	private int countGlitchedPixels( int[] histogram ) {
+		/**
+		 * Counts the glitched pixels of the picture.
+		 *
+		 * @param	histogram	Receives the number of pixels that glitched at each iteration
+		 * @return		The number of glitched pixels
+		 */
+		int glitches = 0;
+		int glitchIteration;
+
+		Arrays.fill( histogram, 0 );
+		for( int py = 0; py < height; py++ ) {
+			for( int index = iterationBuffer.getIndex( 0, py ); index < iterationBuffer.getIndex( width, py ); index++ ) {
+				glitchIteration = getGlitchIteration( index );
+				if ( glitchIteration >= 0 ) {
+					histogram[glitchIteration]++;
+					glitches++;
 				}
 			}
 		}
+		return glitches;
+	}
+
+	private int findGlitchedPixel( int glitchIteration, int skip ) {
+		/**
+		 * Finds a pixel of the picture that glitched at the given
+		 * iteration, going row by row.
+		 *
+		 * @param	glitchIteration	The iteration the pixel glitched at
+		 * @param	skip			The number of such pixels to pass over first
+		 * @return		The index of the glitched pixel, or -1 if there are not enough
+		 */
+		for( int py = 0; py < height; py++ ) {
+			for( int index = iterationBuffer.getIndex( 0, py ); index < iterationBuffer.getIndex( width, py ); index++ ) {
+				if ( getGlitchIteration( index ) == glitchIteration ) {
+					if ( skip == 0 ) {
+						return index;
+					}
+					skip--;
+				}
+			}
+		}
+		return -1;
+	}
+
+	public void cancel() {
+		/**
+		 * Cancels the picture that is currently being generated. Tiles
+		 * that have already started are finished, the rest are skipped.
+		 */
+		tileRenderer.cancel();
+	}
+
+	public long getInteriorPixelCount() {
+		/**
+		 * Gets the number of pixels of the last picture that were found
+		 * inside the main cardioid or the period-2 bulb, and therefore
+		 * skipped the iteration loop.
+		 *
+		 * @return	The number of short-circuited pixels
+		 */
+		return interiorPixels.get();
+	}
+
+	public long getPeriodicPixelCount() {
+		/**
+		 * Gets the number of pixels of the last picture whose orbit was
+		 * found to be periodic, and therefore stopped iterating early.
+		 *
+		 * @return	The number of periodic pixels
+		 */
+		return periodicPixels.get();
+	}
+
+	public long getFilledPixelCount() {
+		/**
+		 * Gets the number of pixels of the last picture that were filled
+		 * in from the border of their rectangle instead of being iterated.
+		 *
+		 * @return	The number of filled pixels
+		 */
+		return filledPixels.get();
+	}
+
+	public long getGlitchedPixelCount() {
+		/**
+		 * Gets the number of pixels of the last picture that glitched
+		 * against the main reference orbit and had to be generated again.
+		 *
+		 * @return	The number of glitched pixels
+		 */
+		return glitchedPixels.get();
+	}
+
+	public long getSupersampledPixelCount() {
+		/**
+		 * Gets the number of edge pixels of the last picture that were
+		 * supersampled for antialiasing.
+		 *
+		 * @return	The number of supersampled pixels
+		 */
+		return supersampledPixels.get();
+	}
+
+	public int getReferenceCount() {
+		/**
+		 * Gets the number of reference orbits the last picture used. It is
+		 * zero if the picture was not a deep zoom.
+		 *
+		 * @return	The number of reference orbits
+		 */
+		return referenceCount;
+	}
+
+	public static boolean isInMainCardioidOrBulb( double x, double y ) {
+		/**
+		 * Checks if a point lies inside the main cardioid or the period-2
+		 * bulb of the Mandelbrot Set. Those points never escape, so there
+		 * is no need to iterate them.
+		 *
+		 * @param	x	The real part of the point
+		 * @param	y	The imaginary part of the point
+		 * @return		True if the point is inside the cardioid or the bulb
+		 */
+		double ySquared = y * y;
+		double xShifted = x - 0.25d;
+		double q = ( xShifted * xShifted ) + ySquared;
+		if ( q * ( q + xShifted ) <= 0.25d * ySquared ) {
+			return true;
+		}
+		return ( ( x + 1.0d ) * ( x + 1.0d ) ) + ySquared <= 0.0625d;
+	}
+
+	public void generateTile( int tileX, int tileY, int tileWidth, int tileHeight ) {
+		/**
+		 * Creates the iterations for a single tile of the Mandelbrot Set.
+		 * Every tile uses its own vectors, so tiles can be generated on
+		 * different threads at the same time.
+		 *
+		 * @param	tileX		The left edge of the tile
+		 * @param	tileY		The top edge of the tile
+		 * @param	tileWidth	The width of the tile
+		 * @param	tileHeight	The height of the tile
+		 */
+		long[] counts = new long[2];						// Interior and periodic pixels of the tile
+		PixelScratch scratch = new PixelScratch();
+		double[] distances = iterationBuffer.getDistances();
+		boolean filling = distanceFrame && diskFilling;
+		long filled = 0;
+		double pointReal;
+		double pointImaginary;
+		int index;
+
+		if ( supersampling ) {
+			supersampleTile( tileX, tileY, tileWidth, tileHeight );
+			return;
+		}
+		if ( samplingPass > 0 ) {
+			sampleTile( tileX, tileY, tileWidth, tileHeight );
+			return;
+		}
+		for( int py = tileY; py < tileY + tileHeight; py++ ) {
+			index = iterationBuffer.getIndex( tileX, py );
+			if ( framePrecision == Precision.DOUBLE || framePrecision == Precision.FLOAT ) {
+				// walk along the row by adding the step instead of mapping every pixel
+				pointReal = getPointReal( tileX, py );
+				pointImaginary = getPointImaginary( tileX, py );
+				for( int px = tileX; px < tileX + tileWidth; px++, index++ ) {
+					if ( framePrecision == Precision.FLOAT ) {
+						generateFloatPixel( pointReal, pointImaginary, index, counts );
+					} else if ( !filling ) {
+						generateDoublePixel( pointReal, pointImaginary, index, counts );
+					} else if ( Double.isNaN( distances[index] ) ) {
+						generateDoublePixel( pointReal, pointImaginary, index, counts );
+						filled += fillDisk( px, py, index, tileX, tileY, tileWidth, tileHeight );
+					}
+					pointReal += stepRealX;
+					pointImaginary += stepImaginaryX;
+				}
+				continue;
+			}
+			for( int px = tileX; px < tileX + tileWidth; px++, index++ ) {
+				if ( correctingGlitches && !isGlitched( index ) ) {
+					continue;
+				}
+				if ( filling && !Double.isNaN( distances[index] ) ) {
+					continue;
+				}
+				generatePixel( px, py, index, counts, scratch );
+				if ( filling ) {
+					filled += fillDisk( px, py, index, tileX, tileY, tileWidth, tileHeight );
+				}
+			}
+		}
+		interiorPixels.addAndGet( counts[0] );
+		periodicPixels.addAndGet( counts[1] );
+		filledPixels.addAndGet( filled );
+	}
+
+	private void supersampleTile( int tileX, int tileY, int tileWidth, int tileHeight ) {
+		/**
+		 * Creates the subsamples of the edge pixels of a tile. Every pixel
+		 * is cut into a SUPERSAMPLING_GRID by SUPERSAMPLING_GRID grid, and
+		 * each cell gets one subsample at a jittered position inside it,
+		 * which trades the moire of a regular grid for noise. The jitter
+		 * only depends on the pixel, so the same picture always comes out
+		 * the same.
+		 *
+		 * Many edge pixels turn out to be smooth once they are looked at
+		 * more closely, so every other cell across and down is done first.
+		 * If those subsamples agree, see isUniform, each of them stands in
+		 * for the cells next to it, and only a quarter of the work is done.
+		 *
+		 * @param	tileX		The left edge of the tile
+		 * @param	tileY		The top edge of the tile
+		 * @param	tileWidth	The width of the tile
+		 * @param	tileHeight	The height of the tile
+		 */
+		long[] counts = new long[2];						// Not counted, the pixels themselves already were
+		int[] sampleOffsets = iterationBuffer.getSampleOffsets();
+		double[] samples = iterationBuffer.getSamples();
+		double[] sampleDistances = iterationBuffer.getSampleDistances();
+		double pointReal;
+		double pointImaginary;
+		boolean uniform;
+		int offset;
+		int coarse;
+		int index;
+
+		for( int py = tileY; py < tileY + tileHeight; py++ ) {
+			index = iterationBuffer.getIndex( tileX, py );
+			for( int px = tileX; px < tileX + tileWidth; px++, index++ ) {
+				offset = sampleOffsets[index];
+				if ( offset < 0 ) {
+					continue;
+				}
+				pointReal = getPointReal( px, py );
+				pointImaginary = getPointImaginary( px, py );
+				for ( int pass = 0; pass < 2; pass++ ) {
+					uniform = pass == 1 && isUniform( samples, sampleDistances, offset );
+					for ( int cell = 0; cell < SUPERSAMPLES; cell++ ) {
+						if ( ( cell % 2 == 0 && ( cell / SUPERSAMPLING_GRID ) % 2 == 0 ) == ( pass == 1 ) ) {
+							continue;
+						}
+						if ( uniform ) {
+							// take the subsample of the coarse cell this one belongs to
+							coarse = cell - ( cell % 2 ) - ( ( cell / SUPERSAMPLING_GRID ) % 2 ) * SUPERSAMPLING_GRID;
+							samples[offset + cell] = samples[offset + coarse];
+							sampleDistances[offset + cell] = sampleDistances[offset + coarse];
+						} else {
+							samples[offset + cell] = supersample( pointReal, pointImaginary, index, cell,
+									sampleDistances, offset + cell, counts );
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void sampleTile( int tileX, int tileY, int tileWidth, int tileHeight ) {
+		/**
+		 * Creates one sample of every pixel of a tile for the current
+		 * sample pass. The draws of the jitter come after the ones of the
+		 * edge supersampling, so no pass repeats one of its subsamples.
+		 *
+		 * @param	tileX		The left edge of the tile
+		 * @param	tileY		The top edge of the tile
+		 * @param	tileWidth	The width of the tile
+		 * @param	tileHeight	The height of the tile
+		 */
+		long[] counts = new long[2];						// Not counted, the pixels themselves already were
+		double[] passSamples = iterationBuffer.getPassSamples();
+		double[] passSampleDistances = iterationBuffer.getPassSampleDistances();
+		int draw = 2 * ( SUPERSAMPLES + samplingPass );
+		double offsetX;
+		double offsetY;
+		int index;
+
+		for( int py = tileY; py < tileY + tileHeight; py++ ) {
+			index = iterationBuffer.getIndex( tileX, py );
+			for( int px = tileX; px < tileX + tileWidth; px++, index++ ) {
+				offsetX = getJitter( index, draw ) - 0.5d;
+				offsetY = getJitter( index, draw + 1 ) - 0.5d;
+				passSamples[index] = iteratePoint( getPointReal( px, py ) + ( offsetX * stepRealX ) + ( offsetY * stepRealY ),
+						getPointImaginary( px, py ) + ( offsetX * stepImaginaryX ) + ( offsetY * stepImaginaryY ),
+						passSampleDistances, index, counts );
+			}
+		}
+	}
+
+	private double supersample( double pointReal, double pointImaginary, int index, int cell,
+			double[] sampleDistances, int sample, long[] counts ) {
+		/**
+		 * Iterates the subsample of a cell of a pixel, at a jittered
+		 * position inside the cell.
+		 *
+		 * @param	pointReal		The real part of the middle of the pixel
+		 * @param	pointImaginary	The imaginary part of the middle of the pixel
+		 * @param	index			The index of the pixel in the iteration buffer
+		 * @param	cell			The cell of the pixel, row by row
+		 * @param	sampleDistances	Receives the distance estimate of the subsample
+		 * @param	sample			The index of the subsample
+		 * @param	counts			Counts of interior and periodic pixels, added to
+		 * @return		The iterations of the subsample, smooth or not
+		 */
+		double offsetX = ( ( cell % SUPERSAMPLING_GRID ) + getJitter( index, 2 * cell ) ) / SUPERSAMPLING_GRID - 0.5d;
+		double offsetY = ( ( cell / SUPERSAMPLING_GRID ) + getJitter( index, 2 * cell + 1 ) ) / SUPERSAMPLING_GRID - 0.5d;
+
+		return iteratePoint( pointReal + ( offsetX * stepRealX ) + ( offsetY * stepRealY ),
+				pointImaginary + ( offsetX * stepImaginaryX ) + ( offsetY * stepImaginaryY ),
+				sampleDistances, sample, counts );
+	}
+
+	private boolean isUniform( double[] samples, double[] sampleDistances, int offset ) {
+		/**
+		 * Checks if the coarse subsamples of a pixel agree, by the same
+		 * measures isEdge uses for neighbouring pixels.
+		 *
+		 * @param	samples			The iterations of the subsamples
+		 * @param	sampleDistances	The distance estimates of the subsamples
+		 * @param	offset			The index of the first subsample of the pixel
+		 * @return		True if the rest of the subsamples can be left out
+		 */
+		double lowest = Double.POSITIVE_INFINITY;
+		double highest = Double.NEGATIVE_INFINITY;
+		int inside = 0;
+		int coarse = 0;
+
+		for ( int cell = 0; cell < SUPERSAMPLES; cell += 2 ) {
+			if ( ( cell / SUPERSAMPLING_GRID ) % 2 != 0 ) {
+				continue;
+			}
+			coarse++;
+			if ( samples[offset + cell] >= maxIterations ) {
+				inside++;
+			} else if ( distanceFrame && sampleDistances[offset + cell] < EDGE_DISTANCE ) {
+				return false;
+			}
+			lowest = Math.min( lowest, samples[offset + cell] );
+			highest = Math.max( highest, samples[offset + cell] );
+		}
+		if ( inside > 0 ) {
+			return inside == coarse;
+		}
+		return distanceFrame || highest - lowest <= EDGE_ITERATIONS;
+	}
+
+	private static double getJitter( int index, int draw ) {
+		/**
+		 * Gets a pseudo random number for a pixel, from a hash of the pixel
+		 * and the number of the draw (the finalizer of SplitMix64).
+		 *
+		 * @param	index	The index of the pixel in the iteration buffer
+		 * @param	draw	The number of the draw for the pixel
+		 * @return		A number from 0 up to, but not including, 1
+		 */
+		long hash = ( ( (long)index << 32 ) + draw ) * 0x9E3779B97F4A7C15L;
+
+		hash = ( hash ^ ( hash >>> 30 ) ) * 0xBF58476D1CE4E5B9L;
+		hash = ( hash ^ ( hash >>> 27 ) ) * 0x94D049BB133111EBL;
+		hash = hash ^ ( hash >>> 31 );
+		return ( hash >>> 11 ) / (double)( 1L << 53 );
+	}
+
+	private double iteratePoint( double cx, double cy, double[] distances, int index, long[] counts ) {
+		/**
+		 * Iterates a single point the way the pixels of the frame are
+		 * iterated, without storing it in the iteration buffer.
+		 *
+		 * @param	cx			The real part of the point
+		 * @param	cy			The imaginary part of the point
+		 * @param	distances	Receives the distance estimate, if the frame has them
+		 * @param	index		The index of the distance estimate
+		 * @param	counts		Counts of interior and periodic pixels, added to
+		 * @return		The iterations of the point, smooth or not
+		 */
+		double iteration;
+
+		if ( distanceFrame ) {
+			return iterateDistance( cx, cy, distances, index, counts );
+		}
+		if ( framePrecision == Precision.FLOAT ) {
+			if ( isInMainCardioidOrBulb( cx, cy ) ) {
+				return maxIterations;
+			}
+			iteration = iterateFloat( (float)cx, (float)cy, maxIterations, smooth,
+					periodicityChecking ? (float)periodicityTolerance : 0 );
+		} else {
+			if ( frameKernel.isInterior( cx, cy ) ) {
+				return maxIterations;
+			}
+			iteration = frameKernel.iterate( cx, cy, maxIterations, smooth, periodicityChecking ? periodicityTolerance : 0 );
+		}
+		return iteration < 0 ? maxIterations : iteration;
+	}
+
+	private int fillDisk( int px, int py, int index, int tileX, int tileY, int tileWidth, int tileHeight ) {
+		/**
+		 * Fills the pixels around a pixel that escaped, as far as its
+		 * distance estimate proves them to be outside the set. By the
+		 * Koebe quarter theorem the set is at least a quarter of the
+		 * estimate away, so every pixel within that quarter, less
+		 * FILL_DISTANCE, lies outside the set as well. Those pixels get
+		 * the iterations of the middle one, and the distance that is left
+		 * over as a lower bound of their own. Pixels that already have a
+		 * distance are left alone, and the disk is cut off at the edges of
+		 * the tile, as the pixels of other tiles belong to other threads.
+		 *
+		 * The filled iterations are only close to the real ones, so the
+		 * Painter colors the picture by its distances when there are any.
+		 *
+		 * @param	px			The image X coordinate of the middle pixel
+		 * @param	py			The image Y coordinate of the middle pixel
+		 * @param	index		The index of the middle pixel in the iteration buffer
+		 * @param	tileX		The left edge of the tile
+		 * @param	tileY		The top edge of the tile
+		 * @param	tileWidth	The width of the tile
+		 * @param	tileHeight	The height of the tile
+		 * @return		The number of pixels that were filled
+		 */
+		double[] distances = iterationBuffer.getDistances();
+		double bound = distances[index] / 4.0d;
+		double radius = bound - FILL_DISTANCE;
+		double offset;
+		int reach;
+		int target;
+		int filled = 0;
+
+		if ( !( radius >= 1.0d ) ) {
+			return 0;
+		}
+		reach = (int)Math.min( radius, Math.max( width, height ) );
+		for ( int y = Math.max( tileY, py - reach ); y <= Math.min( tileY + tileHeight - 1, py + reach ); y++ ) {
+			for ( int x = Math.max( tileX, px - reach ); x <= Math.min( tileX + tileWidth - 1, px + reach ); x++ ) {
+				offset = Math.sqrt( (double)( x - px ) * ( x - px ) + (double)( y - py ) * ( y - py ) );
+				target = iterationBuffer.getIndex( x, y );
+				if ( offset > radius || !Double.isNaN( distances[target] ) ) {
+					continue;
+				}
+				if ( smooth ) {
+					iterationBuffer.getIterationsReal()[target] = iterationBuffer.getIterationsReal()[index];
+				} else {
+					iterationBuffer.getIterations()[target] = iterationBuffer.getIterations()[index];
+				}
+				distances[target] = bound - offset;
+				filled++;
+			}
+		}
+		return filled;
+	}
+
+	private void storeIteration( int index, int iteration, double sumOfSquares ) {
+		/**
+		 * Stores the iterations of a pixel, smoothed from the sum of squares
+		 * of its last position if it escaped.
+		 *
+		 * @param	index			The index of the pixel in the iteration buffer
+		 * @param	iteration		The number of iterations
+		 * @param	sumOfSquares	The sum of squares of the last position
+		 */
+		if ( smooth ) {
+			iterationBuffer.getIterationsReal()[index] = smoothIteration( iteration, sumOfSquares );
+		} else {
+			iterationBuffer.getIterations()[index] = iteration;
+		}
+	}
+
+	private double smoothIteration( int iteration, double sumOfSquares ) {
+		/**
+		 * Smooths the iterations of a point from the sum of squares of its
+		 * last position, if it escaped.
+		 *
+		 * @param	iteration		The number of iterations
+		 * @param	sumOfSquares	The sum of squares of the last position
+		 * @return		The smooth iterations
+		 */
+		double iterationReal = iteration;
+		if ( iteration < maxIterations ) {
+			double logzn = Math.log( sumOfSquares );
+			double nu = Math.log( logzn / LOG_OF_TWO ) / LOG_OF_TWO;
+			iterationReal = iterationReal + 1.0d - nu;
+		}
+		return iterationReal;
+	}
+
+	private double getPointReal( int px, int py ) {
+		/**
+		 * Maps a pixel to the real part of its Mandelbrot coordinates.
+		 *
+		 * @param	px	The image X coordinate
+		 * @param	py	The image Y coordinate
+		 * @return		The real part of the point
+		 */
+		return ( ( px * stepRealX ) + ( py * stepRealY ) ) + originReal;
+	}
+
+	private double getPointImaginary( int px, int py ) {
+		/**
+		 * Maps a pixel to the imaginary part of its Mandelbrot coordinates.
+		 *
+		 * @param	px	The image X coordinate
+		 * @param	py	The image Y coordinate
+		 * @return		The imaginary part of the point
+		 */
+		return ( ( px * stepImaginaryX ) + ( py * stepImaginaryY ) ) + originImaginary;
+	}
+
+	private static class PixelScratch {
+		/**
+		 * The objects the precise precisions work in, made once for a tile
+		 * or a band and reused for all of its pixels.
+		 */
+		final DoubleDoubleVector point = new DoubleDoubleVector( 0, 0 );
+		FixedPoint cx;						// Fixed point numbers, made by the first pixel that needs them
+		FixedPoint cy;
+		FixedPoint x;
+		FixedPoint y;
+		FixedPoint xSquared;
+		FixedPoint ySquared;
+		FixedPoint xy;
+
+		void makeFixedPoints( int numLimbs ) {
+			/**
+			 * Makes the fixed point numbers, unless they are made already.
+			 *
+			 * @param	numLimbs	The limbs of the current frame
+			 */
+			if ( cx == null ) {
+				cx = new FixedPoint( numLimbs );
+				cy = new FixedPoint( numLimbs );
+				x = new FixedPoint( numLimbs );
+				y = new FixedPoint( numLimbs );
+				xSquared = new FixedPoint( numLimbs );
+				ySquared = new FixedPoint( numLimbs );
+				xy = new FixedPoint( numLimbs );
+			}
+		}
+	}
+
+	private void generatePixel( int px, int py, int index, long[] counts, PixelScratch scratch ) {
+		/**
+		 * Creates the iterations for a single pixel of the Mandelbrot Set
+		 * and stores them in the iteration buffer.
+		 *
+		 * @param	px			The image X coordinate
+		 * @param	py			The image Y coordinate
+		 * @param	index		The index of the pixel in the iteration buffer
+		 * @param	counts		Counts of interior and periodic pixels, added to
+		 * @param	scratch		The objects of the tile, reused for every pixel
+		 */
+		if ( framePrecision == Precision.DOUBLE_DOUBLE ) {
+			generateDoubleDoublePixel( px, py, index, counts, scratch );
+		} else if ( framePrecision == Precision.PERTURBATION ) {
+			generatePerturbedPixel( px, py, index, counts );
+		} else if ( framePrecision == Precision.FIXED_POINT ) {
+			generateFixedPointPixel( px, py, index, counts, scratch );
+		} else if ( framePrecision == Precision.FLOAT ) {
+			generateFloatPixel( getPointReal( px, py ), getPointImaginary( px, py ), index, counts );
+		} else {
+			generateDoublePixel( getPointReal( px, py ), getPointImaginary( px, py ), index, counts );
+		}
+	}
+
+	private void generateDoublePixel( double cx, double cy, int index, long[] counts ) {
+		/**
+		 * Creates the iterations for a single point in plain doubles with
+		 * the kernel of the frame, and stores them in the iteration buffer.
+		 *
+		 * @param	cx			The real part of the point
+		 * @param	cy			The imaginary part of the point
+		 * @param	index		The index of the pixel in the iteration buffer
+		 * @param	counts		Counts of interior and periodic pixels, added to
+		 */
+		FractalKernel kernel = frameKernel;
+		double iteration;
+
+		if ( distanceFrame ) {
+			generateDistancePixel( cx, cy, index, counts );
+			return;
+		}
+		if ( kernel.isInterior( cx, cy ) ) {
+			storeIteration( index, maxIterations, 0 );
+			counts[0]++;
+			return;
+		}
+		iteration = kernel.iterate( cx, cy, maxIterations, smooth, periodicityChecking ? periodicityTolerance : 0 );
+		if ( iteration < 0 ) {
+			iteration = maxIterations;
+			counts[1]++;
+		}
+		if ( smooth ) {
+			iterationBuffer.getIterationsReal()[index] = iteration;
+		} else {
+			iterationBuffer.getIterations()[index] = (int)iteration;
+		}
+	}
+
+	private void generateDistancePixel( double cx, double cy, int index, long[] counts ) {
+		/**
+		 * Creates the iterations for a single point of the Mandelbrot Set
+		 * in plain doubles, along with its distance to the set, and stores
+		 * them in the iteration buffer.
+		 *
+		 * @param	cx			The real part of the point
+		 * @param	cy			The imaginary part of the point
+		 * @param	index		The index of the pixel in the iteration buffer
+		 * @param	counts		Counts of interior and periodic pixels, added to
+		 */
+		double iteration = iterateDistance( cx, cy, iterationBuffer.getDistances(), index, counts );
+
+		if ( smooth ) {
+			iterationBuffer.getIterationsReal()[index] = iteration;
+		} else {
+			iterationBuffer.getIterations()[index] = (int)iteration;
+		}
+	}
+
+	private double iterateDistance( double cx, double cy, double[] distances, int index, long[] counts ) {
+		/**
+		 * Iterates a single point of the Mandelbrot Set in plain doubles,
+		 * along with its distance to the set. The derivative dz/dc of the
+		 * orbit is iterated as dz' = 2z dz + 1 next to it, and the
+		 * iterations are exactly those of the MandelbrotKernel.
+		 *
+		 * @param	cx			The real part of the point
+		 * @param	cy			The imaginary part of the point
+		 * @param	distances	Receives the distance to the set, in pixels
+		 * @param	index		The index of the distance
+		 * @param	counts		Counts of interior and periodic pixels, added to
+		 * @return		The iterations of the point, smooth or not
+		 */
+		double bailout = smooth ? 256 : 4;
+		double tolerance = periodicityChecking ? periodicityTolerance : 0;
+		double x = 0;
+		double y = 0;
+		double xSquared = 0;
+		double ySquared = 0;
+		double derivativeX = 0;
+		double derivativeY = 0;
+		double savedX = 0;
+		double savedY = 0;
+		double temp;
+		int steps = 0;
+		int stepLimit = 1;
+		int iteration = 0;
+
+		if ( isInMainCardioidOrBulb( cx, cy ) ) {
+			distances[index] = 0;
+			counts[0]++;
+			return maxIterations;
+		}
+		while ( xSquared + ySquared < bailout && iteration < maxIterations ) {
+			temp = 2.0d * ( x * derivativeX - y * derivativeY ) + 1.0d;
+			derivativeY = 2.0d * ( x * derivativeY + y * derivativeX );
+			derivativeX = temp;
+			y = ( 2.0d * x * y ) + cy;
+			x = xSquared - ySquared + cx;
+			xSquared = x * x;
+			ySquared = y * y;
+			iteration++;
+			if ( tolerance > 0 ) {
+				if ( Math.abs( x - savedX ) < tolerance && Math.abs( y - savedY ) < tolerance ) {
+					distances[index] = 0;
+					counts[1]++;
+					return maxIterations;
+				}
+				steps++;
+				if ( steps == stepLimit ) {
+					steps = 0;
+					stepLimit <<= 1;
+					savedX = x;
+					savedY = y;
+				}
+			}
+		}
+		if ( iteration < maxIterations ) {
+			distances[index] = estimateDistance( x, y, derivativeX, derivativeY, cx, cy ) / pixelSpacing;
+		} else {
+			distances[index] = 0;
+		}
+		return smooth ? smoothIteration( iteration, xSquared + ySquared ) : iteration;
+	}
+
+	private static double estimateDistance( double x, double y, double derivativeX, double derivativeY,
+			double cx, double cy ) {
+		/**
+		 * Works out the exterior distance estimate |z| ln|z| / |dz/dc| of
+		 * an orbit that escaped. The estimate only gets accurate once |z|
+		 * is large, so the orbit and its derivative are carried on until
+		 * the sum of squares reaches DISTANCE_BAILOUT first. The true
+		 * distance to the set lies between a quarter of the estimate and
+		 * the estimate itself.
+		 *
+		 * @param	x				The real part of the escaped orbit
+		 * @param	y				The imaginary part of the escaped orbit
+		 * @param	derivativeX		The real part of the derivative
+		 * @param	derivativeY		The imaginary part of the derivative
+		 * @param	cx				The real part of the point
+		 * @param	cy				The imaginary part of the point
+		 * @return		The distance estimate, in Mandelbrot units
+		 */
+		double sumOfSquares = x * x + y * y;
+		double temp;
+
+		for ( int step = 0; step < DISTANCE_STEPS && sumOfSquares < DISTANCE_BAILOUT; step++ ) {
+			temp = 2.0d * ( x * derivativeX - y * derivativeY ) + 1.0d;
+			derivativeY = 2.0d * ( x * derivativeY + y * derivativeX );
+			derivativeX = temp;
+			temp = x * x - y * y + cx;
+			y = ( 2.0d * x * y ) + cy;
+			x = temp;
+			sumOfSquares = x * x + y * y;
+		}
+		// ln|z| is half the log of the sum of squares
+		return Math.sqrt( sumOfSquares ) * 0.5d * Math.log( sumOfSquares )
+				/ Math.sqrt( derivativeX * derivativeX + derivativeY * derivativeY );
+	}
+
+	private void generateFloatPixel( double cx, double cy, int index, long[] counts ) {
+		/**
+		 * Creates the iterations for a single point in floats and stores
+		 * them in the iteration buffer. The point itself is still worked
+		 * out in doubles, only the orbit is rounded to floats.
+		 *
+		 * @param	cx			The real part of the point
+		 * @param	cy			The imaginary part of the point
+		 * @param	index		The index of the pixel in the iteration buffer
+		 * @param	counts		Counts of interior and periodic pixels, added to
+		 */
+		double iteration;
+
+		if ( isInMainCardioidOrBulb( cx, cy ) ) {
+			storeIteration( index, maxIterations, 0 );
+			counts[0]++;
+			return;
+		}
+		iteration = iterateFloat( (float)cx, (float)cy, maxIterations, smooth,
+				periodicityChecking ? (float)periodicityTolerance : 0 );
+		if ( iteration < 0 ) {
+			iteration = maxIterations;
+			counts[1]++;
+		}
+		if ( smooth ) {
+			iterationBuffer.getIterationsReal()[index] = iteration;
+		} else {
+			iterationBuffer.getIterations()[index] = (int)iteration;
+		}
+	}
+
+	public static double iterateFloat( float cx, float cy, int limit, boolean smooth, float tolerance ) {
+		/**
+		 * Iterates a point in floats, the same way as the MandelbrotKernel
+		 * does in doubles. Only the smoothing at the end is done in doubles.
+		 *
+		 * @param	cx			The real part of the point
+		 * @param	cy			The imaginary part of the point
+		 * @param	limit		The maximum amount of iterations
+		 * @param	smooth		True for smooth iterations with a bailout of 256
+		 * @param	tolerance	Orbit closeness for periodicity, or 0 for no checking
+		 * @return		The number of iterations until the orbit escaped or
+		 * 				reached the limit, or -1 if the orbit is periodic
+		 */
+		float bailout = smooth ? 256 : 4;
+		float x = 0;
+		float y = 0;
+		float xSquared = 0;
+		float ySquared = 0;
+		float savedX = 0;
+		float savedY = 0;
+		double logzn;
+		double nu;
+		int steps = 0;
+		int stepLimit = 1;
+		int iteration = 0;
+
+		if ( tolerance > 0 ) {
+			while ( xSquared + ySquared < bailout && iteration < limit ) {
+				y = ( 2.0f * x * y ) + cy;
+				x = xSquared - ySquared + cx;
+				xSquared = x * x;
+				ySquared = y * y;
+				iteration++;
+				if ( Math.abs( x - savedX ) < tolerance && Math.abs( y - savedY ) < tolerance ) {
+					return -1;
+				}
+				steps++;
+				if ( steps == stepLimit ) {
+					steps = 0;
+					stepLimit <<= 1;
+					savedX = x;
+					savedY = y;
+				}
+			}
+		} else {
+			while ( xSquared + ySquared < bailout && iteration < limit ) {
+				y = ( 2.0f * x * y ) + cy;
+				x = xSquared - ySquared + cx;
+				xSquared = x * x;
+				ySquared = y * y;
+				iteration++;
+			}
+		}
+		if ( smooth && iteration < limit ) {
+			logzn = Math.log( (double)x * x + (double)y * y );
+			nu = Math.log( logzn / LOG_OF_TWO ) / LOG_OF_TWO;
+			return iteration + 1.0d - nu;
+		}
+		return iteration;
+	}
+
+	private void generatePerturbedPixel( int px, int py, int index, long[] counts ) {
+		/**
+		 * Creates the iterations for a single pixel of a deep zoom. Only
+		 * the difference d from the reference orbit Z is iterated, as
+		 * d = 2Zd + d^2 + dc, which stays small enough for doubles. The
+		 * pixel is marked as glitched when its orbit comes much closer to
+		 * zero than the reference orbit (Pauldelbrot's criterion), as the
+		 * difference has lost its precision then, or when it outlives the
+		 * reference orbit. When distances are estimated, the derivative is
+		 * iterated on the full orbit Z + d.
+		 *
+		 * @param	px			The image X coordinate
+		 * @param	py			The image Y coordinate
+		 * @param	index		The index of the pixel in the iteration buffer
+		 * @param	counts		Counts of interior and periodic pixels, added to
+		 */
+		ReferenceOrbit orbit = referenceOrbit;
+		double[] orbitReal = orbit.getOrbitReal();
+		double[] orbitImaginary = orbit.getOrbitImaginary();
+		int orbitLength = orbit.getLength();
+		double offsetX = px - orbit.getPixelX();
+		double offsetY = py - orbit.getPixelY();
+		double deltaCx = ( transformation.get( 0, 0 ) * offsetX ) + ( transformation.get( 1, 0 ) * offsetY );
+		double deltaCy = ( transformation.get( 0, 1 ) * offsetX ) + ( transformation.get( 1, 1 ) * offsetY );
+		double bailout = smooth ? 256 : 4;
+		double dx = 0;
+		double dy = 0;
+		double x;
+		double y;
+		double sumOfSquares = 0;
+		double dxtemp;
+		double derivativeX = 0;
+		double derivativeY = 0;
+		double cx = centerRealValue + ( stepRealX * ( px - width / 2.0d ) ) + ( stepRealY * ( py - height / 2.0d ) );
+		double cy = centerImaginaryValue + ( stepImaginaryX * ( px - width / 2.0d ) )
+				+ ( stepImaginaryY * ( py - height / 2.0d ) );
+		boolean distance = distanceFrame;
+		int iteration = 0;
+		boolean glitched = false;
+
+		x = 0;
+		y = 0;
+		if ( isInMainCardioidOrBulb( cx, cy ) ) {
+			iteration = maxIterations;
+			counts[0]++;
+		} else {
+			while ( iteration < maxIterations ) {
+				if ( iteration >= orbitLength ) {
+					glitched = glitchDetection;
+					if ( !glitched ) {
+						iteration = maxIterations;
+					}
+					break;
+				}
+				x = orbitReal[iteration] + dx;
+				y = orbitImaginary[iteration] + dy;
+				sumOfSquares = x * x + y * y;
+				if ( sumOfSquares >= bailout ) {
+					break;
+				}
+				if ( glitchDetection && sumOfSquares < GLITCH_TOLERANCE
+						* ( orbitReal[iteration] * orbitReal[iteration] + orbitImaginary[iteration] * orbitImaginary[iteration] ) ) {
+					glitched = true;
+					break;
+				}
+				if ( distance ) {
+					dxtemp = 2.0d * ( x * derivativeX - y * derivativeY ) + 1.0d;
+					derivativeY = 2.0d * ( x * derivativeY + y * derivativeX );
+					derivativeX = dxtemp;
+				}
+				dxtemp = 2.0d * ( orbitReal[iteration] * dx - orbitImaginary[iteration] * dy ) + dx * dx - dy * dy + deltaCx;
+				dy = 2.0d * ( orbitReal[iteration] * dy + orbitImaginary[iteration] * dx ) + 2.0d * dx * dy + deltaCy;
+				dx = dxtemp;
+				iteration++;
+			}
+		}
+		if ( smooth ) {
+			double iterationReal = iteration;
+			if ( glitched ) {
+				iterationReal = -1 - iteration;
+			} else if ( iteration < maxIterations ) {
+				double logzn = Math.log( sumOfSquares );
+				double nu = Math.log( logzn / LOG_OF_TWO ) / LOG_OF_TWO;
+				iterationReal = iterationReal + 1.0d - nu;
+			}
+			iterationBuffer.getIterationsReal()[index] = iterationReal;
+		} else {
+			iterationBuffer.getIterations()[index] = glitched ? -1 - iteration : iteration;
+		}
+		if ( distance ) {
+			if ( glitched ) {
+				iterationBuffer.getDistances()[index] = Double.NaN;
+			} else if ( iteration < maxIterations ) {
+				iterationBuffer.getDistances()[index] = estimateDistance( x, y, derivativeX, derivativeY, cx, cy ) / pixelSpacing;
+			} else {
+				iterationBuffer.getDistances()[index] = 0;
+			}
+		}
+	}
+
+	private void generateDoubleDoublePixel( int px, int py, int index, long[] counts, PixelScratch scratch ) {
+		/**
+		 * Creates the iterations for a single pixel in double-double, where
+		 * every number is the unevaluated sum of a high and a low double.
+		 * The arithmetic is written out on locals so that nothing gets
+		 * allocated while iterating; the products use Dekker's splitting
+		 * to get their rounding errors exactly. Periodicity is checked the
+		 * same way as in the MandelbrotKernel, on the full double-double values.
+		 *
+		 * @param	px			The image X coordinate
+		 * @param	py			The image Y coordinate
+		 * @param	index		The index of the pixel in the iteration buffer
+		 * @param	counts		Counts of interior and periodic pixels, added to
+		 * @param	scratch		The objects of the tile, whose point is overwritten
+		 */
+		DoubleDoubleVector point = scratch.point.set( px, py ).multiply( preciseTransformation );
+		double cxHigh = point.getXHigh();
+		double cxLow = point.getXLow();
+		double cyHigh = point.getYHigh();
+		double cyLow = point.getYLow();
+		double bailout = smooth ? 256 : 4;
+		double xHigh = 0;
+		double xLow = 0;
+		double yHigh = 0;
+		double yLow = 0;
+		double xxHigh;		// x squared
+		double xxLow;
+		double yyHigh;		// y squared
+		double yyLow;
+		double xyHigh;		// x times y
+		double xyLow;
+		double split;
+		double high;		// halves of a split double
+		double low;
+		double otherHigh;
+		double otherLow;
+		double sum;
+		double virtual;
+		double error;
+		double sumOfSquares = 0;
+		double savedXHigh = 0;
+		double savedXLow = 0;
+		double savedYHigh = 0;
+		double savedYLow = 0;
+		int steps = 0;
+		int stepLimit = 1;
+		int iteration = 0;
+
+		if ( isInMainCardioidOrBulb( point.getX(), point.getY() ) ) {
+			iteration = maxIterations;
+			counts[0]++;
+		} else {
+			while ( iteration < maxIterations ) {
+				// x squared
+				split = DoubleDoubleVector.SPLITTER * xHigh;
+				high = split - ( split - xHigh );
+				low = xHigh - high;
+				xxHigh = xHigh * xHigh;
+				error = ( ( high * high - xxHigh ) + 2.0d * high * low ) + low * low + 2.0d * xHigh * xLow;
+				sum = xxHigh + error;
+				xxLow = error - ( sum - xxHigh );
+				xxHigh = sum;
+				// y squared
+				split = DoubleDoubleVector.SPLITTER * yHigh;
+				otherHigh = split - ( split - yHigh );
+				otherLow = yHigh - otherHigh;
+				yyHigh = yHigh * yHigh;
+				error = ( ( otherHigh * otherHigh - yyHigh ) + 2.0d * otherHigh * otherLow ) + otherLow * otherLow + 2.0d * yHigh * yLow;
+				sum = yyHigh + error;
+				yyLow = error - ( sum - yyHigh );
+				yyHigh = sum;
+
+				sumOfSquares = xxHigh + yyHigh;
+				if ( sumOfSquares >= bailout ) {
+					break;
+				}
+
+				// x times y, reusing the halves of x and y
+				xyHigh = xHigh * yHigh;
+				error = ( ( ( high * otherHigh - xyHigh ) + high * otherLow ) + low * otherHigh ) + low * otherLow
+						+ xHigh * yLow + xLow * yHigh;
+				sum = xyHigh + error;
+				xyLow = error - ( sum - xyHigh );
+				xyHigh = sum;
+
+				// x = x squared - y squared + cx
+				sum = xxHigh - yyHigh;
+				virtual = sum - xxHigh;
+				error = ( xxHigh - ( sum - virtual ) ) - ( yyHigh + virtual ) + xxLow - yyLow;
+				high = sum + error;
+				error = error - ( high - sum );
+				sum = high + cxHigh;
+				virtual = sum - high;
+				error += ( high - ( sum - virtual ) ) + ( cxHigh - virtual ) + cxLow;
+				xHigh = sum + error;
+				xLow = error - ( xHigh - sum );
+
+				// y = 2 times x times y + cy
+				sum = 2.0d * xyHigh + cyHigh;
+				virtual = sum - 2.0d * xyHigh;
+				error = ( 2.0d * xyHigh - ( sum - virtual ) ) + ( cyHigh - virtual ) + 2.0d * xyLow + cyLow;
+				yHigh = sum + error;
+				yLow = error - ( yHigh - sum );
+				iteration++;
+
+				if ( periodicityChecking ) {
+					if ( Math.abs( ( xHigh - savedXHigh ) + ( xLow - savedXLow ) ) < periodicityTolerance
+							&& Math.abs( ( yHigh - savedYHigh ) + ( yLow - savedYLow ) ) < periodicityTolerance ) {
+						iteration = maxIterations;
+						counts[1]++;
+						break;
+					}
+					steps++;
+					if ( steps == stepLimit ) {
+						steps = 0;
+						stepLimit <<= 1;
+						savedXHigh = xHigh;
+						savedXLow = xLow;
+						savedYHigh = yHigh;
+						savedYLow = yLow;
+					}
+				}
+			}
+		}
+		if ( smooth ) {
+			double iterationReal = iteration;
+			if ( iteration < maxIterations ) {
+				double logzn = Math.log( sumOfSquares );
+				double nu = Math.log( logzn / LOG_OF_TWO ) / LOG_OF_TWO;
+				iterationReal = iterationReal + 1.0d - nu;
+			}
+			iterationBuffer.getIterationsReal()[index] = iterationReal;
+		} else {
+			iterationBuffer.getIterations()[index] = iteration;
+		}
+	}
+
+	private void generateFixedPointPixel( int px, int py, int index, long[] counts, PixelScratch scratch ) {
+		/**
+		 * Creates the iterations for a single pixel of a deep zoom by
+		 * iterating it in fixed point with as many limbs as the zoom
+		 * needs. The numbers are made once per tile and set again for
+		 * every pixel, so neither the pixels nor the iterations allocate
+		 * anything.
+		 *
+		 * @param	px			The image X coordinate
+		 * @param	py			The image Y coordinate
+		 * @param	index		The index of the pixel in the iteration buffer
+		 * @param	counts		Counts of interior and periodic pixels, added to
+		 * @param	scratch		The objects of the tile, whose fixed point numbers are overwritten
+		 */
+		double offsetX = px - width / 2.0d;
+		double offsetY = py - height / 2.0d;
+		FixedPoint cx;
+		FixedPoint cy;
+		FixedPoint x;
+		FixedPoint y;
+		FixedPoint xSquared;
+		FixedPoint ySquared;
+		FixedPoint xy;
+		double bailout = smooth ? 256 : 4;
+		double sumOfSquares = 0;
+		int iteration = 0;
+
+		scratch.makeFixedPoints( numLimbs );
+		cx = scratch.cx;
+		cy = scratch.cy;
+		x = scratch.x.set( 0.0d );
+		y = scratch.y.set( 0.0d );
+		xSquared = scratch.xSquared;
+		ySquared = scratch.ySquared;
+		xy = scratch.xy;
+		cx.set( ( transformation.get( 0, 0 ) * offsetX ) + ( transformation.get( 1, 0 ) * offsetY ) ).add( fixedCenterReal );
+		cy.set( ( transformation.get( 0, 1 ) * offsetX ) + ( transformation.get( 1, 1 ) * offsetY ) ).add( fixedCenterImaginary );
+		if ( isInMainCardioidOrBulb( cx.doubleValue(), cy.doubleValue() ) ) {
+			iteration = maxIterations;
+			counts[0]++;
+		} else {
+			while ( iteration < maxIterations ) {
+				xSquared.multiply( x, x );
+				ySquared.multiply( y, y );
+				sumOfSquares = xSquared.doubleValue() + ySquared.doubleValue();
+				if ( sumOfSquares >= bailout ) {
+					break;
+				}
+				xy.multiply( x, y );
+				x.set( xSquared ).subtract( ySquared ).add( cx );
+				y.set( xy ).add( xy ).add( cy );
+				iteration++;
+			}
+		}
+		if ( smooth ) {
+			double iterationReal = iteration;
+			if ( iteration < maxIterations ) {
+				double logzn = Math.log( sumOfSquares );
+				double nu = Math.log( logzn / LOG_OF_TWO ) / LOG_OF_TWO;
+				iterationReal = iterationReal + 1.0d - nu;
+			}
+			iterationBuffer.getIterationsReal()[index] = iterationReal;
+		} else {
+			iterationBuffer.getIterations()[index] = iteration;
+		}
+	}
+
+	public void generateGuessingPass( int step, int rowStart, int rowEnd ) {
+		/**
+		 * Creates the iterations for one solid guessing pass over a band of
+		 * rows. The first pass iterates every pixel whose coordinates are a
+		 * multiple of GUESSING_STEP. Each following pass halves the step and
+		 * only iterates the new pixels whose neighbors from the pass before
+		 * disagree; the rest are guessed from those neighbors. Every pixel
+		 * is also copied over the block it stands for until a finer pass
+		 * replaces it, so each pass can be shown as it is.
+		 *
+		 * @param	step		The pixel spacing of this pass
+		 * @param	rowStart	The first row of the band, a multiple of the step
+		 * @param	rowEnd		The row after the last row of the band
+		 */
+		long[] counts = new long[2];						// Interior and periodic pixels of the band
+		PixelScratch scratch = new PixelScratch();
+		long guessed = 0;
+		int parentStep = step * 2;
+		boolean firstPass = ( step >= GUESSING_STEP );
+
+		for( int py = rowStart; py < rowEnd; py += step ) {
+			for( int px = 0; px < width; px += step ) {
+				if ( !firstPass && px % parentStep == 0 && py % parentStep == 0 ) {
+					// this pixel was done by an earlier pass
+					continue;
+				}
+				if ( !firstPass && guessPixel( px, py, step, parentStep ) ) {
+					guessed++;
+				} else {
+					generatePixel( px, py, iterationBuffer.getIndex( px, py ), counts, scratch );
+				}
+				fillBlock( px, py, step );
+			}
+		}
+		interiorPixels.addAndGet( counts[0] );
+		periodicPixels.addAndGet( counts[1] );
+		filledPixels.addAndGet( guessed );
+	}
+
+	private boolean guessPixel( int px, int py, int step, int parentStep ) {
+		/**
+		 * Guesses the iterations of a pixel from the pixels of the pass
+		 * before. Those pixels form a grid, and every grid cell that touches
+		 * the pixel must have the same iterations on all of its corners:
+		 * one cell if the pixel sits in the middle of a cell, and the two
+		 * cells on either side if it sits on a grid line.
+		 *
+		 * @param	px			The image X coordinate
+		 * @param	py			The image Y coordinate
+		 * @param	step		The pixel spacing of this pass
+		 * @param	parentStep	The pixel spacing of the pass before
+		 * @return		True if the grid cells agreed and the pixel was guessed
+		 */
+		int left = px - step;
+		int right = px + step;
+		int top = py - step;
+		int bottom = py + step;
+		int index = iterationBuffer.getIndex( px, py );
+
+		if ( px % parentStep == 0 ) {
+			left = px - parentStep;
+			right = px + parentStep;
+		}
+		if ( py % parentStep == 0 ) {
+			top = py - parentStep;
+			bottom = py + parentStep;
+		}
+		if ( left < 0 || top < 0 || right >= width || bottom >= height ) {
+			return false;
+		}
+		if ( smooth ) {
+			double[] iterationsReal = iterationBuffer.getIterationsReal();
+			double value = iterationsReal[ iterationBuffer.getIndex( left, top ) ];
+			for( int y = top; y <= bottom; y += parentStep ) {
+				for( int x = left; x <= right; x += parentStep ) {
+					if ( iterationsReal[ iterationBuffer.getIndex( x, y ) ] != value ) {
+						return false;
+					}
+				}
+			}
+			iterationsReal[index] = value;
+		} else {
+			int[] iterations = iterationBuffer.getIterations();
+			int value = iterations[ iterationBuffer.getIndex( left, top ) ];
+			for( int y = top; y <= bottom; y += parentStep ) {
+				for( int x = left; x <= right; x += parentStep ) {
+					if ( iterations[ iterationBuffer.getIndex( x, y ) ] != value ) {
+						return false;
+					}
+				}
+			}
+			iterations[index] = value;
+		}
+		return true;
+	}
+
+	private void fillBlock( int px, int py, int step ) {
+		/**
+		 * Copies the iterations of a pixel over the block of the given
+		 * size that has the pixel as its top left corner.
+		 *
+		 * @param	px		The image X coordinate
+		 * @param	py		The image Y coordinate
+		 * @param	step	The size of the block
+		 */
+		int right = Math.min( px + step, width );
+		int bottom = Math.min( py + step, height );
+		int index;
+
+		if ( step == 1 ) {
+			return;
+		}
+		if ( smooth ) {
+			double[] iterationsReal = iterationBuffer.getIterationsReal();
+			double value = iterationsReal[ iterationBuffer.getIndex( px, py ) ];
+			for( int y = py; y < bottom; y++ ) {
+				index = iterationBuffer.getIndex( px, y );
+				for( int x = px; x < right; x++, index++ ) {
+					iterationsReal[index] = value;
+				}
+			}
+		} else {
+			int[] iterations = iterationBuffer.getIterations();
+			int value = iterations[ iterationBuffer.getIndex( px, py ) ];
+			for( int y = py; y < bottom; y++ ) {
+				index = iterationBuffer.getIndex( px, y );
+				for( int x = px; x < right; x++, index++ ) {
+					iterations[index] = value;
+				}
+			}
+		}
+	}
+
+	public boolean fillIfBorderUniform( int rectX, int rectY, int rectWidth, int rectHeight ) {
+		/**
+		 * Checks if every pixel on the border of a rectangle has the same
+		 * iterations, and if so, fills the inside of the rectangle with
+		 * them. The border must already have been generated.
+		 *
+		 * @param	rectX		The left edge of the rectangle
+		 * @param	rectY		The top edge of the rectangle
+		 * @param	rectWidth	The width of the rectangle
+		 * @param	rectHeight	The height of the rectangle
+		 * @return		True if the border was uniform and the inside was filled
+		 */
+		int right = rectX + rectWidth - 1;
+		int bottom = rectY + rectHeight - 1;
+		int index;
+
+		if ( smooth ) {
+			double[] iterationsReal = iterationBuffer.getIterationsReal();
+			double value = iterationsReal[ iterationBuffer.getIndex( rectX, rectY ) ];
+			for ( int px = rectX; px <= right; px++ ) {
+				if ( iterationsReal[ iterationBuffer.getIndex( px, rectY ) ] != value
+						|| iterationsReal[ iterationBuffer.getIndex( px, bottom ) ] != value ) {
+					return false;
+				}
+			}
+			for ( int py = rectY + 1; py < bottom; py++ ) {
+				if ( iterationsReal[ iterationBuffer.getIndex( rectX, py ) ] != value
+						|| iterationsReal[ iterationBuffer.getIndex( right, py ) ] != value ) {
+					return false;
+				}
+			}
+			for ( int py = rectY + 1; py < bottom; py++ ) {
+				index = iterationBuffer.getIndex( rectX + 1, py );
+				for ( int px = rectX + 1; px < right; px++, index++ ) {
+					iterationsReal[index] = value;
+				}
+			}
+		} else {
+			int[] iterations = iterationBuffer.getIterations();
+			int value = iterations[ iterationBuffer.getIndex( rectX, rectY ) ];
+			for ( int px = rectX; px <= right; px++ ) {
+				if ( iterations[ iterationBuffer.getIndex( px, rectY ) ] != value
+						|| iterations[ iterationBuffer.getIndex( px, bottom ) ] != value ) {
+					return false;
+				}
+			}
+			for ( int py = rectY + 1; py < bottom; py++ ) {
+				if ( iterations[ iterationBuffer.getIndex( rectX, py ) ] != value
+						|| iterations[ iterationBuffer.getIndex( right, py ) ] != value ) {
+					return false;
+				}
+			}
+			for ( int py = rectY + 1; py < bottom; py++ ) {
+				index = iterationBuffer.getIndex( rectX + 1, py );
+				for ( int px = rectX + 1; px < right; px++, index++ ) {
+					iterations[index] = value;
+				}
+			}
+		}
+		if ( rectWidth > 2 && rectHeight > 2 ) {
+			filledPixels.addAndGet( (long)( rectWidth - 2 ) * ( rectHeight - 2 ) );
+		}
+		return true;
 	}
 
 	public int getIteration( int x, int y ) {
@@ -121,9 +2123,8 @@ public class MandelbrotAlgorithm {
 		 *
 		 * @param  g	Graphics object for drawing to the window.
 		 */
-		int index = ( y * width ) + x;
 		if ( !smooth ) {
-			return iterationList.get( index );
+			return iterationBuffer.getIteration( x, y );
 		} else {
 			return 0;
 		}
@@ -135,9 +2136,8 @@ public class MandelbrotAlgorithm {
 		 *
 		 * @param  g	Graphics object for drawing to the window.
 		 */
-		int index = ( y * width ) + x;
 		if ( smooth ) {
-			return iterationListReal.get( index );
+			return iterationBuffer.getIterationReal( x, y );
 		} else {
 			return 0.0d;
 		}
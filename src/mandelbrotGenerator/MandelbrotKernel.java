@@ -0,0 +1,124 @@
+/**
+* This is the kernel for the Mandelbrot Set itself.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public final class MandelbrotKernel implements FractalKernel {
+	/**
+	 * Iterates z = z^2 + c from z = 0, with c the point of the pixel.
+	 * This is the only kernel the deep zoom precisions know how to do.
+	 */
+
+	public boolean isInterior( double cx, double cy ) {
+		/**
+		 * Checks if a point is inside the main cardioid or the period-2 bulb.
+		 *
+		 * @param	cx	The real part of the point
+		 * @param	cy	The imaginary part of the point
+		 * @return		True if the point is known to be inside the set
+		 */
+		return MandelbrotAlgorithm.isInMainCardioidOrBulb( cx, cy );
+	}
+
+	public double getBailout( boolean smooth ) {
+		/**
+		 * Gets the sum of squares at which an orbit counts as escaped.
+		 *
+		 * @param	smooth	True for smooth iterations, which need a larger bailout
+		 * @return		The bailout
+		 */
+		return smooth ? 256 : 4;
+	}
+
+	public double smooth( int iteration, double sumOfSquares ) {
+		/**
+		 * Turns the iterations of an escaped orbit into smooth iterations.
+		 *
+		 * @param	iteration		The number of iterations
+		 * @param	sumOfSquares	The sum of squares of the last position
+		 * @return		The smooth iterations
+		 */
+		double logzn = Math.log( sumOfSquares );
+		double nu = Math.log( logzn / MandelbrotAlgorithm.LOG_OF_TWO ) / MandelbrotAlgorithm.LOG_OF_TWO;
+		return iteration + 1.0d - nu;
+	}
+
+	public double iterate( double cx, double cy, int limit, boolean smooth, double tolerance ) {
+		/**
+		 * Iterates a point in plain doubles. The orbit is kept in local
+		 * variables, together with its squares, so nothing is allocated and
+		 * every square is only worked out once.
+		 *
+		 * When a tolerance is given, the orbit is checked for cycles using
+		 * Brent's method: the orbit is compared against a saved point, and
+		 * the saved point is moved forward whenever the number of steps since
+		 * the last save reaches the next power of two.
+		 *
+		 * @param	cx			The real part of the point
+		 * @param	cy			The imaginary part of the point
+		 * @param	limit		The maximum amount of iterations
+		 * @param	smooth		True for smooth iterations with a bailout of 256
+		 * @param	tolerance	Orbit closeness for periodicity, or 0 for no checking
+		 * @return		The number of iterations until the orbit escaped or
+		 * 				reached the limit, or -1 if the orbit is periodic
+		 */
+		double bailout = getBailout( smooth );
+		double x = 0;
+		double y = 0;
+		double xSquared = 0;
+		double ySquared = 0;
+		double savedX = 0;
+		double savedY = 0;
+		int steps = 0;
+		int stepLimit = 1;
+		int iteration = 0;
+
+		if ( tolerance > 0 ) {
+			while ( xSquared + ySquared < bailout && iteration < limit ) {
+				y = ( 2.0d * x * y ) + cy;
+				x = xSquared - ySquared + cx;
+				xSquared = x * x;
+				ySquared = y * y;
+				iteration++;
+				if ( Math.abs( x - savedX ) < tolerance && Math.abs( y - savedY ) < tolerance ) {
+					return -1;
+				}
+				steps++;
+				if ( steps == stepLimit ) {
+					steps = 0;
+					stepLimit <<= 1;
+					savedX = x;
+					savedY = y;
+				}
+			}
+		} else {
+			while ( xSquared + ySquared < bailout && iteration < limit ) {
+				y = ( 2.0d * x * y ) + cy;
+				x = xSquared - ySquared + cx;
+				xSquared = x * x;
+				ySquared = y * y;
+				iteration++;
+			}
+		}
+		// this is to prevent floating point errors
+		if ( smooth && iteration < limit ) {
+			return smooth( iteration, xSquared + ySquared );
+		}
+		return iteration;
+	}
+
+	@Override
+	public String toString() {
+		/**
+		 * Names the fractal, for the output and the journals.
+		 *
+		 * @return	The name
+		 */
+		return "mandelbrot";
+	}
+}
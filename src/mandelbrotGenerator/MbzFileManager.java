@@ -14,6 +14,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
@@ -32,7 +33,7 @@ public class MbzFileManager {
 	private File selectedFile;
 	private JFileChooser zoomPointFileChooser;
 	private MainWindow owner;
-	private final long HEADER = 0x408;
+	private static final long HEADER = 0x408;
 	private double xCoordinate;
 	private double yCoordinate;
 	private int zoomLevel;
@@ -141,6 +142,35 @@ public class MbzFileManager {
     	}
 	}
 
+	public static ViewPoint readViewPoint( File file, int width, int height ) throws IOException {
+		/**
+		 * Reads a zoom point from a file without any dialogs, for when
+		 * there is no window.
+		 *
+		 * @param  file		The MBZ file to read
+		 * @param  width	The width of the picture in pixels
+		 * @param  height	The height of the picture in pixels
+		 * @return		The view of the zoom point
+		 * @throws IOException	If the file can't be read or is not an MBZ file
+		 */
+		DataInputStream input = new DataInputStream( new FileInputStream( file ) );
+		double xCoordinate;
+		double yCoordinate;
+		int zoomLevel;
+
+		try {
+			if ( input.readLong() != HEADER ) {
+				throw new IOException( file.getPath() + " is not an MBZ file. The header is incorrect." );
+			}
+			xCoordinate = input.readDouble();
+			yCoordinate = input.readDouble();
+			zoomLevel = input.readInt();
+		} finally {
+			input.close();
+		}
+		return new ViewPoint( new BigDecimal( xCoordinate ), new BigDecimal( yCoordinate ), zoomLevel, width, height );
+	}
+
 	public int readZoomPoint() {
 		/**
 		 * Reads the zoom point from a file, then sets the view to said zoom point
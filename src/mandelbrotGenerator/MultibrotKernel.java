@@ -0,0 +1,146 @@
+/**
+* This is the kernel for the Multibrot sets.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public final class MultibrotKernel implements FractalKernel {
+	/**
+	 * Iterates z = z^d + c from z = 0 for a whole power d of at least 2.
+	 * The set has d - 1 fold symmetry. The power is taken by repeated
+	 * complex multiplication, which for the small powers that are worth
+	 * looking at is quicker than going through polar form.
+	 */
+	private final int power;
+	private final double logOfPower;
+
+	public MultibrotKernel( int power ) {
+		/**
+		 * Constructor for the MultibrotKernel object.
+		 *
+		 * @param	power	The power d, at least 2
+		 */
+		if ( power < 2 ) {
+			ErrorHandler.printErrorMessage( "power (" + power + ") must be at least 2" );
+			power = 2;
+		}
+		this.power = power;
+		logOfPower = Math.log( power );
+	}
+
+	public int getPower() {
+		/**
+		 * Gets the power d.
+		 *
+		 * @return	The power
+		 */
+		return power;
+	}
+
+	public boolean isInterior( double cx, double cy ) {
+		/**
+		 * Only the power 2 has a known interior shape, and that is
+		 * better rendered with the MandelbrotKernel, so every point
+		 * gets iterated.
+		 *
+		 * @param	cx	The real part of the point
+		 * @param	cy	The imaginary part of the point
+		 * @return		Always false
+		 */
+		return false;
+	}
+
+	public double getBailout( boolean smooth ) {
+		/**
+		 * Gets the sum of squares at which an orbit counts as escaped.
+		 *
+		 * @param	smooth	True for smooth iterations, which need a larger bailout
+		 * @return		The bailout
+		 */
+		return smooth ? 256 : 4;
+	}
+
+	public double smooth( int iteration, double sumOfSquares ) {
+		/**
+		 * Turns the iterations of an escaped orbit into smooth iterations.
+		 * The magnitude grows by the power every step instead of squaring,
+		 * so the outer logarithm is taken to the base of the power.
+		 *
+		 * @param	iteration		The number of iterations
+		 * @param	sumOfSquares	The sum of squares of the last position
+		 * @return		The smooth iterations
+		 */
+		double logzn = Math.log( sumOfSquares );
+		double nu = Math.log( logzn / MandelbrotAlgorithm.LOG_OF_TWO ) / logOfPower;
+		return iteration + 1.0d - nu;
+	}
+
+	public double iterate( double cx, double cy, int limit, boolean smooth, double tolerance ) {
+		/**
+		 * Iterates a point.
+		 *
+		 * @param	cx			The real part of the point
+		 * @param	cy			The imaginary part of the point
+		 * @param	limit		The maximum amount of iterations
+		 * @param	smooth		True for smooth iterations
+		 * @param	tolerance	Orbit closeness for periodicity, or 0 for no checking
+		 * @return		The number of iterations until the orbit escaped or
+		 * 				reached the limit, or -1 if the orbit is periodic
+		 */
+		double bailout = getBailout( smooth );
+		int multiplications = power - 1;
+		double x = 0;
+		double y = 0;
+		double zx;
+		double zy;
+		double temp;
+		double savedX = 0;
+		double savedY = 0;
+		int steps = 0;
+		int stepLimit = 1;
+		int iteration = 0;
+
+		while ( ( x * x ) + ( y * y ) < bailout && iteration < limit ) {
+			zx = x;
+			zy = y;
+			for ( int i = 0; i < multiplications; i++ ) {
+				temp = ( zx * x ) - ( zy * y );
+				zy = ( zx * y ) + ( zy * x );
+				zx = temp;
+			}
+			x = zx + cx;
+			y = zy + cy;
+			iteration++;
+			if ( tolerance > 0 ) {
+				if ( Math.abs( x - savedX ) < tolerance && Math.abs( y - savedY ) < tolerance ) {
+					return -1;
+				}
+				steps++;
+				if ( steps == stepLimit ) {
+					steps = 0;
+					stepLimit <<= 1;
+					savedX = x;
+					savedY = y;
+				}
+			}
+		}
+		if ( smooth && iteration < limit ) {
+			return smooth( iteration, ( x * x ) + ( y * y ) );
+		}
+		return iteration;
+	}
+
+	@Override
+	public String toString() {
+		/**
+		 * Names the fractal, for the output and the journals.
+		 *
+		 * @return	The name and the power
+		 */
+		return "multibrot " + power;
+	}
+}
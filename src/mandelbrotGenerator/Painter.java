@@ -11,21 +11,47 @@ package mandelbrotGenerator;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
-public class Painter extends JPanel {
+public class Painter extends JPanel implements RenderListener {
 
 	/**
 	 * This is a class meant to assist with drawing images.
 	 * Contains functions for drawing pixels, lines, shapes,
 	 * and setting colors. Also clears the screen for refreshing.
+	 *
+	 * The Mandelbrot image is generated on a background thread, and
+	 * every tile is colored and repainted as soon as it is done, so the
+	 * Event Dispatch Thread never waits for a render. Solid guessing is
+	 * used so a coarse picture shows up first and then sharpens.
 	 */
 	private static final long serialVersionUID = 7572637374269286731L;
+	public static final int IDLE_PASSES = 63;		// Samples every pixel gets added while the view stays put
+	private MainWindow owner;
 	private PainterImage painterImage;
 	private MandelbrotAlgorithm mandelbrotSet;
 	private int height;
 	private int width;
+	private ExecutorService renderThread;		// Runs one render at a time off the Event Dispatch Thread
+	private final AtomicBoolean renderPending = new AtomicBoolean( false );	// A render is waiting to run
+	private boolean idleSampling = false;
+	private int[] accumulation;					// Sums of the red, green and blue of the samples of every pixel
+	private int[] accumulationWeights;			// Number of samples in the sums of every pixel
+	private final RenderListener accumulator = new RenderListener() {
+		public void tileGenerated( int x, int y, int tileWidth, int tileHeight ) {
+			accumulateTile( x, y, tileWidth, tileHeight );
+			repaint( x, y, tileWidth, tileHeight );
+		}
+
+		public void renderFinished( boolean completed ) {
+		}
+	};
 
 	public Painter ( MainWindow owner ) {
 		/**
@@ -34,40 +60,40 @@ public class Painter extends JPanel {
 		 * @see         JPanel
 		 */
 		// initialize the painter image
+		this.owner = owner;
 		painterImage = new PainterImage( owner );
 		width = (int)MainWindow.DEFAULT_SIZE.getX();
 		height = (int)MainWindow.DEFAULT_SIZE.getY();
-		mandelbrotSet = new MandelbrotAlgorithm( owner );
-		mandelbrotSet.generateIterations();
-		setMandelbrotImage();
-		//painterImage.applyGaussianBlur();
+		mandelbrotSet = owner.getRenderEngine().createAlgorithm( owner, width, height );
+		mandelbrotSet.setRenderStrategy( RenderStrategy.SOLID_GUESSING );
+		renderThread = Executors.newSingleThreadExecutor( new ThreadFactory() {
+			public Thread newThread( Runnable runnable ) {
+				Thread thread = new Thread( runnable, "Mandelbrot render" );
+				thread.setDaemon( true );
+				return thread;
+			}
+		} );
 	}
 
 	public void setMandelbrotImage() {
 		/**
-		 * Constructor for the painter object. A new color palette is generated.
+		 * Colors the whole image from the generated iterations.
+		 */
+		setMandelbrotImage( 0, 0, width, height );
+	}
+
+	public void setMandelbrotImage( int x0, int y0, int regionWidth, int regionHeight ) {
+		/**
+		 * Colors a region of the image from the generated iterations.
+		 * Regions that don't overlap can be colored from different
+		 * threads at the same time.
 		 *
-		 * @see         JPanel
+		 * @param	x0				The left edge of the region
+		 * @param	y0				The top edge of the region
+		 * @param	regionWidth		The width of the region
+		 * @param	regionHeight	The height of the region
 		 */
-		Color currentColor;
-		Color color1;
-		Color color2;
-		double iterationReal;
-		for( int y = 0; y < height; y++ ) {
-			for( int x = 0; x < width; x++ ) {
-				if ( mandelbrotSet.isSmooth() ) {
-					iterationReal = mandelbrotSet.getIterationReal( x, y );
-					color1 = painterImage.getIterationColor( (int)Math.floor( iterationReal ) );
-					color2 = painterImage.getIterationColor( (int)Math.floor( iterationReal ) + 1 );
-					painterImage.setColor( interpolateColor( color1, color2, iterationReal % 1.0d ) );
-					painterImage.drawPixel(x, y);
-				} else {
-					currentColor = painterImage.getIterationColor( mandelbrotSet.getIteration( x, y ) );
-					painterImage.setColor( currentColor );
-					painterImage.drawPixel(x, y);
-				}
-			}
-		}
+		painterImage.drawIterations( mandelbrotSet, x0, y0, regionWidth, regionHeight );
 	}
 
 	public static Color interpolateColor( Color color1, Color color2, double bias ) {
@@ -110,11 +136,185 @@ public class Painter extends JPanel {
 	public void generateMandelbrotImage() {
 		/**
 		 * Creates the Mandelbrot images by generating the iterations and displaying it.
+		 * This returns right away; the iterations are generated on the render
+		 * thread, and the image being generated for an older view is cancelled.
+		 * Calls that come in before the render thread gets to them are
+		 * collapsed into a single render of the latest view.
+		 */
+		mandelbrotSet.cancel();
+		if ( renderPending.compareAndSet( false, true ) ) {
+			renderThread.execute( new Runnable() {
+				public void run() {
+					renderPending.set( false );
+					if ( mandelbrotSet.generateIterations( Painter.this ) && idleSampling ) {
+						sampleWhileIdle( 1 );
+					}
+				}
+			} );
+		}
+	}
+
+	public boolean isIdleSampling() {
+		/**
+		 * Gets the idle sampling property
+		 *
+		 * @return	The idle sampling property
+		 */
+		return idleSampling;
+	}
+
+	public void setIdleSampling( boolean idleSampling ) {
+		/**
+		 * Sets the idle sampling property. When it is on, a finished
+		 * picture keeps getting jittered samples of every pixel added to
+		 * it, up to IDLE_PASSES of them, for as long as the view stays put.
+		 * It takes effect from the next picture.
+		 *
+		 * @param	idleSampling	The idle sampling property
+		 */
+		this.idleSampling = idleSampling;
+	}
+
+	private void sampleWhileIdle( final int pass ) {
+		/**
+		 * Adds a sample pass to the finished picture, and queues the next
+		 * one. Every pass is a task of its own on the render thread, so a
+		 * render that was asked for in the meantime runs first, and it
+		 * cancels the pass that is running by moving the epoch forward.
+		 * Once a pass was cancelled, the passes of that picture are over.
 		 *
+		 * @param	pass	The number of the pass, from 1 up
+		 */
+		if ( renderPending.get() || pass > IDLE_PASSES ) {
+			return;
+		}
+		if ( pass == 1 ) {
+			startAccumulation();
+		}
+		if ( mandelbrotSet.generateSamplePass( pass, accumulator ) ) {
+			renderThread.execute( new Runnable() {
+				public void run() {
+					sampleWhileIdle( pass + 1 );
+				}
+			} );
+		}
+	}
+
+	private void startAccumulation() {
+		/**
+		 * Starts the accumulation buffer off with the picture as it is.
+		 * Pixels that were supersampled count as that many samples.
+		 */
+		IterationBuffer iterationBuffer = mandelbrotSet.getIterationBuffer();
+		int[] sampleOffsets = mandelbrotSet.hasSamples() ? iterationBuffer.getSampleOffsets() : null;
+		Color color;
+		int weight;
+		int index;
+
+		if ( accumulation == null ) {
+			accumulation = new int[ 3 * width * height ];
+			accumulationWeights = new int[ width * height ];
+		}
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				index = ( y * width ) + x;
+				weight = 1;
+				if ( sampleOffsets != null && sampleOffsets[ iterationBuffer.getIndex( x, y ) ] >= 0 ) {
+					weight = MandelbrotAlgorithm.SUPERSAMPLES;
+				}
+				color = new Color( painterImage.getRGB( x, y ) );
+				accumulation[ 3 * index ] = weight * color.getRed();
+				accumulation[ 3 * index + 1 ] = weight * color.getGreen();
+				accumulation[ 3 * index + 2 ] = weight * color.getBlue();
+				accumulationWeights[index] = weight;
+			}
+		}
+	}
+
+	private void accumulateTile( int x0, int y0, int tileWidth, int tileHeight ) {
+		/**
+		 * Adds the colors of the last sample pass of a tile to the
+		 * accumulation buffer, and draws the averages. Tiles don't
+		 * overlap, so this can run from several render threads at once.
+		 *
+		 * @param	x0			The left edge of the tile
+		 * @param	y0			The top edge of the tile
+		 * @param	tileWidth	The width of the tile
+		 * @param	tileHeight	The height of the tile
+		 */
+		IterationBuffer iterationBuffer = mandelbrotSet.getIterationBuffer();
+		int maxIterations = mandelbrotSet.getMaxIterations();
+		double[] passSamples = iterationBuffer.getPassSamples();
+		double[] passSampleDistances = mandelbrotSet.hasDistances() ? iterationBuffer.getPassSampleDistances() : null;
+		Color color;
+		int sample;
+		int index;
+		int weight;
+
+		for( int y = y0; y < y0 + tileHeight; y++ ) {
+			for( int x = x0; x < x0 + tileWidth; x++ ) {
+				index = ( y * width ) + x;
+				sample = iterationBuffer.getIndex( x, y );
+				if ( passSampleDistances != null ) {
+					color = painterImage.getDistanceColor( passSampleDistances[sample] );
+				} else {
+					color = painterImage.getIterationColor( passSamples[sample], maxIterations );
+				}
+				weight = ++accumulationWeights[index];
+				accumulation[ 3 * index ] += color.getRed();
+				accumulation[ 3 * index + 1 ] += color.getGreen();
+				accumulation[ 3 * index + 2 ] += color.getBlue();
+				painterImage.drawPixel( x, y, new Color( accumulation[ 3 * index ] / weight,
+						accumulation[ 3 * index + 1 ] / weight, accumulation[ 3 * index + 2 ] / weight ) );
+			}
+		}
+	}
+
+	public void cancelMandelbrotImage() {
+		/**
+		 * Cancels the Mandelbrot image that is currently being generated.
+		 */
+		mandelbrotSet.cancel();
+	}
+
+	public void tileGenerated( int x, int y, int tileWidth, int tileHeight ) {
+		/**
+		 * Colors a tile as soon as its iterations are generated, and asks
+		 * for that part of the screen to be repainted. Swing merges the
+		 * dirty rectangles of tiles that come in between two repaints.
+		 *
+		 * @param	x			The left edge of the tile
+		 * @param	y			The top edge of the tile
+		 * @param	tileWidth	The width of the tile
+		 * @param	tileHeight	The height of the tile
+		 */
+		setMandelbrotImage( x, y, tileWidth, tileHeight );
+		repaint( x, y, tileWidth, tileHeight );
+	}
+
+	public void renderFinished( boolean completed ) {
+		/**
+		 * Called when the render thread is done with a render.
+		 *
+		 * @param	completed	True if the picture was completed, false if it was cancelled
 		 */
-		mandelbrotSet.generateIterations();
-		setMandelbrotImage();
 		//painterImage.applyGaussianBlur();
+		if ( completed ) {
+			SwingUtilities.invokeLater( new Runnable() {
+				public void run() {
+					owner.updateRenderStatus();
+				}
+			} );
+		}
+	}
+
+	public MandelbrotAlgorithm getMandelbrotSet() {
+		/**
+		 * Returns the algorithm that generates the Mandelbrot iterations.
+		 *
+		 * @return		The Mandelbrot algorithm
+		 */
+		return mandelbrotSet;
 	}
 
 	public void paint( Graphics g ) {
@@ -25,53 +25,30 @@ public class PainterImage extends BufferedImage {
 
 	public PainterImage ( MainWindow owner ) {
 		/**
-		 * Constructor for the PainterImage object. A new color palette is generated.
+		 * Constructor for the PainterImage object. A new color palette is
+		 * generated from the default gradient.
 		 *
 		 * @see         BufferedImage
 		 */
-		// initialize the color palette
-		super( (int)MainWindow.DEFAULT_SIZE.getX(), (int)MainWindow.DEFAULT_SIZE.getY(), BufferedImage.TYPE_INT_RGB );
-		width = (int)MainWindow.DEFAULT_SIZE.getX();
-		height = (int)MainWindow.DEFAULT_SIZE.getY();
-		/*
-		// sunset color palette
-		Color[] colors = {	new Color( 0, 6, 92 ),
-							new Color( 8, 41, 156 ),
-							new Color( 243, 255, 247 ),
-							new Color( 255, 174, 4 ),
-							new Color( 82, 31, 48 ) };
-							*/
-		/*
-		// radioactive color palette
-		Color[] colors = {	new Color( 0, 18, 26 ),
-				new Color( 0, 52, 52 ),
-				new Color( 0, 77, 52 ),
-				new Color( 0, 153, 0 ),
-				new Color( 68, 204, 0 ),
-				new Color( 157, 235, 0 ),
-				new Color( 255, 255, 0 ),
-				new Color( 255, 255, 205 ),
-				new Color( 255, 255, 0 ),
-				new Color( 157, 235, 0 ),
-				new Color( 68, 204, 0 ),
-				new Color( 0, 153, 0 ),
-				new Color( 0, 77, 52 ),
-				new Color( 0, 52, 52 ) };
-		*/
-		// milky way color palette
-		Color[] colors = {	new Color( 0, 43, 52 ),
-				new Color( 0, 51, 103 ),
-				new Color( 0, 26, 153 ),
-				new Color( 35, 0, 204 ),
-				new Color( 128, 0, 255 ),
-				new Color( 234, 127, 255 ),
-				new Color( 255, 191, 245 ),
-				new Color( 234, 127, 255 ),
-				new Color( 128, 0, 255 ),
-				new Color( 35, 0, 204 ),
-				new Color( 0, 26, 153 ),
-				new Color( 0, 51, 103 ) };
-		colorPalette = new ColorPalette( owner, MainWindow.ITERATIONS, new ColorGradient( colors ) );
+		this( (int)MainWindow.DEFAULT_SIZE.getX(), (int)MainWindow.DEFAULT_SIZE.getY(), owner.getColorLoops(),
+				ColorGradient.getNamedGradient( ColorGradient.DEFAULT_GRADIENT ) );
+	}
+
+	public PainterImage ( int width, int height, int colorLoops, ColorGradient gradient ) {
+		/**
+		 * Constructor for the PainterImage object, for when there is no
+		 * window, such as for the BatchRenderer.
+		 *
+		 * @param	width		The width of the image in pixels
+		 * @param	height		The height of the image in pixels
+		 * @param	colorLoops	The number of times the gradient loops itself
+		 * @param	gradient	The gradient the palette is made from
+		 * @see         BufferedImage
+		 */
+		super( width, height, BufferedImage.TYPE_INT_RGB );
+		this.width = width;
+		this.height = height;
+		colorPalette = new ColorPalette( colorLoops, ColorPalette.PALETTE_SIZE, gradient );
 		g2d = (Graphics2D) getGraphics();
 	}
 
@@ -81,7 +58,7 @@ public class PainterImage extends BufferedImage {
 		 *
 		 * @param  g	Graphics object for drawing to the window.
 		 */
-		for ( int i = 0; i < MainWindow.ITERATIONS; i++) {
+		for ( int i = 0; i < colorPalette.getNumColors(); i++) {
 			g2d.setColor( colorPalette.getColor( i ) );
 			g2d.drawLine( i, 0, i, width);
 		}
@@ -104,16 +81,104 @@ public class PainterImage extends BufferedImage {
 		return g2d.getColor();
 	}
 
-	public Color getIterationColor( int iteration ) {
+	public Color getIterationColor( double iteration, int maxIterations ) {
 		/**
 		 * Gets the color in the color palette corresponding to its Mandelbrot iteration index.
 		 *
-		 * @param	iteration	The iteration the color is mapped to.
+		 * @param	iteration		The iteration the color is mapped to, smooth or not.
+		 * @param	maxIterations	The maximum iterations of the picture, which are inside the set
 		 * @return	the color mapped to the current iteration, or black if it's out of bounds
 		 */
-		if ( iteration < 0 || iteration > colorPalette.getNumColors() ) {
+		if ( iteration <= 0 || iteration >= maxIterations ) {
+			return Color.BLACK;
+		}
+		return colorPalette.getIterationColor( iteration );
+	}
+
+	public Color getDistanceColor( double distance ) {
+		/**
+		 * Gets the color of a pixel from its distance to the Mandelbrot Set.
+		 * The set itself is black, and the pixels fade to white as they get
+		 * further away, up to FILL_DISTANCE pixels, so the boundary is drawn
+		 * as a thin line however fine its filaments are.
+		 *
+		 * @param	distance	The distance to the set in pixels, 0 inside it
+		 * @return	the color for the distance
+		 */
+		double bias = Math.min( distance / MandelbrotAlgorithm.FILL_DISTANCE, 1.0d );
+
+		if ( !( bias > 0 ) ) {
+			return Color.BLACK;
+		}
+		return Painter.interpolateColor( Color.BLACK, Color.WHITE, Math.sqrt( bias ) );
+	}
+
+	public void drawIterations( MandelbrotAlgorithm mandelbrotSet, int x0, int y0, int regionWidth, int regionHeight ) {
+		/**
+		 * Colors a region of the image from the iterations the algorithm
+		 * generated. Regions that don't overlap can be colored from
+		 * different threads at the same time.
+		 *
+		 * @param	mandelbrotSet	The algorithm holding the iterations
+		 * @param	x0				The left edge of the region
+		 * @param	y0				The top edge of the region
+		 * @param	regionWidth		The width of the region
+		 * @param	regionHeight	The height of the region
+		 */
+		IterationBuffer iterationBuffer = mandelbrotSet.getIterationBuffer();
+		int maxIterations = mandelbrotSet.getMaxIterations();
+		int[] iterations = iterationBuffer.getIterations();
+		double[] iterationsReal = iterationBuffer.getIterationsReal();
+		double[] distances = mandelbrotSet.hasDistances() ? iterationBuffer.getDistances() : null;
+		int[] sampleOffsets = mandelbrotSet.hasSamples() ? iterationBuffer.getSampleOffsets() : null;
+		int index;
+		for( int y = y0; y < y0 + regionHeight; y++ ) {
+			index = iterationBuffer.getIndex( x0, y );
+			for( int x = x0; x < x0 + regionWidth; x++, index++ ) {
+				if ( sampleOffsets != null && sampleOffsets[index] >= 0 ) {
+					drawPixel( x, y, getSampledColor( iterationBuffer, sampleOffsets[index],
+							distances != null, maxIterations ) );
+				} else if ( distances != null && !Double.isNaN( distances[index] ) ) {
+					// filled pixels only have a rough iteration, but a good distance
+					drawPixel( x, y, getDistanceColor( distances[index] ) );
+				} else if ( mandelbrotSet.isSmooth() ) {
+					drawPixel( x, y, getIterationColor( iterationsReal[index], maxIterations ) );
+				} else {
+					drawPixel( x, y, getIterationColor( iterations[index], maxIterations ) );
+				}
+			}
+		}
+	}
+
+	private Color getSampledColor( IterationBuffer iterationBuffer, int offset, boolean distances, int maxIterations ) {
+		/**
+		 * Averages the colors of the subsamples of a supersampled pixel.
+		 *
+		 * @param	iterationBuffer		The buffer holding the subsamples
+		 * @param	offset				The index of the first subsample of the pixel
+		 * @param	distances			True to color the subsamples by their distances
+		 * @param	maxIterations		The maximum iterations of the picture
+		 * @return			The average color of the subsamples
+		 */
+		double[] samples = iterationBuffer.getSamples();
+		double[] sampleDistances = iterationBuffer.getSampleDistances();
+		int red = 0;
+		int green = 0;
+		int blue = 0;
+		Color color;
+
+		for ( int sample = offset; sample < offset + MandelbrotAlgorithm.SUPERSAMPLES; sample++ ) {
+			if ( distances ) {
+				color = getDistanceColor( sampleDistances[sample] );
+			} else {
+				color = getIterationColor( samples[sample], maxIterations );
+			}
+			red += color.getRed();
+			green += color.getGreen();
+			blue += color.getBlue();
 		}
-		return colorPalette.getColor( iteration );
+		return new Color( red / MandelbrotAlgorithm.SUPERSAMPLES, green / MandelbrotAlgorithm.SUPERSAMPLES,
+				blue / MandelbrotAlgorithm.SUPERSAMPLES );
 	}
 
 	public void drawPixel( int x, int y ) {
@@ -134,6 +199,28 @@ public class PainterImage extends BufferedImage {
 		setRGB( x, y, g2d.getColor().getRGB() );
 	}
 
+	public void drawPixel( int x, int y, Color color ) {
+		/**
+		 * Draws a single pixel on the screen in the given color. This
+		 * doesn't touch the color of the painter object, so it is safe
+		 * to call from several render threads at once.
+		 *
+		 * @param	x		The image X coordinate
+		 * @param	y		The image Y coordinate
+		 * @param	color	The color of the pixel
+		 */
+		// bounds check
+		if ( x < 0 || x >= width ) {
+			ErrorHandler.printErrorMessage(" x value (" + x + ") is out of bounds" );
+			return;
+		}
+		if ( y < 0 || y >= height ) {
+			ErrorHandler.printErrorMessage(" y value (" + y + ") is out of bounds" );
+			return;
+		}
+		setRGB( x, y, color.getRGB() );
+	}
+
 	public void applyGaussianBlur(  ) {
 		/**
 		 * Blurs the current picture to smooth everything out. Currently
@@ -0,0 +1,187 @@
+/**
+* This is a PNG writer that takes a picture a row at a time.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+public class PngStreamWriter {
+	/**
+	 * Writes an 8 bit RGB PNG file without ever holding the whole
+	 * picture. ImageIO needs the picture as one BufferedImage, which
+	 * can't be made for posters of many gigapixels, so the rows are
+	 * filtered and compressed here as they come in, and the compressed
+	 * data goes out in IDAT chunks of CHUNK_SIZE bytes. Only a single
+	 * row and a single chunk are kept.
+	 *
+	 * Every row uses the Sub filter, which takes each byte as the
+	 * difference from the pixel to its left. The smooth color gradients
+	 * of the pictures compress much better like that.
+	 */
+	public static final int CHUNK_SIZE = 65536;		// Bytes of compressed data in a full IDAT chunk
+	private static final byte[] SIGNATURE = { (byte)137, 80, 78, 71, 13, 10, 26, 10 };
+	private static final int FILTER_SUB = 1;
+	private final DataOutputStream out;
+	private final int width;
+	private final int height;
+	private final Deflater deflater = new Deflater();
+	private final CRC32 crc = new CRC32();
+	private final byte[] row;						// Filter type and filtered bytes of one row
+	private final byte[] chunk = new byte[ CHUNK_SIZE ];
+	private int chunkLength;
+	private int rowsWritten;
+
+	public PngStreamWriter( OutputStream out, int width, int height ) throws IOException {
+		/**
+		 * Constructor for the PngStreamWriter object. The PNG header is
+		 * written right away.
+		 *
+		 * @param	out		The stream the PNG file goes to
+		 * @param	width	The width of the picture in pixels
+		 * @param	height	The height of the picture in pixels
+		 * @throws IOException	If the header can't be written
+		 */
+		byte[] header = new byte[13];
+
+		if ( width < 1 || height < 1 ) {
+			throw new IllegalArgumentException( "picture size (" + width + "x" + height + ") must be at least 1x1" );
+		}
+		this.out = new DataOutputStream( new BufferedOutputStream( out, CHUNK_SIZE ) );
+		this.width = width;
+		this.height = height;
+		row = new byte[ 1 + ( 3 * width ) ];
+		row[0] = FILTER_SUB;
+		putInt( header, 0, width );
+		putInt( header, 4, height );
+		header[8] = 8;		// bits per sample
+		header[9] = 2;		// truecolor
+		this.out.write( SIGNATURE );
+		writeChunk( "IHDR", header, header.length );
+	}
+
+	public int getRowsWritten() {
+		/**
+		 * Gets the number of rows written so far.
+		 *
+		 * @return	The number of rows
+		 */
+		return rowsWritten;
+	}
+
+	public void writeRow( int[] pixels, int offset ) throws IOException {
+		/**
+		 * Writes the next row of the picture.
+		 *
+		 * @param	pixels	The pixels, as packed RGB like in a TYPE_INT_RGB image
+		 * @param	offset	The index of the first pixel of the row
+		 * @throws IOException	If the row can't be written, or all rows already are
+		 */
+		int previous = 0;
+		int pixel;
+
+		if ( rowsWritten == height ) {
+			throw new IOException( "all " + height + " rows are already written" );
+		}
+		for ( int x = 0, i = 1; x < width; x++, i += 3 ) {
+			pixel = pixels[ offset + x ];
+			row[i] = (byte)( ( pixel >> 16 ) - ( previous >> 16 ) );
+			row[i + 1] = (byte)( ( pixel >> 8 ) - ( previous >> 8 ) );
+			row[i + 2] = (byte)( pixel - previous );
+			previous = pixel;
+		}
+		deflater.setInput( row );
+		while ( !deflater.needsInput() ) {
+			deflate();
+		}
+		rowsWritten++;
+	}
+
+	public void finish() throws IOException {
+		/**
+		 * Writes the rest of the compressed data and the end of the file,
+		 * and closes the stream.
+		 *
+		 * @throws IOException	If the data can't be written, or rows are missing
+		 */
+		if ( rowsWritten != height ) {
+			throw new IOException( "only " + rowsWritten + " of " + height + " rows were written" );
+		}
+		deflater.finish();
+		while ( !deflater.finished() ) {
+			deflate();
+		}
+		if ( chunkLength > 0 ) {
+			writeChunk( "IDAT", chunk, chunkLength );
+		}
+		writeChunk( "IEND", chunk, 0 );
+		close();
+	}
+
+	public void close() throws IOException {
+		/**
+		 * Closes the stream, whether the file is finished or not.
+		 *
+		 * @throws IOException	If the stream can't be closed
+		 */
+		deflater.end();
+		out.close();
+	}
+
+	private void deflate() throws IOException {
+		/**
+		 * Compresses into the chunk, and writes the chunk out once it
+		 * is full.
+		 *
+		 * @throws IOException	If the chunk can't be written
+		 */
+		chunkLength += deflater.deflate( chunk, chunkLength, CHUNK_SIZE - chunkLength );
+		if ( chunkLength == CHUNK_SIZE ) {
+			writeChunk( "IDAT", chunk, chunkLength );
+			chunkLength = 0;
+		}
+	}
+
+	private void writeChunk( String type, byte[] data, int length ) throws IOException {
+		/**
+		 * Writes a chunk with its length and its checksum.
+		 *
+		 * @param	type	The four letter chunk type
+		 * @param	data	The data of the chunk
+		 * @param	length	The number of bytes of data
+		 * @throws IOException	If the chunk can't be written
+		 */
+		byte[] typeBytes = type.getBytes( "US-ASCII" );
+
+		crc.reset();
+		crc.update( typeBytes );
+		crc.update( data, 0, length );
+		out.writeInt( length );
+		out.write( typeBytes );
+		out.write( data, 0, length );
+		out.writeInt( (int)crc.getValue() );
+	}
+
+	private static void putInt( byte[] bytes, int offset, int value ) {
+		/**
+		 * Puts a big endian int into a byte array.
+		 *
+		 * @param	bytes	The array
+		 * @param	offset	The index of the first byte
+		 * @param	value	The int
+		 */
+		bytes[offset] = (byte)( value >>> 24 );
+		bytes[offset + 1] = (byte)( value >>> 16 );
+		bytes[offset + 2] = (byte)( value >>> 8 );
+		bytes[offset + 3] = (byte)value;
+	}
+}
@@ -0,0 +1,48 @@
+/**
+* This determines the number precisions for generating the Mandelbrot picture.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public enum Precision {
+	/**
+	 * The kinds of numbers the MandelbrotAlgorithm can calculate a
+	 * pixel with.
+	 */
+
+	AUTOMATIC,			// Picked for every frame from the pixel spacing
+	FLOAT,				// Floats for shallow views, promoted to the AUTOMATIC pick once they run out of digits
+	DOUBLE,				// Plain doubles, good until about 2^32 zoom
+	DOUBLE_DOUBLE,		// Pairs of doubles with about 106 bits, good until about 2^85 zoom
+	PERTURBATION,		// Double differences from a fixed point reference orbit, for any zoom
+	FIXED_POINT;		// Every pixel in fixed point, exact but slow
+
+	public String getName() {
+		/**
+		 * Gets the name of the precision for the command line and the
+		 * settings, such as double-double.
+		 *
+		 * @return	The name, in lower case
+		 */
+		return name().toLowerCase().replace( '_', '-' );
+	}
+
+	public static Precision getNamedPrecision( String name ) {
+		/**
+		 * Gets a precision by its name, ignoring case.
+		 *
+		 * @param	name	The name of a precision, see getName
+		 * @return			The precision, or null if there is none by that name
+		 */
+		for ( Precision precision : values() ) {
+			if ( precision.getName().equalsIgnoreCase( name ) ) {
+				return precision;
+			}
+		}
+		return null;
+	}
+}
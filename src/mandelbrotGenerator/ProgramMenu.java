@@ -125,6 +125,11 @@ public class ProgramMenu extends JMenuBar {
 		currentIcon = new ImageIcon( "rc/icons/settings.png" );
 		settingsItem = new JMenuItem ( "Settings", currentIcon );
 		settingsItem.setToolTipText( "Lets you configure the program" );
+		settingsItem.addActionListener( new ActionListener() {
+            public void actionPerformed( ActionEvent arg0 ) {
+            	owner.showSettingsDialog();
+            }
+        } );
 
 		currentIcon = new ImageIcon( "rc/icons/saveZoomPoint.png" );
 		exitItem = new JMenuItem ( "Exit" );
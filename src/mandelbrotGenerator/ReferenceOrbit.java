@@ -0,0 +1,143 @@
+/**
+* This is the high precision orbit that the pixels of a deep zoom are
+* iterated against.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.math.BigDecimal;
+
+public class ReferenceOrbit {
+	/**
+	 * Iterates a single point of the Mandelbrot Set in fixed point with
+	 * as many limbs as the zoom needs, and keeps every position of its
+	 * orbit rounded to doubles. Pixels near the point only have to iterate their small
+	 * difference from this orbit, which doubles can hold just fine.
+	 */
+	public static final double ESCAPE_RADIUS_SQUARED = 1.0e9d;	// Every pixel still going glitches out there
+	private final BigDecimal pointReal;
+	private final BigDecimal pointImaginary;
+	private final double pixelX;
+	private final double pixelY;
+	private final double[] orbitReal;
+	private final double[] orbitImaginary;
+	private int length;
+
+	public ReferenceOrbit( BigDecimal pointReal, BigDecimal pointImaginary, double pixelX, double pixelY,
+			int maxIterations, int numLimbs ) {
+		/**
+		 * Constructor for the ReferenceOrbit object. The orbit is
+		 * iterated right away, until it escapes or reaches the maximum
+		 * iterations.
+		 *
+		 * @param	pointReal		The real part of the point
+		 * @param	pointImaginary	The imaginary part of the point
+		 * @param	pixelX			The image X coordinate of the point
+		 * @param	pixelY			The image Y coordinate of the point
+		 * @param	maxIterations	Maximum amount of iterations allowed
+		 * @param	numLimbs		Number of fixed point limbs to iterate with
+		 */
+		FixedPoint cx = new FixedPoint( numLimbs, pointReal );
+		FixedPoint cy = new FixedPoint( numLimbs, pointImaginary );
+		FixedPoint x = new FixedPoint( numLimbs );
+		FixedPoint y = new FixedPoint( numLimbs );
+		FixedPoint xSquared = new FixedPoint( numLimbs );
+		FixedPoint ySquared = new FixedPoint( numLimbs );
+		FixedPoint xy = new FixedPoint( numLimbs );
+		double doubleX;
+		double doubleY;
+
+		this.pointReal = pointReal;
+		this.pointImaginary = pointImaginary;
+		this.pixelX = pixelX;
+		this.pixelY = pixelY;
+		orbitReal = new double[ maxIterations + 1 ];
+		orbitImaginary = new double[ maxIterations + 1 ];
+		length = 1;
+		while ( length <= maxIterations ) {
+			xSquared.multiply( x, x );
+			ySquared.multiply( y, y );
+			xy.multiply( x, y );
+			x.set( xSquared ).subtract( ySquared ).add( cx );
+			y.set( xy ).add( xy ).add( cy );
+			doubleX = x.doubleValue();
+			doubleY = y.doubleValue();
+			orbitReal[length] = doubleX;
+			orbitImaginary[length] = doubleY;
+			length++;
+			if ( doubleX * doubleX + doubleY * doubleY > ESCAPE_RADIUS_SQUARED ) {
+				break;
+			}
+		}
+	}
+
+	public BigDecimal getPointReal() {
+		/**
+		 * Gets the real part of the point the orbit belongs to.
+		 *
+		 * @return	The real part of the point
+		 */
+		return pointReal;
+	}
+
+	public BigDecimal getPointImaginary() {
+		/**
+		 * Gets the imaginary part of the point the orbit belongs to.
+		 *
+		 * @return	The imaginary part of the point
+		 */
+		return pointImaginary;
+	}
+
+	public double getPixelX() {
+		/**
+		 * Gets the image X coordinate of the point.
+		 *
+		 * @return	The image X coordinate
+		 */
+		return pixelX;
+	}
+
+	public double getPixelY() {
+		/**
+		 * Gets the image Y coordinate of the point.
+		 *
+		 * @return	The image Y coordinate
+		 */
+		return pixelY;
+	}
+
+	public double[] getOrbitReal() {
+		/**
+		 * Gets the real parts of the orbit. Entry n holds the position
+		 * after n iterations, starting from zero.
+		 *
+		 * @return	The real parts of the orbit
+		 */
+		return orbitReal;
+	}
+
+	public double[] getOrbitImaginary() {
+		/**
+		 * Gets the imaginary parts of the orbit. Entry n holds the
+		 * position after n iterations, starting from zero.
+		 *
+		 * @return	The imaginary parts of the orbit
+		 */
+		return orbitImaginary;
+	}
+
+	public int getLength() {
+		/**
+		 * Gets the number of positions in the orbit. Pixels that need
+		 * more iterations than this cannot be iterated against it.
+		 *
+		 * @return	The number of valid entries in the orbit arrays
+		 */
+		return length;
+	}
+}
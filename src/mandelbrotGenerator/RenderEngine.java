@@ -0,0 +1,214 @@
+/**
+* This is the render engine that serves Mandelbrot pictures to its clients.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+public class RenderEngine {
+	/**
+	 * Renders RenderRequests into RenderResults for any number of
+	 * clients at once. All the tiles of all the pictures are generated on
+	 * one shared fork-join pool, so a busy engine keeps every processor
+	 * working without making more threads than there are processors.
+	 *
+	 * Every request gets its own MandelbrotAlgorithm and its own buffer,
+	 * so requests never see each other's state. A few request threads
+	 * set up the frames, such as the reference orbits of deep zooms, and
+	 * wait for the pool; requests over that number wait their turn.
+	 *
+	 * The window is a client too: its algorithm comes from
+	 * createAlgorithm, so it renders on the same pool as the requests
+	 * while keeping its progressive tiles and cancellation.
+	 */
+	public static final int DEFAULT_REQUESTS = 4;		// Requests that are rendered at the same time
+	public static final int PREVIEW_WIDTH = 720;		// Width of the preview iterations are picked from
+	private final ForkJoinPool pool;
+	private final ExecutorService requestThreads;
+	private final int maxRequests;
+
+	public RenderEngine() {
+		/**
+		 * Constructor for the RenderEngine object. Uses one render thread
+		 * per available processor.
+		 */
+		this( Runtime.getRuntime().availableProcessors(), DEFAULT_REQUESTS );
+	}
+
+	public RenderEngine( int parallelism, int maxRequests ) {
+		/**
+		 * Constructor for the RenderEngine object.
+		 *
+		 * @param	parallelism		The number of threads the tiles are generated on
+		 * @param	maxRequests		The number of requests rendered at the same time
+		 */
+		if ( parallelism < 1 ) {
+			ErrorHandler.printErrorMessage( "parallelism (" + parallelism + ") must be at least 1" );
+			parallelism = 1;
+		}
+		if ( maxRequests < 1 ) {
+			ErrorHandler.printErrorMessage( "requests (" + maxRequests + ") must be at least 1" );
+			maxRequests = 1;
+		}
+		this.maxRequests = maxRequests;
+		pool = new ForkJoinPool( parallelism );
+		requestThreads = Executors.newFixedThreadPool( maxRequests, new ThreadFactory() {
+			public Thread newThread( Runnable runnable ) {
+				Thread thread = new Thread( runnable, "Mandelbrot request" );
+				thread.setDaemon( true );
+				return thread;
+			}
+		} );
+	}
+
+	public int getParallelism() {
+		/**
+		 * Gets the number of threads the tiles are generated on.
+		 *
+		 * @return	The parallelism of the shared pool
+		 */
+		return pool.getParallelism();
+	}
+
+	public int getMaxRequests() {
+		/**
+		 * Gets the number of requests rendered at the same time.
+		 *
+		 * @return	The number of request threads
+		 */
+		return maxRequests;
+	}
+
+	public MandelbrotAlgorithm createAlgorithm( RenderView view, int width, int height ) {
+		/**
+		 * Creates an algorithm that renders on the shared pool, for a
+		 * client that wants to follow and cancel its own pictures, such
+		 * as the window. Only one thread at a time should use it.
+		 *
+		 * @param	view	The part of the plane to generate
+		 * @param	width	The width of the picture in pixels
+		 * @param	height	The height of the picture in pixels
+		 * @return			The algorithm
+		 */
+		return new MandelbrotAlgorithm( view, width, height, pool );
+	}
+
+	public MandelbrotAlgorithm createAlgorithm( RenderRequest request ) {
+		/**
+		 * Creates an algorithm that renders on the shared pool, set up
+		 * for a request, for a client that generates the iterations and
+		 * colors them in steps of its own, such as the RenderPipeline.
+		 *
+		 * @param	request		The picture to render
+		 * @return				The algorithm
+		 */
+		MandelbrotAlgorithm algorithm = createAlgorithm( request.getView(), request.getWidth(), request.getHeight() );
+
+		algorithm.setKernel( request.getKernel() );
+		algorithm.setPrecision( request.getPrecision() );
+		algorithm.setRenderStrategy( request.getRenderStrategy() );
+		algorithm.setAdaptiveIterations( request.isAdaptiveIterations() );
+		algorithm.setDistanceEstimation( request.isDistanceEstimation() );
+		algorithm.setDiskFilling( request.isDiskFilling() );
+		if ( !request.isAdaptiveIterations() ) {
+			algorithm.setIterationLimit( request.getIterationLimit() );
+		}
+		return algorithm;
+	}
+
+	public Future<RenderResult> submit( final RenderRequest request ) {
+		/**
+		 * Queues a request and returns right away.
+		 *
+		 * @param	request		The picture to render
+		 * @return				The result, once it is rendered
+		 */
+		return requestThreads.submit( new Callable<RenderResult>() {
+			public RenderResult call() {
+				return render( request, null );
+			}
+		} );
+	}
+
+	public RenderResult render( RenderRequest request, RenderListener listener ) {
+		/**
+		 * Renders a request on the calling thread, with the tiles on the
+		 * shared pool, and waits until it is done. This is safe to call
+		 * from many threads at the same time.
+		 *
+		 * @param	request		The picture to render
+		 * @param	listener	The listener that receives the tiles, or null
+		 * @return				The iterations and the colored picture
+		 */
+		MandelbrotAlgorithm algorithm = createAlgorithm( request );
+		boolean completed;
+		long start = System.nanoTime();
+
+		completed = algorithm.generateIterations( listener );
+		return color( request, algorithm, completed, System.nanoTime() - start );
+	}
+
+	public int pickIterations( ViewPoint view, FractalKernel kernel ) {
+		/**
+		 * Picks the maximum iterations for a picture that is rendered in
+		 * parts, which would each pick a different limit and show seams
+		 * with adaptive iterations. A preview of the view is rendered with
+		 * adaptive iterations, and every halving of the pixel spacing from
+		 * the preview to the picture adds
+		 * MandelbrotAlgorithm.ITERATIONS_PER_ZOOM_LEVEL, as it does when
+		 * zooming in.
+		 *
+		 * @param	view	The view of the picture
+		 * @param	kernel	The fractal of the picture
+		 * @return			The maximum iterations
+		 */
+		int previewWidth = Math.min( view.getWidth(), PREVIEW_WIDTH );
+		int previewHeight = (int)Math.max( (long)view.getHeight() * previewWidth / view.getWidth(), 1 );
+		RenderResult result = render( new RenderRequest( view.resize( previewWidth, previewHeight ), kernel,
+				RenderRequest.ADAPTIVE_ITERATIONS, Precision.AUTOMATIC, null, MainWindow.COLOR_LOOPS ), null );
+		double zoomLevels = Math.log( (double)view.getWidth() / previewWidth ) / MandelbrotAlgorithm.LOG_OF_TWO;
+
+		return (int)Math.min( result.getMaxIterations() + ( MandelbrotAlgorithm.ITERATIONS_PER_ZOOM_LEVEL * zoomLevels ),
+				MandelbrotAlgorithm.MAX_ADAPTIVE_ITERATIONS );
+	}
+
+	public static RenderResult color( RenderRequest request, MandelbrotAlgorithm algorithm, boolean completed,
+			long generationTime ) {
+		/**
+		 * Colors the iterations an algorithm generated for a request.
+		 *
+		 * @param	request			The picture that was rendered
+		 * @param	algorithm		The algorithm holding the iterations
+		 * @param	completed		False if the render was cancelled
+		 * @param	generationTime	Nanoseconds the iterations took
+		 * @return					The iterations and the colored picture
+		 */
+		long start = System.nanoTime();
+		PainterImage image = new PainterImage( request.getWidth(), request.getHeight(), request.getColorLoops(),
+				request.getGradient() );
+
+		image.drawIterations( algorithm, 0, 0, request.getWidth(), request.getHeight() );
+		return new RenderResult( request, algorithm.getIterationBuffer(), image, algorithm.getMaxIterations(),
+				algorithm.getFramePrecision(), algorithm.hasDistances(), completed, generationTime, System.nanoTime() - start );
+	}
+
+	public void shutdown() {
+		/**
+		 * Stops taking requests. Requests that are already queued are
+		 * still rendered. The shared pool stays up for the algorithms
+		 * that were created from it; its threads don't keep the program
+		 * running.
+		 */
+		requestThreads.shutdown();
+	}
+}
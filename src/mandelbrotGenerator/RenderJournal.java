@@ -0,0 +1,269 @@
+/**
+* This is the checkpoint journal of a long render.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+public class RenderJournal {
+	/**
+	 * Keeps the iterations of every finished strip of a StripRenderer
+	 * picture in a memory-mapped file, so a render that is stopped by a
+	 * crash or a reboot can pick up where it was.
+	 *
+	 * The file starts with a header that says which picture it belongs
+	 * to, followed by a table with a commit record for every strip, and
+	 * then the smooth iterations of all the strips, 8 bytes per pixel.
+	 * A strip is recorded by writing its iterations and forcing them to
+	 * the disk first, and only then writing and forcing its commit
+	 * record, which holds a checksum of the iterations. A strip counts
+	 * as done only if its record is there and the checksum matches, so
+	 * a write that got torn halfway loses nothing but that strip.
+	 *
+	 * The checksums are checked when a strip is read back, which keeps
+	 * opening a large journal quick. A strip that fails the check is
+	 * simply rendered again.
+	 */
+	public static final String FILE_EXTENSION = ".journal";
+	public static final int MAGIC = 0x4D424A4C;			// "MBJL"
+	public static final int VERSION = 1;
+	public static final int PAGE_SIZE = 4096;				// Alignment of the iterations in the file
+	private static final int DONE = 0x444F4E45;			// "DONE", mixed with the strip number in a commit record
+	private static final int HEADER_SIZE = 28;				// Bytes of the header before the parameters
+	private static final int RECORD_SIZE = 8;				// Bytes of a commit record: marker and checksum
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final int width;
+	private final int height;
+	private final int stripHeight;
+	private final int strips;
+	private final long tableStart;
+	private final long dataStart;
+	private final MappedByteBuffer head;					// Header and commit records
+	private int iterationLimit;
+	private int doneCount;
+
+	public RenderJournal( File journalFile, String parameters, int width, int height, int stripHeight )
+			throws IOException {
+		/**
+		 * Constructor for the RenderJournal object. A journal of the same
+		 * picture is picked up; anything else in the file is thrown away
+		 * and a new journal is started.
+		 *
+		 * @param	journalFile		The file of the journal
+		 * @param	parameters		Everything else that decides the iterations, such as the view
+		 * @param	width			The width of the picture in pixels
+		 * @param	height			The height of the picture in pixels
+		 * @param	stripHeight		The rows in every strip but the last
+		 * @throws IOException		If the file can't be opened or mapped
+		 */
+		byte[] parameterBytes = parameters.getBytes( "UTF-8" );
+
+		this.width = width;
+		this.height = height;
+		this.stripHeight = stripHeight;
+		strips = ( height + stripHeight - 1 ) / stripHeight;
+		tableStart = align( HEADER_SIZE + parameterBytes.length, RECORD_SIZE );
+		dataStart = align( tableStart + ( (long)strips * RECORD_SIZE ), PAGE_SIZE );
+		file = new RandomAccessFile( journalFile, "rw" );
+		channel = file.getChannel();
+		if ( !matches( parameterBytes ) ) {
+			channel.truncate( 0 );
+		}
+		file.setLength( dataStart + ( (long)width * height * 8 ) );
+		head = channel.map( FileChannel.MapMode.READ_WRITE, 0, dataStart );
+		if ( head.getInt( 0 ) != MAGIC ) {
+			head.putInt( 4, VERSION );
+			head.putInt( 8, width );
+			head.putInt( 12, height );
+			head.putInt( 16, stripHeight );
+			head.putInt( 20, 0 );
+			head.putInt( 24, parameterBytes.length );
+			head.position( HEADER_SIZE );
+			head.put( parameterBytes );
+			head.force();
+			// the magic goes last, so a torn header is never taken for a journal
+			head.putInt( 0, MAGIC );
+			head.force();
+		}
+		iterationLimit = head.getInt( 20 );
+		for ( int strip = 0; strip < strips; strip++ ) {
+			if ( isDone( strip ) ) {
+				doneCount++;
+			}
+		}
+	}
+
+	private boolean matches( byte[] parameterBytes ) throws IOException {
+		/**
+		 * Checks if the file already holds a journal of this picture.
+		 *
+		 * @param	parameterBytes	The parameters of the picture
+		 * @return					True if the header is the same
+		 * @throws IOException		If the file can't be read
+		 */
+		ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE + parameterBytes.length );
+
+		if ( channel.size() < dataStart ) {
+			return false;
+		}
+		channel.read( header, 0 );
+		return header.getInt( 0 ) == MAGIC && header.getInt( 4 ) == VERSION && header.getInt( 8 ) == width
+				&& header.getInt( 12 ) == height && header.getInt( 16 ) == stripHeight
+				&& header.getInt( 24 ) == parameterBytes.length
+				&& ByteBuffer.wrap( parameterBytes ).equals( (ByteBuffer)header.position( HEADER_SIZE ) );
+	}
+
+	private static long align( long offset, int alignment ) {
+		/**
+		 * Rounds an offset up to a multiple of the alignment.
+		 *
+		 * @param	offset		The offset
+		 * @param	alignment	The alignment
+		 * @return				The aligned offset
+		 */
+		return ( ( offset + alignment - 1 ) / alignment ) * alignment;
+	}
+
+	public int getIterationLimit() {
+		/**
+		 * Gets the maximum iterations the picture was started with, so a
+		 * picture with adaptive iterations keeps the limit it picked.
+		 *
+		 * @return	The maximum iterations, or 0 if none was recorded yet
+		 */
+		return iterationLimit;
+	}
+
+	public void setIterationLimit( int iterationLimit ) {
+		/**
+		 * Records the maximum iterations the picture is rendered with.
+		 *
+		 * @param	iterationLimit	The maximum iterations
+		 */
+		this.iterationLimit = iterationLimit;
+		head.putInt( 20, iterationLimit );
+		head.force();
+	}
+
+	public int getDoneCount() {
+		/**
+		 * Gets the number of strips that were recorded.
+		 *
+		 * @return	The number of done strips
+		 */
+		return doneCount;
+	}
+
+	public boolean isDone( int strip ) {
+		/**
+		 * Checks if a strip has a commit record. Whether its iterations
+		 * are whole is only known once it is read.
+		 *
+		 * @param	strip	The number of the strip, from the top
+		 * @return			True if the strip was recorded
+		 */
+		return head.getInt( (int)( tableStart + ( strip * RECORD_SIZE ) ) ) == ( DONE ^ strip );
+	}
+
+	public void record( int strip, IterationBuffer iterationBuffer ) throws IOException {
+		/**
+		 * Records the smooth iterations of a finished strip, over what
+		 * was recorded for it before, if anything. Once this returns, the
+		 * strip is safely on the disk.
+		 *
+		 * @param	strip			The number of the strip, from the top
+		 * @param	iterationBuffer	The iterations of the strip
+		 * @throws IOException		If the iterations can't be mapped
+		 */
+		int rows = getRows( strip );
+		byte[] bytes = new byte[ rows * width * 8 ];
+		MappedByteBuffer data = mapStrip( strip, bytes.length );
+		CRC32 crc = new CRC32();
+		int record = (int)( tableStart + ( strip * RECORD_SIZE ) );
+
+		if ( !isDone( strip ) ) {
+			doneCount++;
+		}
+		ByteBuffer.wrap( bytes ).asDoubleBuffer().put( iterationBuffer.getIterationsReal(), 0, rows * width );
+		crc.update( bytes );
+		data.put( bytes );
+		data.force();
+		head.putInt( record + 4, (int)crc.getValue() );
+		head.putInt( record, DONE ^ strip );
+		head.force();
+	}
+
+	public double[] read( int strip ) throws IOException {
+		/**
+		 * Reads back the smooth iterations of a recorded strip.
+		 *
+		 * @param	strip	The number of the strip, from the top
+		 * @return			The iterations, row after row, or null if the strip
+		 * 					isn't recorded or its checksum doesn't match
+		 * @throws IOException	If the iterations can't be mapped
+		 */
+		int rows = getRows( strip );
+		byte[] bytes;
+		double[] iterationsReal;
+		CRC32 crc = new CRC32();
+
+		if ( !isDone( strip ) ) {
+			return null;
+		}
+		bytes = new byte[ rows * width * 8 ];
+		iterationsReal = new double[ rows * width ];
+		mapStrip( strip, bytes.length ).get( bytes );
+		crc.update( bytes );
+		if ( (int)crc.getValue() != head.getInt( (int)( tableStart + ( strip * RECORD_SIZE ) ) + 4 ) ) {
+			return null;
+		}
+		ByteBuffer.wrap( bytes ).asDoubleBuffer().get( iterationsReal );
+		return iterationsReal;
+	}
+
+	public int getRows( int strip ) {
+		/**
+		 * Gets the number of rows of a strip.
+		 *
+		 * @param	strip	The number of the strip, from the top
+		 * @return			The rows, which are fewer for the last strip
+		 */
+		return Math.min( stripHeight, height - ( strip * stripHeight ) );
+	}
+
+	private MappedByteBuffer mapStrip( int strip, int length ) throws IOException {
+		/**
+		 * Maps the iterations of a strip.
+		 *
+		 * @param	strip	The number of the strip, from the top
+		 * @param	length	The number of bytes of the strip
+		 * @return			The mapped iterations
+		 * @throws IOException	If the file can't be mapped
+		 */
+		return channel.map( FileChannel.MapMode.READ_WRITE, dataStart + ( (long)strip * stripHeight * width * 8 ),
+				length );
+	}
+
+	public void close() throws IOException {
+		/**
+		 * Closes the journal file. The mapped parts go away once they
+		 * are garbage collected.
+		 *
+		 * @throws IOException	If the file can't be closed
+		 */
+		channel.close();
+		file.close();
+	}
+}
@@ -0,0 +1,33 @@
+/**
+* This is the listener interface for following a Mandelbrot render.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public interface RenderListener {
+	/**
+	 * Gets told about the progress of a render. The methods are called
+	 * from the render threads, not from the Event Dispatch Thread.
+	 */
+
+	/**
+	 * Called when a tile of the picture has been generated.
+	 *
+	 * @param	x			The left edge of the tile
+	 * @param	y			The top edge of the tile
+	 * @param	width		The width of the tile
+	 * @param	height		The height of the tile
+	 */
+	public void tileGenerated( int x, int y, int width, int height );
+
+	/**
+	 * Called when a render has stopped.
+	 *
+	 * @param	completed	True if the picture was completed, false if it was cancelled
+	 */
+	public void renderFinished( boolean completed );
+}
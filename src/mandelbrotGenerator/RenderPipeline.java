@@ -0,0 +1,392 @@
+/**
+* This is the staged pipeline that batch pictures go through.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+public class RenderPipeline {
+	/**
+	 * Makes pictures in three stages: generating the iterations,
+	 * coloring them, and writing the PNG files. Every stage has threads
+	 * of its own, and takes its frames from a bounded queue in front of
+	 * it, so the next frame is generated while the last one is colored
+	 * and written. When a stage falls behind, its queue fills up and the
+	 * stage before it waits, which keeps the frames in memory down to
+	 * the threads plus the queues, however many frames are submitted.
+	 *
+	 * For sizing the threads on a machine, every stage keeps track of
+	 * how long its threads were busy and how long they were blocked on
+	 * a full queue after it. A stage that is busy all the time wants
+	 * more threads; one that is mostly blocked has too many.
+	 *
+	 * Frames are written in the order they are finished, which is not
+	 * always the order they were submitted in.
+	 */
+	public static final int QUEUE_CAPACITY = 2;			// Frames waiting in front of a stage
+	public static final long PROGRESS_INTERVAL = 1000;		// Milliseconds between statistics reports
+	private final Frame end = new Frame( null, null );		// Tells a thread that no more frames are coming
+	private final RenderEngine engine;
+	private final Stage computeStage;
+	private final Stage colorStage;
+	private final Stage writeStage;
+	private final AtomicInteger written = new AtomicInteger();
+	private final AtomicInteger failed = new AtomicInteger();
+	private final AtomicLong lastReport = new AtomicLong();
+	private final long start = System.nanoTime();
+
+	public RenderPipeline( RenderEngine engine, int computeThreads, int colorThreads, int writeThreads ) {
+		/**
+		 * Constructor for the RenderPipeline object. The threads start
+		 * right away and wait for frames.
+		 *
+		 * @param	engine			The engine whose shared pool generates the tiles
+		 * @param	computeThreads	The number of frames generated at the same time
+		 * @param	colorThreads	The number of frames colored at the same time
+		 * @param	writeThreads	The number of frames written at the same time
+		 */
+		this.engine = engine;
+		lastReport.set( start );
+		writeStage = new Stage( "write", writeThreads, null ) {
+			protected void process( Frame frame ) throws IOException {
+				RenderResult result = frame.result;
+				ViewPoint view = result.getRequest().getView();
+				long writeStart = System.nanoTime();
+				long now;
+
+				if ( !ImageIO.write( result.getImage(), "png", frame.output ) ) {
+					throw new IOException( "no PNG writer" );
+				}
+				now = System.nanoTime();
+				System.out.println( String.format( "%s: %dx%d, zoom level %d, %d iterations, %s, generated in %d ms,"
+						+ " colored in %d ms, written in %d ms", frame.output.getPath(), view.getWidth(),
+						view.getHeight(), view.getZoomLevel(), result.getMaxIterations(), result.getPrecision(),
+						result.getGenerationTime() / 1000000, result.getColoringTime() / 1000000,
+						( now - writeStart ) / 1000000 ) );
+				written.incrementAndGet();
+				if ( now - lastReport.get() >= PROGRESS_INTERVAL * 1000000 ) {
+					lastReport.set( now );
+					System.out.println( getStatistics() );
+				}
+			}
+		};
+		colorStage = new Stage( "color", colorThreads, writeStage ) {
+			protected void process( Frame frame ) {
+				frame.result = RenderEngine.color( frame.request, frame.algorithm, true, frame.generationTime );
+				frame.algorithm = null;
+			}
+		};
+		computeStage = new Stage( "compute", computeThreads, colorStage ) {
+			protected void process( Frame frame ) {
+				long computeStart = System.nanoTime();
+
+				frame.algorithm = RenderPipeline.this.engine.createAlgorithm( frame.request );
+				frame.algorithm.generateIterations();
+				frame.generationTime = System.nanoTime() - computeStart;
+			}
+		};
+	}
+
+	public void submit( RenderRequest request, File output ) throws InterruptedException {
+		/**
+		 * Hands a frame to the pipeline. This waits while the queue of
+		 * the first stage is full.
+		 *
+		 * @param	request		The picture to render
+		 * @param	output		The PNG file to write it to
+		 * @throws InterruptedException	If the thread is interrupted while waiting
+		 */
+		computeStage.queue.put( new Frame( request, output ) );
+	}
+
+	public int finish() throws InterruptedException {
+		/**
+		 * Waits until every submitted frame is written. No frames can be
+		 * submitted after this.
+		 *
+		 * @return	The number of frames that failed
+		 * @throws InterruptedException	If the thread is interrupted while waiting
+		 */
+		computeStage.close();
+		computeStage.join();
+		colorStage.join();
+		writeStage.join();
+		return failed.get();
+	}
+
+	public Stage getComputeStage() {
+		/**
+		 * Gets the stage that generates the iterations.
+		 *
+		 * @return	The compute stage
+		 */
+		return computeStage;
+	}
+
+	public Stage getColorStage() {
+		/**
+		 * Gets the stage that colors the iterations.
+		 *
+		 * @return	The color stage
+		 */
+		return colorStage;
+	}
+
+	public Stage getWriteStage() {
+		/**
+		 * Gets the stage that writes the PNG files.
+		 *
+		 * @return	The write stage
+		 */
+		return writeStage;
+	}
+
+	public int getWrittenCount() {
+		/**
+		 * Gets the number of frames written so far.
+		 *
+		 * @return	The number of frames
+		 */
+		return written.get();
+	}
+
+	public String getStatistics() {
+		/**
+		 * Describes the queues and the use of the threads of every stage,
+		 * for finding how many threads a stage should get.
+		 *
+		 * @return	One line with every stage
+		 */
+		return String.format( "%d frames written, %d failed; %s; %s; %s", written.get(), failed.get(),
+				computeStage, colorStage, writeStage );
+	}
+
+	private static class Frame {
+		/**
+		 * A picture on its way through the stages.
+		 */
+		private final RenderRequest request;
+		private final File output;
+		private MandelbrotAlgorithm algorithm;		// Holds the iterations between generating and coloring
+		private long generationTime;
+		private RenderResult result;
+
+		public Frame( RenderRequest request, File output ) {
+			/**
+			 * Constructor for the Frame object.
+			 *
+			 * @param	request		The picture to render
+			 * @param	output		The PNG file to write it to
+			 */
+			this.request = request;
+			this.output = output;
+		}
+	}
+
+	public abstract class Stage {
+		/**
+		 * A step of the pipeline, with its threads and the queue in front
+		 * of it. The last of its threads to run out of frames tells the
+		 * next stage that no more are coming.
+		 */
+		private final String name;
+		private final ArrayBlockingQueue<Frame> queue = new ArrayBlockingQueue<Frame>( QUEUE_CAPACITY );
+		private final Stage next;
+		private final ArrayList<Thread> threads = new ArrayList<Thread>();
+		private final AtomicInteger running = new AtomicInteger();
+		private final AtomicLong busyTime = new AtomicLong();		// Nanoseconds spent on frames, all threads together
+		private final AtomicLong blockedTime = new AtomicLong();	// Nanoseconds spent waiting for room in the next queue
+
+		public Stage( String name, int threadCount, Stage next ) {
+			/**
+			 * Constructor for the Stage object. Its threads start right away.
+			 *
+			 * @param	name		The name of the stage
+			 * @param	threadCount	The number of threads of the stage
+			 * @param	next		The stage the frames go to, or null for the last one
+			 */
+			Thread thread;
+
+			if ( threadCount < 1 ) {
+				ErrorHandler.printErrorMessage( name + " threads (" + threadCount + ") must be at least 1" );
+				threadCount = 1;
+			}
+			this.name = name;
+			this.next = next;
+			running.set( threadCount );
+			for ( int i = 0; i < threadCount; i++ ) {
+				thread = new Thread( new Runnable() {
+					public void run() {
+						work();
+					}
+				}, "Mandelbrot " + name + " " + ( i + 1 ) );
+				thread.setDaemon( true );
+				threads.add( thread );
+				thread.start();
+			}
+		}
+
+		/**
+		 * Does the work of the stage on a frame.
+		 *
+		 * @param	frame	The frame
+		 * @throws IOException	If the frame can't be written
+		 */
+		protected abstract void process( Frame frame ) throws IOException;
+
+		private void work() {
+			/**
+			 * Takes frames from the queue and processes them until the end
+			 * of the frames comes along. A frame that fails is dropped, and
+			 * the stage goes on with the next one. However a thread ends,
+			 * the last one tells the next stage, so finish never waits on a
+			 * stage that will not get its end.
+			 */
+			Frame frame;
+			boolean processed;
+			long frameStart;
+
+			try {
+				while ( ( frame = queue.take() ) != end ) {
+					frameStart = System.nanoTime();
+					try {
+						process( frame );
+						processed = true;
+					} catch ( IOException exc ) {
+						ErrorHandler.printErrorMessage( frame.output.getPath() + ": " + exc.getMessage() );
+						processed = false;
+					} catch ( Throwable exc ) {
+						// an Error too, such as running out of memory on a large picture
+						ErrorHandler.printErrorMessage( frame.output.getPath() + ": " + exc );
+						processed = false;
+					}
+					busyTime.addAndGet( System.nanoTime() - frameStart );
+					if ( !processed ) {
+						failed.incrementAndGet();
+					} else if ( next != null ) {
+						frameStart = System.nanoTime();
+						next.queue.put( frame );
+						blockedTime.addAndGet( System.nanoTime() - frameStart );
+					}
+				}
+			} catch ( InterruptedException exc ) {
+				Thread.currentThread().interrupt();
+			} finally {
+				if ( running.decrementAndGet() == 0 && next != null ) {
+					closeNext();
+				}
+			}
+		}
+
+		private void closeNext() {
+			/**
+			 * Tells the next stage that no more frames are coming. An
+			 * interrupt is held back until the end markers are queued, so
+			 * the next stage always gets them.
+			 */
+			boolean interrupted = Thread.interrupted();
+
+			for ( int i = 0; i < next.threads.size(); i++ ) {
+				while ( true ) {
+					try {
+						next.queue.put( end );
+						break;
+					} catch ( InterruptedException exc ) {
+						interrupted = true;
+					}
+				}
+			}
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void close() throws InterruptedException {
+			/**
+			 * Tells every thread of the stage that no more frames are coming.
+			 */
+			for ( int i = 0; i < threads.size(); i++ ) {
+				queue.put( end );
+			}
+		}
+
+		private void join() throws InterruptedException {
+			/**
+			 * Waits until every thread of the stage is done.
+			 */
+			for ( Thread thread : threads ) {
+				thread.join();
+			}
+		}
+
+		public String getName() {
+			/**
+			 * Gets the name of the stage.
+			 *
+			 * @return	The name
+			 */
+			return name;
+		}
+
+		public int getThreadCount() {
+			/**
+			 * Gets the number of threads of the stage.
+			 *
+			 * @return	The number of threads
+			 */
+			return threads.size();
+		}
+
+		public int getQueueDepth() {
+			/**
+			 * Gets the number of frames waiting in front of the stage.
+			 *
+			 * @return	The frames in the queue
+			 */
+			return queue.size();
+		}
+
+		public double getUtilization() {
+			/**
+			 * Gets the part of the time the threads of the stage spent on
+			 * frames, since the pipeline was made.
+			 *
+			 * @return	The utilization, from 0 to 1
+			 */
+			return (double)busyTime.get() / ( System.nanoTime() - start ) / threads.size();
+		}
+
+		public double getBlockedRatio() {
+			/**
+			 * Gets the part of the time the threads of the stage spent
+			 * waiting for the next stage to take their frames.
+			 *
+			 * @return	The blocked part of the time, from 0 to 1
+			 */
+			return (double)blockedTime.get() / ( System.nanoTime() - start ) / threads.size();
+		}
+
+		@Override
+		public String toString() {
+			/**
+			 * Describes the stage for the statistics.
+			 *
+			 * @return	The threads, queue and use of the stage
+			 */
+			return String.format( "%s: %d threads, %d/%d queued, %.0f%% busy, %.0f%% blocked", name, threads.size(),
+					queue.size(), QUEUE_CAPACITY, 100 * getUtilization(), 100 * getBlockedRatio() );
+		}
+	}
+}
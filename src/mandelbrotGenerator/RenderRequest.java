@@ -0,0 +1,222 @@
+/**
+* This is a request for a single Mandelbrot picture, for the RenderEngine.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public final class RenderRequest {
+	/**
+	 * Everything that decides what a picture looks like: the view with
+	 * its size, the fractal, the iterations and the coloring. A request
+	 * never changes once it is made, so it can be handed to other
+	 * threads and kept around to compare with. The gradient is shared
+	 * and not copied, so it shouldn't get colors added afterwards.
+	 */
+	public static final int ADAPTIVE_ITERATIONS = 0;	// Iteration limit that lets every picture pick its own
+	private final ViewPoint view;
+	private final FractalKernel kernel;
+	private final int iterationLimit;
+	private final Precision precision;
+	private final RenderStrategy renderStrategy;
+	private final ColorGradient gradient;
+	private final int colorLoops;
+	private final boolean distanceEstimation;
+	private final boolean diskFilling;
+
+	public RenderRequest( ViewPoint view ) {
+		/**
+		 * Constructor for the RenderRequest object, for the Mandelbrot Set
+		 * with adaptive iterations and the default colors.
+		 *
+		 * @param	view	The part of the plane to render, with the size of the picture
+		 */
+		this( view, new MandelbrotKernel(), ADAPTIVE_ITERATIONS, Precision.AUTOMATIC,
+				ColorGradient.getNamedGradient( ColorGradient.DEFAULT_GRADIENT ), MainWindow.COLOR_LOOPS );
+	}
+
+	public RenderRequest( ViewPoint view, FractalKernel kernel, int iterationLimit, Precision precision,
+			ColorGradient gradient, int colorLoops ) {
+		/**
+		 * Constructor for the RenderRequest object, colored by the
+		 * iterations.
+		 *
+		 * @param	view			The part of the plane to render, with the size of the picture
+		 * @param	kernel			The fractal to render
+		 * @param	iterationLimit	The maximum iterations, or ADAPTIVE_ITERATIONS
+		 * @param	precision		The numbers the pixels are calculated with
+		 * @param	gradient		The gradient the picture is colored with
+		 * @param	colorLoops		The number of times the gradient loops itself
+		 */
+		this( view, kernel, iterationLimit, precision, gradient, colorLoops, false, true );
+	}
+
+	public RenderRequest( ViewPoint view, FractalKernel kernel, int iterationLimit, Precision precision,
+			ColorGradient gradient, int colorLoops, boolean distanceEstimation, boolean diskFilling ) {
+		/**
+		 * Constructor for the RenderRequest object, iterating every pixel.
+		 *
+		 * @param	view			The part of the plane to render, with the size of the picture
+		 * @param	kernel			The fractal to render
+		 * @param	iterationLimit	The maximum iterations, or ADAPTIVE_ITERATIONS
+		 * @param	precision		The numbers the pixels are calculated with
+		 * @param	gradient		The gradient the picture is colored with
+		 * @param	colorLoops		The number of times the gradient loops itself
+		 * @param	distanceEstimation	True to color the picture by the distances to the set
+		 * @param	diskFilling		True to fill disks around the pixels far from the set
+		 */
+		this( view, kernel, iterationLimit, precision, RenderStrategy.BRUTE_FORCE, gradient, colorLoops,
+				distanceEstimation, diskFilling );
+	}
+
+	public RenderRequest( ViewPoint view, FractalKernel kernel, int iterationLimit, Precision precision,
+			RenderStrategy renderStrategy, ColorGradient gradient, int colorLoops, boolean distanceEstimation,
+			boolean diskFilling ) {
+		/**
+		 * Constructor for the RenderRequest object.
+		 *
+		 * @param	view			The part of the plane to render, with the size of the picture
+		 * @param	kernel			The fractal to render
+		 * @param	iterationLimit	The maximum iterations, or ADAPTIVE_ITERATIONS
+		 * @param	precision		The numbers the pixels are calculated with
+		 * @param	renderStrategy	The way the picture is walked, see MandelbrotAlgorithm.setRenderStrategy
+		 * @param	gradient		The gradient the picture is colored with
+		 * @param	colorLoops		The number of times the gradient loops itself
+		 * @param	distanceEstimation	True to color the picture by the distances to the set
+		 * @param	diskFilling		True to fill disks around the pixels far from the set
+		 */
+		if ( view == null ) {
+			throw new IllegalArgumentException( "a render request needs a view" );
+		}
+		if ( iterationLimit < 0 ) {
+			ErrorHandler.printErrorMessage( "iteration limit (" + iterationLimit + ") must not be negative" );
+			iterationLimit = ADAPTIVE_ITERATIONS;
+		}
+		if ( colorLoops < 1 ) {
+			ErrorHandler.printErrorMessage( "color loops (" + colorLoops + ") must be at least 1" );
+			colorLoops = 1;
+		}
+		this.view = view;
+		this.kernel = kernel != null ? kernel : new MandelbrotKernel();
+		this.iterationLimit = iterationLimit;
+		this.precision = precision != null ? precision : Precision.AUTOMATIC;
+		this.renderStrategy = renderStrategy != null ? renderStrategy : RenderStrategy.BRUTE_FORCE;
+		this.gradient = gradient != null ? gradient : ColorGradient.getNamedGradient( ColorGradient.DEFAULT_GRADIENT );
+		this.colorLoops = colorLoops;
+		this.distanceEstimation = distanceEstimation;
+		this.diskFilling = diskFilling;
+	}
+
+	public ViewPoint getView() {
+		/**
+		 * Gets the part of the plane to render.
+		 *
+		 * @return	The view, with the size of the picture
+		 */
+		return view;
+	}
+
+	public int getWidth() {
+		/**
+		 * Gets the width of the picture.
+		 *
+		 * @return	The width in pixels
+		 */
+		return view.getWidth();
+	}
+
+	public int getHeight() {
+		/**
+		 * Gets the height of the picture.
+		 *
+		 * @return	The height in pixels
+		 */
+		return view.getHeight();
+	}
+
+	public FractalKernel getKernel() {
+		/**
+		 * Gets the fractal to render.
+		 *
+		 * @return	The kernel
+		 */
+		return kernel;
+	}
+
+	public int getIterationLimit() {
+		/**
+		 * Gets the maximum iterations of the picture.
+		 *
+		 * @return	The iteration limit, or ADAPTIVE_ITERATIONS
+		 */
+		return iterationLimit;
+	}
+
+	public boolean isAdaptiveIterations() {
+		/**
+		 * Checks if the picture picks its own iterations.
+		 *
+		 * @return	True if the iterations are adaptive
+		 */
+		return iterationLimit == ADAPTIVE_ITERATIONS;
+	}
+
+	public Precision getPrecision() {
+		/**
+		 * Gets the numbers the pixels are calculated with.
+		 *
+		 * @return	The precision
+		 */
+		return precision;
+	}
+
+	public RenderStrategy getRenderStrategy() {
+		/**
+		 * Gets the way the picture is walked.
+		 *
+		 * @return	The render strategy
+		 */
+		return renderStrategy;
+	}
+
+	public ColorGradient getGradient() {
+		/**
+		 * Gets the gradient the picture is colored with.
+		 *
+		 * @return	The gradient
+		 */
+		return gradient;
+	}
+
+	public int getColorLoops() {
+		/**
+		 * Gets the number of times the gradient loops itself.
+		 *
+		 * @return	The color loops
+		 */
+		return colorLoops;
+	}
+
+	public boolean isDistanceEstimation() {
+		/**
+		 * Checks if the distances of the pixels to the set are estimated,
+		 * see MandelbrotAlgorithm.setDistanceEstimation.
+		 *
+		 * @return	True if the picture is colored by the distances
+		 */
+		return distanceEstimation;
+	}
+
+	public boolean isDiskFilling() {
+		/**
+		 * Checks if the pixels far from the set fill the disks around
+		 * them, see MandelbrotAlgorithm.setDiskFilling.
+		 *
+		 * @return	True if disks are filled
+		 */
+		return diskFilling;
+	}
+}
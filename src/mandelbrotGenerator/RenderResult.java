@@ -0,0 +1,140 @@
+/**
+* This is a finished Mandelbrot picture from the RenderEngine.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.awt.image.BufferedImage;
+
+public final class RenderResult {
+	/**
+	 * The iterations and the colored image of a RenderRequest, together
+	 * with what the picture ended up using and how long it took. The
+	 * buffer and the image belong to this result alone, so nothing else
+	 * writes to them once it has been handed out.
+	 */
+	private final RenderRequest request;
+	private final IterationBuffer iterationBuffer;
+	private final BufferedImage image;
+	private final int maxIterations;
+	private final Precision precision;
+	private final boolean distances;
+	private final boolean completed;
+	private final long generationTime;
+	private final long coloringTime;
+
+	public RenderResult( RenderRequest request, IterationBuffer iterationBuffer, BufferedImage image,
+			int maxIterations, Precision precision, boolean distances, boolean completed, long generationTime,
+			long coloringTime ) {
+		/**
+		 * Constructor for the RenderResult object.
+		 *
+		 * @param	request			The request that was rendered
+		 * @param	iterationBuffer	The iterations of every pixel
+		 * @param	image			The colored picture
+		 * @param	maxIterations	The maximum iterations the picture used
+		 * @param	precision		The precision the picture used
+		 * @param	distances		True if the buffer holds the distances of the pixels
+		 * @param	completed		False if the render was cancelled
+		 * @param	generationTime	Nanoseconds the iterations took
+		 * @param	coloringTime	Nanoseconds the coloring took
+		 */
+		this.request = request;
+		this.iterationBuffer = iterationBuffer;
+		this.image = image;
+		this.maxIterations = maxIterations;
+		this.precision = precision;
+		this.distances = distances;
+		this.completed = completed;
+		this.generationTime = generationTime;
+		this.coloringTime = coloringTime;
+	}
+
+	public RenderRequest getRequest() {
+		/**
+		 * Gets the request that was rendered.
+		 *
+		 * @return	The request
+		 */
+		return request;
+	}
+
+	public IterationBuffer getIterationBuffer() {
+		/**
+		 * Gets the iterations of every pixel.
+		 *
+		 * @return	The iteration buffer
+		 */
+		return iterationBuffer;
+	}
+
+	public BufferedImage getImage() {
+		/**
+		 * Gets the colored picture.
+		 *
+		 * @return	The image
+		 */
+		return image;
+	}
+
+	public int getMaxIterations() {
+		/**
+		 * Gets the maximum iterations the picture used, which adaptive
+		 * requests only know once they are rendered.
+		 *
+		 * @return	The maximum iterations
+		 */
+		return maxIterations;
+	}
+
+	public Precision getPrecision() {
+		/**
+		 * Gets the precision the picture was calculated with.
+		 *
+		 * @return	The precision of the frame
+		 */
+		return precision;
+	}
+
+	public boolean hasDistances() {
+		/**
+		 * Checks if the distances of the iteration buffer belong to the
+		 * picture, which is only so for distance estimated pictures that
+		 * the kernel and the precision could estimate.
+		 *
+		 * @return	True if the picture has the distances of its pixels
+		 */
+		return distances;
+	}
+
+	public boolean isCompleted() {
+		/**
+		 * Checks if the picture was completed.
+		 *
+		 * @return	False if the render was cancelled
+		 */
+		return completed;
+	}
+
+	public long getGenerationTime() {
+		/**
+		 * Gets how long the iterations took.
+		 *
+		 * @return	The time in nanoseconds
+		 */
+		return generationTime;
+	}
+
+	public long getColoringTime() {
+		/**
+		 * Gets how long the coloring took.
+		 *
+		 * @return	The time in nanoseconds
+		 */
+		return coloringTime;
+	}
+}
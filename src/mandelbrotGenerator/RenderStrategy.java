@@ -0,0 +1,44 @@
+/**
+* This determines the strategies for rendering the Mandelbrot picture.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+public enum RenderStrategy {
+	/**
+	 * The ways the TileRenderer can walk the picture.
+	 */
+
+	BRUTE_FORCE,		// Every pixel is iterated, tile by tile
+	MARIANI_SILVER,		// Rectangles with a uniform border are filled without iterating their inside
+	SOLID_GUESSING;		// Coarse to fine passes, guessing pixels whose neighbors agree
+
+	public String getName() {
+		/**
+		 * Gets the name of the strategy for the command line and the
+		 * settings, such as mariani-silver.
+		 *
+		 * @return	The name, in lower case
+		 */
+		return name().toLowerCase().replace( '_', '-' );
+	}
+
+	public static RenderStrategy getNamedStrategy( String name ) {
+		/**
+		 * Gets a strategy by its name, ignoring case.
+		 *
+		 * @param	name	The name of a strategy, see getName
+		 * @return			The strategy, or null if there is none by that name
+		 */
+		for ( RenderStrategy strategy : values() ) {
+			if ( strategy.getName().equalsIgnoreCase( name ) ) {
+				return strategy;
+			}
+		}
+		return null;
+	}
+}
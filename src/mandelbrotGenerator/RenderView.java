@@ -0,0 +1,43 @@
+/**
+* This is the interface for the view that a Mandelbrot picture is made of.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.math.BigDecimal;
+
+public interface RenderView {
+	/**
+	 * Tells the MandelbrotAlgorithm which part of the plane to generate.
+	 * The MainWindow is one, for whatever the window is showing, and a
+	 * ViewPoint is one for a fixed spot, so the algorithm doesn't need
+	 * a window to work.
+	 */
+
+	/**
+	 * Gets the transformation matrix from pixels to Mandelbrot coordinates.
+	 *
+	 * @return	The pixel to Mandelbrot transformation matrix
+	 */
+	public MathMatrix getTransformationMatrix();
+
+	/**
+	 * Gets the real part of the center of the view, with as many digits
+	 * as the zoom level needs.
+	 *
+	 * @return	The exact real part of the center
+	 */
+	public BigDecimal getCenterReal();
+
+	/**
+	 * Gets the imaginary part of the center of the view, with as many
+	 * digits as the zoom level needs.
+	 *
+	 * @return	The exact imaginary part of the center
+	 */
+	public BigDecimal getCenterImaginary();
+}
@@ -9,6 +9,8 @@ package mandelbrotGenerator;
 
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -31,18 +33,29 @@ public class SettingsDialog extends JDialog {
 	 *
 	 */
 	private static final long serialVersionUID = 1L;
+	public static final String ADAPTIVE_ITERATIONS = "Auto";	// Iterations text for picking them per picture
 	private final JPanel contentPanel = new JPanel();
-	private JTextField textField;
+	private MainWindow owner;
+	private JTextField iterationsField;
 	private JTextField textField_1;
 	private JTextField textField_2;
 	private JTextField textField_3;
 	private JTextField textField_4;
+	private JCheckBox antialiasingCheckBox;
+	private JCheckBox distanceCheckBox;
+	private JCheckBox diskFillingCheckBox;
+	private JComboBox<String> precisionComboBox;
+	private JComboBox<String> strategyComboBox;
 
 	/**
 	 * Create the dialog.
+	 *
+	 * @param  owner	Parent program. Cannot be null.
 	 */
-	public SettingsDialog() {
-		setBounds(100, 100, 450, 536);
+	public SettingsDialog( final MainWindow owner ) {
+		super( owner, "Settings" );
+		this.owner = owner;
+		setBounds(100, 100, 450, 596);
 		getContentPane().setLayout(new BorderLayout());
 		contentPanel.setBorder(new EmptyBorder(5, 5, 5, 5));
 		getContentPane().add(contentPanel, BorderLayout.CENTER);
@@ -78,14 +91,16 @@ public class SettingsDialog extends JDialog {
 						mandelbrotInnerPanel.add(lblIterations, gbc_lblIterations);
 					}
 					{
-						textField = new JTextField();
-						GridBagConstraints gbc_textField = new GridBagConstraints();
-						gbc_textField.insets = new Insets(0, 0, 5, 0);
-						gbc_textField.fill = GridBagConstraints.HORIZONTAL;
-						gbc_textField.gridx = 2;
-						gbc_textField.gridy = 0;
-						mandelbrotInnerPanel.add(textField, gbc_textField);
-						textField.setColumns(10);
+						iterationsField = new JTextField();
+						iterationsField.setToolTipText( "A whole number, or " + ADAPTIVE_ITERATIONS
+								+ " to pick them for every picture from the zoom level and the picture itself" );
+						GridBagConstraints gbc_iterationsField = new GridBagConstraints();
+						gbc_iterationsField.insets = new Insets(0, 0, 5, 0);
+						gbc_iterationsField.fill = GridBagConstraints.HORIZONTAL;
+						gbc_iterationsField.gridx = 2;
+						gbc_iterationsField.gridy = 0;
+						mandelbrotInnerPanel.add(iterationsField, gbc_iterationsField);
+						iterationsField.setColumns(10);
 					}
 					{
 						JLabel lblStartingXCoordinate = new JLabel("Starting X Coordinate");
@@ -148,7 +163,7 @@ public class SettingsDialog extends JDialog {
 		}
 
 		JPanel displaySettingsPanel = new JPanel();
-		displaySettingsPanel.setBounds(10, 157, 414, 262);
+		displaySettingsPanel.setBounds(10, 157, 414, 322);
 		displaySettingsPanel.setBorder( BorderFactory.createTitledBorder( "Display Settings" ) );
 		contentPanel.add(displaySettingsPanel);
 		displaySettingsPanel.setLayout(new BorderLayout(0, 0));
@@ -163,9 +178,9 @@ public class SettingsDialog extends JDialog {
 				displayBezelPanel.add(displayInnerPanel);
 				GridBagLayout gbl_displayInnerPanel = new GridBagLayout();
 				gbl_displayInnerPanel.columnWidths = new int[]{0, 0, 0, 0, 0};
-				gbl_displayInnerPanel.rowHeights = new int[]{0, 0, 0, 19, 0, 0};
+				gbl_displayInnerPanel.rowHeights = new int[]{0, 0, 0, 19, 19, 19, 0, 0, 0, 0};
 				gbl_displayInnerPanel.columnWeights = new double[]{0.0, 0.0, 0.0, 1.0, Double.MIN_VALUE};
-				gbl_displayInnerPanel.rowWeights = new double[]{0.0, 0.0, 0.0, 0.0, 1.0, Double.MIN_VALUE};
+				gbl_displayInnerPanel.rowWeights = new double[]{0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 1.0, Double.MIN_VALUE};
 				displayInnerPanel.setLayout(gbl_displayInnerPanel);
 				{
 					JLabel lblGradient = new JLabel("Gradient");
@@ -233,13 +248,98 @@ public class SettingsDialog extends JDialog {
 					displayInnerPanel.add(lblAntialiasing, gbc_lblAntialiasing);
 				}
 				{
-					JCheckBox checkBox = new JCheckBox("");
-					GridBagConstraints gbc_checkBox = new GridBagConstraints();
-					gbc_checkBox.anchor = GridBagConstraints.EAST;
-					gbc_checkBox.insets = new Insets(0, 0, 5, 0);
-					gbc_checkBox.gridx = 3;
-					gbc_checkBox.gridy = 3;
-					displayInnerPanel.add(checkBox, gbc_checkBox);
+					antialiasingCheckBox = new JCheckBox("");
+					antialiasingCheckBox.setToolTipText( "Supersample the pixels on the edges of the picture" );
+					GridBagConstraints gbc_antialiasingCheckBox = new GridBagConstraints();
+					gbc_antialiasingCheckBox.anchor = GridBagConstraints.EAST;
+					gbc_antialiasingCheckBox.insets = new Insets(0, 0, 5, 0);
+					gbc_antialiasingCheckBox.gridx = 3;
+					gbc_antialiasingCheckBox.gridy = 3;
+					displayInnerPanel.add(antialiasingCheckBox, gbc_antialiasingCheckBox);
+				}
+				{
+					JLabel lblDistance = new JLabel("Distance Estimation");
+					GridBagConstraints gbc_lblDistance = new GridBagConstraints();
+					gbc_lblDistance.anchor = GridBagConstraints.WEST;
+					gbc_lblDistance.insets = new Insets(0, 0, 5, 5);
+					gbc_lblDistance.gridx = 0;
+					gbc_lblDistance.gridy = 4;
+					displayInnerPanel.add(lblDistance, gbc_lblDistance);
+				}
+				{
+					distanceCheckBox = new JCheckBox("");
+					distanceCheckBox.setToolTipText( "Draw the boundary of the set by the distance of every pixel to it" );
+					GridBagConstraints gbc_distanceCheckBox = new GridBagConstraints();
+					gbc_distanceCheckBox.anchor = GridBagConstraints.EAST;
+					gbc_distanceCheckBox.insets = new Insets(0, 0, 5, 0);
+					gbc_distanceCheckBox.gridx = 3;
+					gbc_distanceCheckBox.gridy = 4;
+					displayInnerPanel.add(distanceCheckBox, gbc_distanceCheckBox);
+				}
+				{
+					JLabel lblDiskFilling = new JLabel("Disk Filling");
+					GridBagConstraints gbc_lblDiskFilling = new GridBagConstraints();
+					gbc_lblDiskFilling.anchor = GridBagConstraints.WEST;
+					gbc_lblDiskFilling.insets = new Insets(0, 0, 5, 5);
+					gbc_lblDiskFilling.gridx = 0;
+					gbc_lblDiskFilling.gridy = 5;
+					displayInnerPanel.add(lblDiskFilling, gbc_lblDiskFilling);
+				}
+				{
+					diskFillingCheckBox = new JCheckBox("");
+					diskFillingCheckBox.setToolTipText( "Skip the pixels near the ones far from the set, with distance estimation" );
+					GridBagConstraints gbc_diskFillingCheckBox = new GridBagConstraints();
+					gbc_diskFillingCheckBox.anchor = GridBagConstraints.EAST;
+					gbc_diskFillingCheckBox.insets = new Insets(0, 0, 5, 0);
+					gbc_diskFillingCheckBox.gridx = 3;
+					gbc_diskFillingCheckBox.gridy = 5;
+					displayInnerPanel.add(diskFillingCheckBox, gbc_diskFillingCheckBox);
+				}
+				{
+					JLabel lblPrecision = new JLabel("Precision");
+					GridBagConstraints gbc_lblPrecision = new GridBagConstraints();
+					gbc_lblPrecision.anchor = GridBagConstraints.WEST;
+					gbc_lblPrecision.insets = new Insets(0, 0, 5, 5);
+					gbc_lblPrecision.gridx = 0;
+					gbc_lblPrecision.gridy = 6;
+					displayInnerPanel.add(lblPrecision, gbc_lblPrecision);
+				}
+				{
+					precisionComboBox = new JComboBox<String>();
+					for ( Precision precision : Precision.values() ) {
+						precisionComboBox.addItem( precision.getName() );
+					}
+					precisionComboBox.setToolTipText( "The numbers the pixels are calculated with; automatic picks them"
+							+ " from the zoom level" );
+					GridBagConstraints gbc_precisionComboBox = new GridBagConstraints();
+					gbc_precisionComboBox.insets = new Insets(0, 0, 5, 0);
+					gbc_precisionComboBox.fill = GridBagConstraints.HORIZONTAL;
+					gbc_precisionComboBox.gridx = 3;
+					gbc_precisionComboBox.gridy = 6;
+					displayInnerPanel.add(precisionComboBox, gbc_precisionComboBox);
+				}
+				{
+					JLabel lblStrategy = new JLabel("Render Strategy");
+					GridBagConstraints gbc_lblStrategy = new GridBagConstraints();
+					gbc_lblStrategy.anchor = GridBagConstraints.WEST;
+					gbc_lblStrategy.insets = new Insets(0, 0, 5, 5);
+					gbc_lblStrategy.gridx = 0;
+					gbc_lblStrategy.gridy = 7;
+					displayInnerPanel.add(lblStrategy, gbc_lblStrategy);
+				}
+				{
+					strategyComboBox = new JComboBox<String>();
+					for ( RenderStrategy strategy : RenderStrategy.values() ) {
+						strategyComboBox.addItem( strategy.getName() );
+					}
+					strategyComboBox.setToolTipText( "How the picture is walked; the last two fill areas whose edges"
+							+ " agree without iterating them" );
+					GridBagConstraints gbc_strategyComboBox = new GridBagConstraints();
+					gbc_strategyComboBox.insets = new Insets(0, 0, 5, 0);
+					gbc_strategyComboBox.fill = GridBagConstraints.HORIZONTAL;
+					gbc_strategyComboBox.gridx = 3;
+					gbc_strategyComboBox.gridy = 7;
+					displayInnerPanel.add(strategyComboBox, gbc_strategyComboBox);
 				}
 				{
 					JLabel lblResolutions = new JLabel("Resolutions");
@@ -247,7 +347,7 @@ public class SettingsDialog extends JDialog {
 					gbc_lblResolutions.anchor = GridBagConstraints.WEST;
 					gbc_lblResolutions.insets = new Insets(0, 0, 0, 5);
 					gbc_lblResolutions.gridx = 0;
-					gbc_lblResolutions.gridy = 4;
+					gbc_lblResolutions.gridy = 8;
 					displayInnerPanel.add(lblResolutions, gbc_lblResolutions);
 				}
 				{
@@ -256,7 +356,7 @@ public class SettingsDialog extends JDialog {
 					GridBagConstraints gbc_list = new GridBagConstraints();
 					gbc_list.fill = GridBagConstraints.BOTH;
 					gbc_list.gridx = 3;
-					gbc_list.gridy = 4;
+					gbc_list.gridy = 8;
 					displayInnerPanel.add(list, gbc_list);
 				}
 			}
@@ -268,16 +368,33 @@ public class SettingsDialog extends JDialog {
 			{
 				JButton okButton = new JButton("OK");
 				okButton.setActionCommand("OK");
+				okButton.addActionListener( new ActionListener() {
+					public void actionPerformed( ActionEvent arg0 ) {
+						if ( applySettings() ) {
+							setVisible( false );
+						}
+					}
+				});
 				buttonPane.add(okButton);
 				getRootPane().setDefaultButton(okButton);
 			}
 			{
 				JButton cancelButton = new JButton("Cancel");
 				cancelButton.setActionCommand("Cancel");
+				cancelButton.addActionListener( new ActionListener() {
+					public void actionPerformed( ActionEvent arg0 ) {
+						setVisible( false );
+					}
+				});
 				buttonPane.add(cancelButton);
 			}
 			{
 				JButton applyButton = new JButton("Apply");
+				applyButton.addActionListener( new ActionListener() {
+					public void actionPerformed( ActionEvent arg0 ) {
+						applySettings();
+					}
+				});
 				buttonPane.add(applyButton);
 			}
 		}
@@ -286,4 +403,58 @@ public class SettingsDialog extends JDialog {
 			getContentPane().add(panel, BorderLayout.NORTH);
 		}
 	}
+
+	public void updateSettings() {
+		/**
+		 * Fills the boxes with the current settings of the parent program.
+		 */
+		MandelbrotAlgorithm mandelbrotSet = owner.getMandelbrotSet();
+		if ( mandelbrotSet.isAdaptiveIterations() ) {
+			iterationsField.setText( ADAPTIVE_ITERATIONS );
+		} else {
+			iterationsField.setText( Integer.toString( mandelbrotSet.getIterationLimit() ) );
+		}
+		antialiasingCheckBox.setSelected( mandelbrotSet.isAntialiasing() );
+		distanceCheckBox.setSelected( mandelbrotSet.isDistanceEstimation() );
+		diskFillingCheckBox.setSelected( mandelbrotSet.isDiskFilling() );
+		precisionComboBox.setSelectedItem( mandelbrotSet.getPrecision().getName() );
+		strategyComboBox.setSelectedItem( mandelbrotSet.getRenderStrategy().getName() );
+	}
+
+	public boolean applySettings() {
+		/**
+		 * Parses the settings in the boxes and hands them to the parent
+		 * program. If a setting is invalid, then it prints out an error
+		 * dialog and nothing is changed.
+		 *
+		 * @return	True if the settings were applied
+		 */
+		String iterations = iterationsField.getText().trim();
+		int iterationLimit;
+
+		if ( iterations.equalsIgnoreCase( ADAPTIVE_ITERATIONS ) ) {
+			owner.setAntialiasing( antialiasingCheckBox.isSelected() );
+			owner.setDistanceEstimation( distanceCheckBox.isSelected(), diskFillingCheckBox.isSelected() );
+			owner.setPrecision( Precision.getNamedPrecision( (String)precisionComboBox.getSelectedItem() ) );
+			owner.setRenderStrategy( RenderStrategy.getNamedStrategy( (String)strategyComboBox.getSelectedItem() ) );
+			owner.setIterations( true, 0 );
+			return true;
+		}
+		try {
+			iterationLimit = Integer.parseInt( iterations );
+		} catch ( NumberFormatException exc ) {
+			iterationLimit = 0;
+		}
+		if ( iterationLimit < 1 ) {
+			ErrorHandler.printVerboseErrorDialog( "Parse error: Iterations must be a whole number of at least 1, or "
+					+ ADAPTIVE_ITERATIONS + "." );
+			return false;
+		}
+		owner.setAntialiasing( antialiasingCheckBox.isSelected() );
+		owner.setDistanceEstimation( distanceCheckBox.isSelected(), diskFillingCheckBox.isSelected() );
+		owner.setPrecision( Precision.getNamedPrecision( (String)precisionComboBox.getSelectedItem() ) );
+		owner.setRenderStrategy( RenderStrategy.getNamedStrategy( (String)strategyComboBox.getSelectedItem() ) );
+		owner.setIterations( false, iterationLimit );
+		return true;
+	}
 }
@@ -0,0 +1,381 @@
+/**
+* This is the renderer for pictures too large to keep in memory.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+public class StripRenderer {
+	/**
+	 * Renders a picture as a column of strips, full width bands of rows
+	 * that are each a RenderRequest of their own, and streams every
+	 * strip into a PngStreamWriter as soon as it and the strips above it
+	 * are done. The engine renders a few strips at the same time, and
+	 * only a few more are allowed to wait for the writer, so the memory
+	 * used stays at a few strips whatever the size of the picture.
+	 *
+	 * Adaptive iterations would pick a different limit for every strip,
+	 * which shows as seams, so the limit is picked once from a preview of
+	 * the whole view and used for all the strips.
+	 *
+	 * Progress and throughput are printed about once a second.
+	 *
+	 * Every finished strip is also recorded in a RenderJournal next to
+	 * the picture. If the render gets stopped, running it again with the
+	 * same view, size and iterations takes the recorded strips from the
+	 * journal instead of rendering them, and only writes the PNG file
+	 * again. The journal is deleted once the picture is done. Pictures
+	 * colored by distance estimation aren't journaled, as the journal
+	 * only keeps the iterations.
+	 */
+	public static final int STRIP_PIXELS = 1 << 19;		// Pixels in a strip, about 22 MB with its iterations
+	public static final long PROGRESS_INTERVAL = 1000;		// Milliseconds between progress reports
+	private final RenderEngine engine;
+	private final FractalKernel kernel;
+	private final int iterationLimit;
+	private final ColorGradient gradient;
+	private final int colorLoops;
+	private Precision precision = Precision.AUTOMATIC;
+	private RenderStrategy renderStrategy = RenderStrategy.BRUTE_FORCE;
+	private boolean distanceEstimation = false;
+	private boolean diskFilling = true;
+	private boolean journaling = true;
+
+	public StripRenderer( RenderEngine engine, FractalKernel kernel, int iterationLimit, ColorGradient gradient, int colorLoops ) {
+		/**
+		 * Constructor for the StripRenderer object.
+		 *
+		 * @param	engine			The engine the strips are rendered with
+		 * @param	kernel			The fractal to render
+		 * @param	iterationLimit	The maximum iterations, or RenderRequest.ADAPTIVE_ITERATIONS
+		 * @param	gradient		The gradient the pictures are colored with
+		 * @param	colorLoops		The number of times the gradient loops itself
+		 */
+		this.engine = engine;
+		this.kernel = kernel;
+		this.iterationLimit = iterationLimit;
+		this.gradient = gradient;
+		this.colorLoops = colorLoops;
+	}
+
+	public boolean isJournaling() {
+		/**
+		 * Checks if the finished strips are recorded in a journal.
+		 *
+		 * @return	True if pictures can be resumed
+		 */
+		return journaling;
+	}
+
+	public void setJournaling( boolean journaling ) {
+		/**
+		 * Sets if the finished strips are recorded in a journal. The
+		 * journal takes 8 bytes per pixel on the disk while the picture
+		 * is being rendered.
+		 *
+		 * @param	journaling	True to make pictures resumable
+		 */
+		this.journaling = journaling;
+	}
+
+	public Precision getPrecision() {
+		/**
+		 * Gets the precision the pictures are calculated with.
+		 *
+		 * @return	The precision
+		 */
+		return precision;
+	}
+
+	public void setPrecision( Precision precision ) {
+		/**
+		 * Sets the precision the pictures are calculated with, see
+		 * MandelbrotAlgorithm.setPrecision.
+		 *
+		 * @param	precision	The precision
+		 */
+		this.precision = precision;
+	}
+
+	public RenderStrategy getRenderStrategy() {
+		/**
+		 * Gets the way the pictures are walked.
+		 *
+		 * @return	The render strategy
+		 */
+		return renderStrategy;
+	}
+
+	public void setRenderStrategy( RenderStrategy renderStrategy ) {
+		/**
+		 * Sets the way the pictures are walked, see
+		 * MandelbrotAlgorithm.setRenderStrategy.
+		 *
+		 * @param	renderStrategy	The render strategy
+		 */
+		this.renderStrategy = renderStrategy;
+	}
+
+	public boolean isDistanceEstimation() {
+		/**
+		 * Checks if the pictures are colored by the distances to the set.
+		 *
+		 * @return	True if the distances are estimated
+		 */
+		return distanceEstimation;
+	}
+
+	public void setDistanceEstimation( boolean distanceEstimation ) {
+		/**
+		 * Sets if the pictures are colored by the distances to the set,
+		 * which draws its boundary as a line, see
+		 * MandelbrotAlgorithm.setDistanceEstimation.
+		 * The journal only keeps the iterations, so pictures with
+		 * distances aren't journaled.
+		 *
+		 * @param	distanceEstimation	True to estimate the distances
+		 */
+		this.distanceEstimation = distanceEstimation;
+	}
+
+	public boolean isDiskFilling() {
+		/**
+		 * Checks if the pixels far from the set fill the disks around
+		 * them when the distances are estimated.
+		 *
+		 * @return	True if disks are filled
+		 */
+		return diskFilling;
+	}
+
+	public void setDiskFilling( boolean diskFilling ) {
+		/**
+		 * Sets if the pixels far from the set fill the disks around them
+		 * when the distances are estimated, see
+		 * MandelbrotAlgorithm.setDiskFilling.
+		 *
+		 * @param	diskFilling		True to fill disks
+		 */
+		this.diskFilling = diskFilling;
+	}
+
+	public static int getStripHeight( int width ) {
+		/**
+		 * Gets the number of rows in a strip of a picture.
+		 *
+		 * @param	width	The width of the picture in pixels
+		 * @return			The rows per strip, at least 1
+		 */
+		return Math.max( STRIP_PIXELS / width, 1 );
+	}
+
+	public void render( ViewPoint view, File output ) throws IOException {
+		/**
+		 * Renders a view strip by strip into a PNG file, resuming from its
+		 * journal if there is one. If anything goes wrong, the unfinished
+		 * file and the journal are left behind.
+		 *
+		 * @param	view	The view to render, with the size of the picture
+		 * @param	output	The PNG file to write
+		 * @throws IOException	If the file can't be written, or a strip fails
+		 */
+		int width = view.getWidth();
+		int height = view.getHeight();
+		int stripHeight = getStripHeight( width );
+		int stripCount = ( height + stripHeight - 1 ) / stripHeight;
+		int stripsAhead = engine.getMaxRequests() + 1;
+		int limit = iterationLimit;
+		int nextStrip = 0;
+		int resumed = 0;
+		File journalFile = new File( output.getPath() + RenderJournal.FILE_EXTENSION );
+		RenderJournal journal = null;
+		LinkedList<Future<RenderResult>> strips = new LinkedList<Future<RenderResult>>();	// null for recorded strips
+		PngStreamWriter writer = null;
+		Future<RenderResult> next;
+		BufferedImage image;
+		double[] recorded;
+		long start = System.nanoTime();
+		long lastReport = start;
+		long now;
+
+		try {
+			if ( journaling && !distanceEstimation ) {
+				journal = new RenderJournal( journalFile, view.getCenterReal() + " " + view.getCenterImaginary() + " "
+						+ view.getZoomLevel() + " " + iterationLimit + " " + kernel + " " + precision.getName() + " "
+						+ renderStrategy.getName(), width, height, stripHeight );
+				if ( journal.getDoneCount() > 0 ) {
+					System.out.println( String.format( "%s: resuming, %d of %d strips are in %s", output.getPath(),
+							journal.getDoneCount(), stripCount, journalFile.getPath() ) );
+				}
+				limit = journal.getIterationLimit();
+			}
+			if ( limit == RenderRequest.ADAPTIVE_ITERATIONS ) {
+				limit = iterationLimit != RenderRequest.ADAPTIVE_ITERATIONS ? iterationLimit : engine.pickIterations( view, kernel );
+				if ( journal != null ) {
+					journal.setIterationLimit( limit );
+				}
+			}
+			writer = new PngStreamWriter( new FileOutputStream( output ), width, height );
+			for ( int strip = 0; strip < stripCount; strip++ ) {
+				while ( strips.size() < stripsAhead && nextStrip < stripCount ) {
+					if ( journal != null && journal.isDone( nextStrip ) ) {
+						strips.add( null );
+					} else {
+						strips.add( engine.submit( getStripRequest( view, nextStrip, stripHeight, limit ) ) );
+					}
+					nextStrip++;
+				}
+				next = strips.remove();
+				recorded = next == null ? journal.read( strip ) : null;
+				if ( recorded != null ) {
+					image = colorStrip( recorded, width, journal.getRows( strip ), limit );
+					resumed++;
+				} else if ( next != null && journal != null && journal.isDone( strip ) ) {
+					// recorded early, while an earlier strip was being waited for
+					image = next.get().getImage();
+				} else {
+					// a strip whose checksum failed is rendered again right here
+					image = record( journal, strip, next != null ? next.get()
+							: engine.render( getStripRequest( view, strip, stripHeight, limit ), null ) );
+				}
+				if ( journal != null ) {
+					// record the strips that finished while this one was being waited for
+					for ( int i = 0; i < strips.size(); i++ ) {
+						if ( strips.get( i ) != null && strips.get( i ).isDone() && !journal.isDone( strip + 1 + i ) ) {
+							record( journal, strip + 1 + i, strips.get( i ).get() );
+						}
+					}
+				}
+				writeStrip( writer, image );
+				now = System.nanoTime();
+				if ( now - lastReport >= PROGRESS_INTERVAL * 1000000 ) {
+					lastReport = now;
+					printProgress( output, writer.getRowsWritten(), height, width, now - start );
+				}
+			}
+			writer.finish();
+		} catch ( ExecutionException exc ) {
+			throw new IOException( "a strip failed", exc.getCause() );
+		} catch ( InterruptedException exc ) {
+			Thread.currentThread().interrupt();
+			throw new IOException( "interrupted", exc );
+		} finally {
+			for ( Future<RenderResult> waiting : strips ) {
+				if ( waiting != null ) {
+					waiting.cancel( false );
+				}
+			}
+			if ( writer != null ) {
+				writer.close();
+			}
+			if ( journal != null ) {
+				journal.close();
+			}
+		}
+		if ( journal != null && !journalFile.delete() ) {
+			// a mapped file can't be deleted on some systems until the mappings are collected
+			journalFile.deleteOnExit();
+		}
+		now = System.nanoTime();
+		System.out.println( String.format( "%s: %dx%d, zoom level %d, %d iterations, %d strips of %d rows,"
+				+ " %d from the journal, done in %d ms, %.1f Mpixels/s", output.getPath(), width, height,
+				view.getZoomLevel(), limit, stripCount, stripHeight, resumed, ( now - start ) / 1000000,
+				(double)width * height * 1000 / ( now - start ) ) );
+	}
+
+	private RenderRequest getStripRequest( ViewPoint view, int strip, int stripHeight, int limit ) {
+		/**
+		 * Makes the request for a strip of a picture.
+		 *
+		 * @param	view		The view of the whole picture
+		 * @param	strip		The number of the strip, from the top
+		 * @param	stripHeight	The rows in every strip but the last
+		 * @param	limit		The maximum iterations of the picture
+		 * @return				The request
+		 */
+		int y = strip * stripHeight;
+
+		return new RenderRequest( view.getStrip( y, Math.min( stripHeight, view.getHeight() - y ) ),
+				kernel, limit, precision, renderStrategy, gradient, colorLoops, distanceEstimation, diskFilling );
+	}
+
+	private static BufferedImage record( RenderJournal journal, int strip, RenderResult result ) throws IOException {
+		/**
+		 * Records a rendered strip in the journal, if there is one.
+		 *
+		 * @param	journal	The journal, or null
+		 * @param	strip	The number of the strip, from the top
+		 * @param	result	The rendered strip
+		 * @return			The colored strip
+		 * @throws IOException	If the journal can't be written
+		 */
+		if ( journal != null ) {
+			journal.record( strip, result.getIterationBuffer() );
+		}
+		return result.getImage();
+	}
+
+	private PainterImage colorStrip( double[] iterationsReal, int width, int rows, int limit ) {
+		/**
+		 * Colors a strip from the iterations recorded in the journal, the
+		 * same way the engine colors the strips it renders.
+		 *
+		 * @param	iterationsReal	The smooth iterations, row after row
+		 * @param	width			The width of the strip
+		 * @param	rows			The rows of the strip
+		 * @param	limit			The maximum iterations of the picture
+		 * @return					The colored strip
+		 */
+		PainterImage image = new PainterImage( width, rows, colorLoops, gradient );
+
+		for ( int y = 0, index = 0; y < rows; y++ ) {
+			for ( int x = 0; x < width; x++, index++ ) {
+				image.drawPixel( x, y, image.getIterationColor( iterationsReal[index], limit ) );
+			}
+		}
+		return image;
+	}
+
+	private static void writeStrip( PngStreamWriter writer, BufferedImage image ) throws IOException {
+		/**
+		 * Writes the rows of a colored strip to the PNG file.
+		 *
+		 * @param	writer	The PNG file being written
+		 * @param	image	The colored strip
+		 * @throws IOException	If the rows can't be written
+		 */
+		int[] pixels = ( (DataBufferInt)image.getRaster().getDataBuffer() ).getData();
+
+		for ( int y = 0; y < image.getHeight(); y++ ) {
+			writer.writeRow( pixels, y * image.getWidth() );
+		}
+	}
+
+	private static void printProgress( File output, int rows, int height, int width, long elapsed ) {
+		/**
+		 * Prints how far a picture is, how fast it goes, and how long it
+		 * should still take.
+		 *
+		 * @param	output	The PNG file being written
+		 * @param	rows	The rows written so far
+		 * @param	height	The height of the picture
+		 * @param	width	The width of the picture
+		 * @param	elapsed	Nanoseconds since the picture was started
+		 */
+		System.out.println( String.format( "%s: %5.1f%% (%d of %d rows), %.1f Mpixels/s, %d s left", output.getPath(),
+				100.0d * rows / height, rows, height, (double)width * rows * 1000 / elapsed,
+				(long)( elapsed / 1.0e9d * ( height - rows ) / rows ) ) );
+	}
+}
@@ -0,0 +1,410 @@
+/**
+* This is the tile based render engine for the Mandelbrot picture.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TileRenderer {
+	/**
+	 * Splits the picture into square tiles and generates them on a
+	 * fork-join pool. The picture is split in halves along tile
+	 * boundaries until a single tile is left, so idle threads can
+	 * steal the remaining halves when tiles near the set boundary
+	 * take longer than the rest.
+	 *
+	 * With the Mariani-Silver strategy, the border of a rectangle is
+	 * generated first. If the whole border has the same iterations, the
+	 * inside is filled without iterating it; otherwise the rectangle is
+	 * split into four, and the four parts are worked on in parallel.
+	 *
+	 * With the solid guessing strategy, the picture is made in passes
+	 * from every 8th pixel down to every pixel. Each pass is split into
+	 * bands of rows that are worked on in parallel, and every band is
+	 * published as soon as it is done, so the picture sharpens on screen.
+	 *
+	 * Every render belongs to an epoch. Starting a new render or
+	 * cancelling moves the epoch forward, and tiles of an older epoch
+	 * that have not started yet are skipped.
+	 *
+	 * A renderer can also work on a pool it shares with others, such
+	 * as the pool of the RenderEngine. Every renderer still has its own
+	 * epochs, so cancelling one render leaves the others running.
+	 */
+	public static final int DEFAULT_TILE_SIZE = 32;
+	public static final int MIN_SUBDIVISION_SIZE = 8;	// Rectangles this small are iterated instead of split
+	private ForkJoinPool pool;
+	private int parallelism;
+	private boolean sharedPool;						// True if the pool belongs to someone else
+	private int tileSize;
+	private final AtomicLong epoch = new AtomicLong();		// Epoch of the latest render
+
+	public TileRenderer() {
+		/**
+		 * Constructor for the TileRenderer object. Uses one thread
+		 * per available processor.
+		 */
+		this( Runtime.getRuntime().availableProcessors() );
+	}
+
+	public TileRenderer( int parallelism ) {
+		/**
+		 * Constructor for the TileRenderer object.
+		 *
+		 * @param	parallelism		The number of threads used for rendering
+		 */
+		tileSize = DEFAULT_TILE_SIZE;
+		setParallelism( parallelism );
+	}
+
+	public TileRenderer( ForkJoinPool pool ) {
+		/**
+		 * Constructor for the TileRenderer object, for a pool that is
+		 * shared with other renderers. The pool is never shut down here.
+		 *
+		 * @param	pool	The pool the tiles are generated on
+		 */
+		tileSize = DEFAULT_TILE_SIZE;
+		this.pool = pool;
+		parallelism = pool.getParallelism();
+		sharedPool = true;
+	}
+
+	public int getParallelism() {
+		/**
+		 * Gets the number of threads used for rendering.
+		 *
+		 * @return	The parallelism of the pool
+		 */
+		return parallelism;
+	}
+
+	public void setParallelism( int parallelism ) {
+		/**
+		 * Sets the number of threads used for rendering. The pool is
+		 * replaced, and the old one finishes its current work first. A
+		 * shared pool is left as it is, and this renderer gets its own.
+		 *
+		 * @param	parallelism		The number of threads used for rendering
+		 */
+		if ( parallelism < 1 ) {
+			ErrorHandler.printErrorMessage( "parallelism (" + parallelism + ") must be at least 1" );
+			parallelism = 1;
+		}
+		if ( pool != null ) {
+			if ( parallelism == this.parallelism ) {
+				return;
+			}
+			if ( !sharedPool ) {
+				pool.shutdown();
+			}
+		}
+		sharedPool = false;
+		this.parallelism = parallelism;
+		pool = new ForkJoinPool( parallelism );
+	}
+
+	public int getTileSize() {
+		/**
+		 * Gets the width and height of a single tile.
+		 *
+		 * @return	The tile size in pixels
+		 */
+		return tileSize;
+	}
+
+	public void setTileSize( int tileSize ) {
+		/**
+		 * Sets the width and height of a single tile.
+		 *
+		 * @param	tileSize	The tile size in pixels
+		 */
+		if ( tileSize < 1 ) {
+			ErrorHandler.printErrorMessage( "tile size (" + tileSize + ") must be at least 1" );
+			return;
+		}
+		this.tileSize = tileSize;
+	}
+
+	public long beginEpoch() {
+		/**
+		 * Starts a new render epoch. Any render of an older epoch that
+		 * is still running stops at the next tile.
+		 *
+		 * @return	The new epoch
+		 */
+		return epoch.incrementAndGet();
+	}
+
+	public void cancel() {
+		/**
+		 * Cancels the render that is currently running, if any.
+		 */
+		epoch.incrementAndGet();
+	}
+
+	public boolean isCurrent( long renderEpoch ) {
+		/**
+		 * Checks if an epoch is still the latest one.
+		 *
+		 * @param	renderEpoch		The epoch to check
+		 * @return			True if the epoch has not been cancelled
+		 */
+		return epoch.get() == renderEpoch;
+	}
+
+	public boolean render( MandelbrotAlgorithm algorithm, int width, int height, long renderEpoch,
+			RenderStrategy strategy, RenderListener listener ) {
+		/**
+		 * Generates every tile of the picture and waits until all of
+		 * them are done, or until the epoch gets cancelled. Each tile is
+		 * published to the listener as soon as it is done.
+		 *
+		 * @param	algorithm	The algorithm that generates a single tile
+		 * @param	width		The width of the picture in pixels
+		 * @param	height		The height of the picture in pixels
+		 * @param	renderEpoch	The epoch this render belongs to
+		 * @param	strategy	The way the picture is walked
+		 * @param	listener	The listener that receives the tiles, or null
+		 * @return			True if the picture was completed, false if it was cancelled
+		 */
+		if ( strategy == RenderStrategy.MARIANI_SILVER ) {
+			pool.invoke( new SubdivisionTask( algorithm, 0, 0, width, height, false, renderEpoch, listener ) );
+		} else if ( strategy == RenderStrategy.SOLID_GUESSING ) {
+			for ( int step = MandelbrotAlgorithm.GUESSING_STEP; step >= 1 && isCurrent( renderEpoch ); step /= 2 ) {
+				pool.invoke( new GuessingTask( algorithm, step, 0, height, width, renderEpoch, listener ) );
+			}
+		} else {
+			pool.invoke( new TileTask( algorithm, 0, 0, width, height, renderEpoch, listener ) );
+		}
+		return isCurrent( renderEpoch );
+	}
+
+	private class TileTask extends RecursiveAction {
+		/**
+		 * A rectangle of the picture, made of one or more whole tiles.
+		 */
+		private static final long serialVersionUID = 1L;
+		private final MandelbrotAlgorithm algorithm;
+		private final int x;
+		private final int y;
+		private final int width;
+		private final int height;
+		private final long renderEpoch;
+		private final RenderListener listener;
+
+		public TileTask( MandelbrotAlgorithm algorithm, int x, int y, int width, int height, long renderEpoch,
+				RenderListener listener ) {
+			/**
+			 * Constructor for the TileTask object.
+			 *
+			 * @param	algorithm	The algorithm that generates a single tile
+			 * @param	x			The left edge of the rectangle
+			 * @param	y			The top edge of the rectangle
+			 * @param	width		The width of the rectangle
+			 * @param	height		The height of the rectangle
+			 * @param	renderEpoch	The epoch this rectangle belongs to
+			 * @param	listener	The listener that receives the tiles, or null
+			 */
+			this.algorithm = algorithm;
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			this.renderEpoch = renderEpoch;
+			this.listener = listener;
+		}
+
+		@Override
+		protected void compute() {
+			/**
+			 * Generates the rectangle if it is a single tile, otherwise
+			 * splits it in two along a tile boundary. Nothing is done if
+			 * the epoch has been cancelled in the meantime.
+			 */
+			int tilesX = ( width + tileSize - 1 ) / tileSize;
+			int tilesY = ( height + tileSize - 1 ) / tileSize;
+			int split;
+
+			if ( !isCurrent( renderEpoch ) ) {
+				return;
+			}
+			if ( tilesX <= 1 && tilesY <= 1 ) {
+				algorithm.generateTile( x, y, width, height );
+				if ( listener != null && isCurrent( renderEpoch ) ) {
+					listener.tileGenerated( x, y, width, height );
+				}
+			} else if ( tilesX >= tilesY ) {
+				split = ( tilesX / 2 ) * tileSize;
+				invokeAll( new TileTask( algorithm, x, y, split, height, renderEpoch, listener ),
+						new TileTask( algorithm, x + split, y, width - split, height, renderEpoch, listener ) );
+			} else {
+				split = ( tilesY / 2 ) * tileSize;
+				invokeAll( new TileTask( algorithm, x, y, width, split, renderEpoch, listener ),
+						new TileTask( algorithm, x, y + split, width, height - split, renderEpoch, listener ) );
+			}
+		}
+	}
+
+	private class SubdivisionTask extends RecursiveAction {
+		/**
+		 * A rectangle of the picture for the Mariani-Silver strategy.
+		 */
+		private static final long serialVersionUID = 1L;
+		private final MandelbrotAlgorithm algorithm;
+		private final int x;
+		private final int y;
+		private final int width;
+		private final int height;
+		private final boolean borderGenerated;
+		private final long renderEpoch;
+		private final RenderListener listener;
+
+		public SubdivisionTask( MandelbrotAlgorithm algorithm, int x, int y, int width, int height,
+				boolean borderGenerated, long renderEpoch, RenderListener listener ) {
+			/**
+			 * Constructor for the SubdivisionTask object.
+			 *
+			 * @param	algorithm		The algorithm that generates the pixels
+			 * @param	x				The left edge of the rectangle
+			 * @param	y				The top edge of the rectangle
+			 * @param	width			The width of the rectangle
+			 * @param	height			The height of the rectangle
+			 * @param	borderGenerated	True if the border of the rectangle is already generated
+			 * @param	renderEpoch		The epoch this rectangle belongs to
+			 * @param	listener		The listener that receives the rectangles, or null
+			 */
+			this.algorithm = algorithm;
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			this.borderGenerated = borderGenerated;
+			this.renderEpoch = renderEpoch;
+			this.listener = listener;
+		}
+
+		@Override
+		protected void compute() {
+			/**
+			 * Fills the rectangle if its border is uniform, iterates it if
+			 * it is too small to split, and otherwise generates the lines
+			 * that cut it into four and works on the four parts in parallel.
+			 * The parts share the lines, so each of them has a complete border.
+			 */
+			int middleX;
+			int middleY;
+
+			if ( !isCurrent( renderEpoch ) ) {
+				return;
+			}
+			if ( !borderGenerated ) {
+				algorithm.generateTile( x, y, width, 1 );
+				algorithm.generateTile( x, y + height - 1, width, 1 );
+				algorithm.generateTile( x, y + 1, 1, height - 2 );
+				algorithm.generateTile( x + width - 1, y + 1, 1, height - 2 );
+			}
+			if ( width <= 2 || height <= 2 ) {
+				publish();
+			} else if ( algorithm.fillIfBorderUniform( x, y, width, height ) ) {
+				publish();
+			} else if ( width <= MIN_SUBDIVISION_SIZE || height <= MIN_SUBDIVISION_SIZE ) {
+				algorithm.generateTile( x + 1, y + 1, width - 2, height - 2 );
+				publish();
+			} else {
+				middleX = x + ( width / 2 );
+				middleY = y + ( height / 2 );
+				algorithm.generateTile( middleX, y + 1, 1, height - 2 );
+				algorithm.generateTile( x + 1, middleY, middleX - x - 1, 1 );
+				algorithm.generateTile( middleX + 1, middleY, x + width - middleX - 2, 1 );
+				invokeAll( new SubdivisionTask( algorithm, x, y, middleX - x + 1, middleY - y + 1,
+								true, renderEpoch, listener ),
+						new SubdivisionTask( algorithm, middleX, y, x + width - middleX, middleY - y + 1,
+								true, renderEpoch, listener ),
+						new SubdivisionTask( algorithm, x, middleY, middleX - x + 1, y + height - middleY,
+								true, renderEpoch, listener ),
+						new SubdivisionTask( algorithm, middleX, middleY, x + width - middleX, y + height - middleY,
+								true, renderEpoch, listener ) );
+			}
+		}
+
+		private void publish() {
+			/**
+			 * Hands the finished rectangle to the listener.
+			 */
+			if ( listener != null && isCurrent( renderEpoch ) ) {
+				listener.tileGenerated( x, y, width, height );
+			}
+		}
+	}
+
+	private class GuessingTask extends RecursiveAction {
+		/**
+		 * A band of rows of the picture for one solid guessing pass.
+		 */
+		private static final long serialVersionUID = 1L;
+		private final MandelbrotAlgorithm algorithm;
+		private final int step;
+		private final int rowStart;
+		private final int rowEnd;
+		private final int width;
+		private final long renderEpoch;
+		private final RenderListener listener;
+
+		public GuessingTask( MandelbrotAlgorithm algorithm, int step, int rowStart, int rowEnd, int width,
+				long renderEpoch, RenderListener listener ) {
+			/**
+			 * Constructor for the GuessingTask object.
+			 *
+			 * @param	algorithm	The algorithm that generates the pixels
+			 * @param	step		The pixel spacing of the pass
+			 * @param	rowStart	The first row of the band
+			 * @param	rowEnd		The row after the last row of the band
+			 * @param	width		The width of the picture in pixels
+			 * @param	renderEpoch	The epoch this band belongs to
+			 * @param	listener	The listener that receives the bands, or null
+			 */
+			this.algorithm = algorithm;
+			this.step = step;
+			this.rowStart = rowStart;
+			this.rowEnd = rowEnd;
+			this.width = width;
+			this.renderEpoch = renderEpoch;
+			this.listener = listener;
+		}
+
+		@Override
+		protected void compute() {
+			/**
+			 * Generates the band if it is a single tile high, otherwise
+			 * splits it in two. Bands always start on a multiple of the
+			 * first pass' step, so every pass sees the same rows.
+			 */
+			int bandHeight = ( ( tileSize + MandelbrotAlgorithm.GUESSING_STEP - 1 ) / MandelbrotAlgorithm.GUESSING_STEP )
+					* MandelbrotAlgorithm.GUESSING_STEP;
+			int bands = ( rowEnd - rowStart + bandHeight - 1 ) / bandHeight;
+			int split;
+
+			if ( !isCurrent( renderEpoch ) ) {
+				return;
+			}
+			if ( bands <= 1 ) {
+				algorithm.generateGuessingPass( step, rowStart, rowEnd );
+				if ( listener != null && isCurrent( renderEpoch ) ) {
+					listener.tileGenerated( 0, rowStart, width, rowEnd - rowStart );
+				}
+			} else {
+				split = rowStart + ( bands / 2 ) * bandHeight;
+				invokeAll( new GuessingTask( algorithm, step, rowStart, split, width, renderEpoch, listener ),
+						new GuessingTask( algorithm, step, split, rowEnd, width, renderEpoch, listener ) );
+			}
+		}
+	}
+}
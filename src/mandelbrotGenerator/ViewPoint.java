@@ -0,0 +1,210 @@
+/**
+* This is a fixed view of the Mandelbrot Set, for rendering without a window.
+*
+* @author  Jehrick Robertson
+* @version 1.0
+* @since   10-18-2026
+*/
+
+package mandelbrotGenerator;
+
+import java.math.BigDecimal;
+
+public class ViewPoint implements RenderView {
+	/**
+	 * A view given by its center, its zoom level and the size of the
+	 * picture. The zoom level means the same as in the MainWindow: at
+	 * zoom level 1 the picture is 3 wide, and every level halves that.
+	 * The pixels are square, and the imaginary axis points up. The view
+	 * never changes, so it can be shared between threads.
+	 */
+	public static final double FULL_WIDTH = 3.0d;		// Width of the picture at zoom level 1
+	private final BigDecimal centerReal;
+	private final BigDecimal centerImaginary;
+	private final int zoomLevel;
+	private final int width;
+	private final int height;
+	private final double spacing;						// Distance between two pixels
+	private final MathMatrix transformation;
+
+	public ViewPoint( BigDecimal centerReal, BigDecimal centerImaginary, int zoomLevel, int width, int height ) {
+		/**
+		 * Constructor for the ViewPoint object.
+		 *
+		 * @param	centerReal		The real part of the center
+		 * @param	centerImaginary	The imaginary part of the center
+		 * @param	zoomLevel		The zoom level, 1 for the whole set
+		 * @param	width			The width of the picture in pixels
+		 * @param	height			The height of the picture in pixels
+		 */
+		if ( zoomLevel < 1 ) {
+			ErrorHandler.printErrorMessage( "zoom level (" + zoomLevel + ") must be at least 1" );
+			zoomLevel = 1;
+		}
+		this.centerReal = centerReal;
+		this.centerImaginary = centerImaginary;
+		this.zoomLevel = zoomLevel;
+		this.width = width;
+		this.height = height;
+		spacing = FULL_WIDTH / width / Math.pow( 2, zoomLevel - 1 );
+		transformation = getTransformation();
+	}
+
+	private ViewPoint( BigDecimal centerReal, BigDecimal centerImaginary, int zoomLevel, double spacing, int width,
+			int height ) {
+		/**
+		 * Constructor for the ViewPoint object, for a view derived from
+		 * another one, whose pixel spacing doesn't follow from its width.
+		 *
+		 * @param	centerReal		The real part of the center
+		 * @param	centerImaginary	The imaginary part of the center
+		 * @param	zoomLevel		The zoom level of the view it was derived from
+		 * @param	spacing			The distance between two pixels
+		 * @param	width			The width of the picture in pixels
+		 * @param	height			The height of the picture in pixels
+		 */
+		this.centerReal = centerReal;
+		this.centerImaginary = centerImaginary;
+		this.zoomLevel = zoomLevel;
+		this.width = width;
+		this.height = height;
+		this.spacing = spacing;
+		transformation = getTransformation();
+	}
+
+	private MathMatrix getTransformation() {
+		/**
+		 * Makes the transformation matrix from the center and the spacing.
+		 *
+		 * @return	The pixel to Mandelbrot transformation matrix
+		 */
+		double[][] matrix =	{{spacing, 0, 0, centerReal.doubleValue() - ( spacing * width / 2.0d )},
+							{0, -spacing, 0, centerImaginary.doubleValue() + ( spacing * height / 2.0d )},
+							{0, 0, 0, 0},
+							{0, 0, 0, 1}};
+		return new MathMatrix( matrix );
+	}
+
+	public MathMatrix getTransformationMatrix() {
+		/**
+		 * Gets the transformation matrix from pixels to Mandelbrot coordinates.
+		 *
+		 * @return	The pixel to Mandelbrot transformation matrix
+		 */
+		return new MathMatrix( transformation );
+	}
+
+	public BigDecimal getCenterReal() {
+		/**
+		 * Gets the real part of the center of the view.
+		 *
+		 * @return	The exact real part of the center
+		 */
+		return centerReal;
+	}
+
+	public BigDecimal getCenterImaginary() {
+		/**
+		 * Gets the imaginary part of the center of the view.
+		 *
+		 * @return	The exact imaginary part of the center
+		 */
+		return centerImaginary;
+	}
+
+	public int getZoomLevel() {
+		/**
+		 * Gets the zoom level of the view.
+		 *
+		 * @return	The zoom level
+		 */
+		return zoomLevel;
+	}
+
+	public int getWidth() {
+		/**
+		 * Gets the width of the picture.
+		 *
+		 * @return	The width in pixels
+		 */
+		return width;
+	}
+
+	public int getHeight() {
+		/**
+		 * Gets the height of the picture.
+		 *
+		 * @return	The height in pixels
+		 */
+		return height;
+	}
+
+	public double getSpacing() {
+		/**
+		 * Gets the distance between two pixels in the plane.
+		 *
+		 * @return	The pixel spacing
+		 */
+		return spacing;
+	}
+
+	public ViewPoint getStrip( int y, int stripHeight ) {
+		/**
+		 * Gets a band of rows of this view as a view of its own, so a
+		 * picture too large to keep in memory can be made a band at a
+		 * time.
+		 *
+		 * @param	y				The first row of the band
+		 * @param	stripHeight		The number of rows in the band
+		 * @return					The band as a view
+		 */
+		return getRegion( 0, y, width, stripHeight );
+	}
+
+	public ViewPoint getRegion( int x, int y, int regionWidth, int regionHeight ) {
+		/**
+		 * Gets a rectangle of pixels of this view as a view of its own. The
+		 * region has the same pixel spacing, so its pixels land exactly on
+		 * the pixels of this view, and its center is worked out exactly.
+		 * It may reach outside this view.
+		 *
+		 * @param	x				The left edge of the region
+		 * @param	y				The top edge of the region
+		 * @param	regionWidth		The width of the region in pixels
+		 * @param	regionHeight	The height of the region in pixels
+		 * @return					The region as a view
+		 */
+		BigDecimal exactSpacing = new BigDecimal( spacing );
+		BigDecimal offsetReal = exactSpacing.multiply( new BigDecimal( ( 2 * x ) + regionWidth - width ) )
+				.divide( new BigDecimal( 2 ) );
+		BigDecimal offsetImaginary = exactSpacing.multiply( new BigDecimal( height - ( 2 * y ) - regionHeight ) )
+				.divide( new BigDecimal( 2 ) );
+
+		return new ViewPoint( centerReal.add( offsetReal ), centerImaginary.add( offsetImaginary ), zoomLevel, spacing,
+				regionWidth, regionHeight );
+	}
+
+	public ViewPoint extend( int newWidth, int newHeight ) {
+		/**
+		 * Gets a view with the same center and pixel spacing, but a
+		 * different size, so it shows more or less of the plane.
+		 *
+		 * @param	newWidth	The width of the picture in pixels
+		 * @param	newHeight	The height of the picture in pixels
+		 * @return				The view
+		 */
+		return new ViewPoint( centerReal, centerImaginary, zoomLevel, spacing, newWidth, newHeight );
+	}
+
+	public ViewPoint resize( int newWidth, int newHeight ) {
+		/**
+		 * Gets a view of the same part of the plane at a different size,
+		 * such as a small preview of a large picture.
+		 *
+		 * @param	newWidth	The width of the picture in pixels
+		 * @param	newHeight	The height of the picture in pixels
+		 * @return				The view
+		 */
+		return new ViewPoint( centerReal, centerImaginary, zoomLevel, spacing * width / newWidth, newWidth, newHeight );
+	}
+}